@@ -0,0 +1,60 @@
+package com.maybank.assignment.benchmark;
+
+import com.maybank.assignment.service.AccountNumberGenerator;
+import com.maybank.assignment.service.SequenceBlockAccountNumberGenerator;
+import com.maybank.assignment.service.UuidAccountNumberGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Throughput of the account number generators under multi-threaded load.
+ * The sequence generator's block allocator sleeps for {@code ALLOCATION_LATENCY_NANOS} to stand in for the
+ * database round trip it makes once per block.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AccountNumberGeneratorBenchmark {
+
+    private static final long ALLOCATION_LATENCY_NANOS = 200_000;
+
+    private AccountNumberGenerator uuidGenerator;
+    private AccountNumberGenerator sequenceBlockGenerator;
+
+    @Setup
+    public void setUp() {
+        uuidGenerator = new UuidAccountNumberGenerator();
+        AtomicLong sequence = new AtomicLong(1);
+        sequenceBlockGenerator = new SequenceBlockAccountNumberGenerator(() -> {
+            LockSupport.parkNanos(ALLOCATION_LATENCY_NANOS);
+            return sequence.getAndAdd(1000);
+        }, 1000);
+    }
+
+    @Benchmark
+    public String uuid() {
+        return uuidGenerator.nextAccountNumber();
+    }
+
+    @Benchmark
+    public String sequenceBlock() {
+        return sequenceBlockGenerator.nextAccountNumber();
+    }
+}
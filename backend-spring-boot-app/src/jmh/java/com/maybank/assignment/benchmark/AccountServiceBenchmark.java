@@ -0,0 +1,81 @@
+package com.maybank.assignment.benchmark;
+
+import com.maybank.assignment.dto.CreateAccountRequest;
+import com.maybank.assignment.model.Account;
+import com.maybank.assignment.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AccountService} hot paths against an embedded H2 database seeded with {@code rows} accounts.
+ * Throughput and sampled latency (percentiles) are reported for each table size; run with {@code -prof gc}
+ * for the allocation rate per operation, e.g.
+ * {@code mvn -P jmh test-compile exec:exec -Djmh.args="AccountServiceBenchmark -prof gc"}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class AccountServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataset.start(rows);
+        accountService = context.getBean(AccountService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Account createAccount() {
+        CreateAccountRequest request = new CreateAccountRequest();
+        request.setCustomerId(randomId());
+        request.setAccountType("Saving");
+        return accountService.createAccount(request);
+    }
+
+    @Benchmark
+    public Account depositCash() {
+        return accountService.depositCash(BenchmarkDataset.accountNumber(randomId()), 100L);
+    }
+
+    @Benchmark
+    public Account withdrawCash() {
+        return accountService.withdrawCash(BenchmarkDataset.accountNumber(randomId()), 100L);
+    }
+
+    @Benchmark
+    public Account getAccountByNumber() {
+        return accountService.getAccountByNumber(BenchmarkDataset.accountNumber(randomId()));
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+}
@@ -0,0 +1,76 @@
+package com.maybank.assignment.benchmark;
+
+import com.maybank.assignment.model.Account;
+import com.maybank.assignment.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent deposits through {@link AccountService} on the JPA path ({@code bank.engine.mode=jpa}) and on the
+ * sharded balance engine ({@code bank.engine.mode=sharded}, journal forced to disk on every batch).
+ * {@code accounts=1} is a single hot (merchant) account; larger values spread the deposits.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Threads(16)
+@State(Scope.Benchmark)
+public class BalanceEngineBenchmark {
+
+    @Param({"jpa", "sharded"})
+    public String mode;
+
+    @Param({"1", "10000"})
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private Path journalDir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        journalDir = Files.createTempDirectory("balance-engine-benchmark");
+        // Seeded before the engine touches any account, on the same database the engine then runs against
+        String url = "spring.datasource.url=jdbc:h2:mem:engine-" + mode + "-" + accounts + ";DB_CLOSE_DELAY=-1";
+        try (ConfigurableApplicationContext seeding = BenchmarkDataset.boot(url)) {
+            BenchmarkDataset.seed(seeding.getBean(JdbcTemplate.class), accounts);
+        }
+        context = BenchmarkDataset.boot(url, "bank.engine.mode=" + mode, "bank.engine.journal-dir=" + journalDir);
+        accountService = context.getBean(AccountService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(journalDir);
+    }
+
+    @Benchmark
+    public Account depositCash() {
+        long id = accounts == 1 ? 1 : ThreadLocalRandom.current().nextLong(1, accounts + 1);
+        return accountService.depositCash(BenchmarkDataset.accountNumber(id), 100L);
+    }
+}
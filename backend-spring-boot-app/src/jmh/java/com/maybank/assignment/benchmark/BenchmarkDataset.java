@@ -0,0 +1,62 @@
+package com.maybank.assignment.benchmark;
+
+import com.maybank.assignment.AssignmentApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application without a web server against a fresh in-memory H2 database and seeds it with
+ * {@code rows} customers and {@code rows} accounts (one per customer), so the service benchmarks run
+ * against realistically sized tables and indexes.
+ */
+final class BenchmarkDataset {
+
+    static final long OPENING_BALANCE_MINOR = 1_000_000_000L;
+
+    private BenchmarkDataset() {
+    }
+
+    static ConfigurableApplicationContext start(int rows) {
+        ConfigurableApplicationContext context = boot("spring.datasource.url=jdbc:h2:mem:benchmark-" + rows);
+        seed(context.getBean(JdbcTemplate.class), rows);
+        return context;
+    }
+
+    /**
+     * Boots the application without seeding it.
+     *
+     * @param properties extra properties, e.g. the datasource url or {@code spring.profiles.active}.
+     */
+    static ConfigurableApplicationContext boot(String... properties) {
+        // Passed as command line arguments so they override application.properties and any active profile
+        Stream<String> defaults = Stream.of("spring.jpa.show-sql=false", "logging.level.root=WARN");
+        String[] args = Stream.concat(defaults, Arrays.stream(properties)).map(property -> "--" + property)
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(AssignmentApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+
+    static String accountNumber(long id) {
+        return String.format("BM%010d", id);
+    }
+
+    // Set-based inserts: seeding a million rows takes seconds instead of a million round trips
+    static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        jdbcTemplate.update("INSERT INTO customer (id, name, email, phone, date_of_birth) " +
+                "SELECT X, 'Customer ' || X, 'customer' || X || '@example.com', '01' || LPAD(X, 8, '0'), DATE '1990-01-01' " +
+                "FROM SYSTEM_RANGE(1, ?)", rows);
+        jdbcTemplate.update("INSERT INTO account (id, account_number, balance_minor, account_type, status, customer_id, version) " +
+                "SELECT X, 'BM' || LPAD(X, 10, '0'), ?, 'Saving', 'Active', X, 0 FROM SYSTEM_RANGE(1, ?)",
+                OPENING_BALANCE_MINOR, rows);
+        // Pooled id generators hand out the block below the sequence value, so leave a full block of headroom
+        jdbcTemplate.execute("ALTER SEQUENCE customer_seq RESTART WITH " + (rows + 100));
+        jdbcTemplate.execute("ALTER SEQUENCE account_seq RESTART WITH " + (rows + 100));
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
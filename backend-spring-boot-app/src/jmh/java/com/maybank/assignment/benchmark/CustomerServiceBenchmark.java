@@ -0,0 +1,99 @@
+package com.maybank.assignment.benchmark;
+
+import com.maybank.assignment.dto.CustomerPage;
+import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.service.CustomerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link CustomerService} hot paths against an embedded H2 database seeded with {@code rows} customers.
+ * {@code getAllCustomers} materializes the whole table, so at a million rows a single operation takes seconds;
+ * compare it with {@code getCustomerPage}, which reads one keyset page. The {@code search*} benchmarks pick a
+ * random seeded customer and search by its email, its phone, or the first digits of its name (a prefix matching
+ * many rows, of which one page is read). Run with {@code -prof gc} for the allocation rate per operation.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class CustomerServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private final AtomicLong emailSequence = new AtomicLong();
+    private final Date dateOfBirth = new Date(631_152_000_000L);
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataset.start(rows);
+        customerService = context.getBean(CustomerService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Customer createCustomer() {
+        return customerService.createCustomer("Benchmark Customer",
+                "benchmark" + emailSequence.incrementAndGet() + "@example.com", "0123456789", dateOfBirth);
+    }
+
+    @Benchmark
+    public List<Customer> getAllCustomers() {
+        return customerService.getAllCustomers();
+    }
+
+    @Benchmark
+    public Object getCustomerPage() {
+        return customerService.getCustomerPage(null, CustomerService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CustomerPage searchByEmail() {
+        return customerService.searchCustomers("customer" + randomId() + "@example.com", null, null, null,
+                CustomerService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CustomerPage searchByPhone() {
+        return customerService.searchCustomers(null, String.format("01%08d", randomId()), null, null,
+                CustomerService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CustomerPage searchByNamePrefix() {
+        String id = Long.toString(randomId());
+        return customerService.searchCustomers(null, null, "customer " + id.substring(0, Math.min(3, id.length())),
+                null, CustomerService.DEFAULT_PAGE_SIZE);
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+}
@@ -0,0 +1,114 @@
+package com.maybank.assignment.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maybank.assignment.exception.DomainException;
+import com.maybank.assignment.exception.ErrorCode;
+import com.maybank.assignment.exception.ErrorResponse;
+import com.maybank.assignment.exception.GlobalExceptionHandler;
+import com.maybank.assignment.model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rejecting a request, from the throw in the service layer to the serialized error body, without the HTTP
+ * stack around it.
+ * <p>
+ * The {@code legacy*} methods reproduce the previous paths: a new {@code IllegalArgumentException} with its stack
+ * trace for an insufficient balance, and validation messages concatenated with a {@code StringBuilder} in a lambda.
+ * The {@code domain*} methods run the current ones: the preallocated, stackless
+ * {@link ErrorCode#INSUFFICIENT_BALANCE} exception and its shared body from {@link GlobalExceptionHandler}, and the
+ * structured field errors of {@link ErrorResponse#validationFailed}, whose body carries more than the old string.
+ * {@code depth} is the number of frames between the throw and the handler; behind Spring MVC, Tomcat and the
+ * transaction proxies it is well over a hundred, and filling in the stack trace grows with it.
+ * Run with {@code -prof gc} to compare the allocation per rejection.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorPathBenchmark {
+
+    @Param({"16", "128"})
+    public int depth;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private BindingResult bindingResult;
+
+    // The body the old handler built
+    public record LegacyErrorResponse(int status, String message) {}
+
+    @Setup
+    public void setUp() {
+        bindingResult = new BeanPropertyBindingResult(new Customer(), "customer");
+        bindingResult.addError(new FieldError("customer", "name", "Name must be between 2 and 100 characters"));
+        bindingResult.addError(new FieldError("customer", "email", "Email should be valid"));
+        bindingResult.addError(new FieldError("customer", "dateOfBirth", "Date of birth cannot be null"));
+    }
+
+    @Benchmark
+    public byte[] legacyInsufficientBalance() throws Exception {
+        try {
+            legacyWithdraw(depth);
+            throw new AssertionError();
+        } catch (IllegalArgumentException ex) {
+            return objectMapper.writeValueAsBytes(new LegacyErrorResponse(400, ex.getMessage()));
+        }
+    }
+
+    @Benchmark
+    public byte[] domainInsufficientBalance() throws Exception {
+        try {
+            domainWithdraw(depth);
+            throw new AssertionError();
+        } catch (DomainException ex) {
+            return objectMapper.writeValueAsBytes(handler.handleDomainException(ex).getBody());
+        }
+    }
+
+    @Benchmark
+    public byte[] legacyValidation() throws Exception {
+        StringBuilder errorMessage = new StringBuilder();
+        bindingResult.getAllErrors().forEach(error -> {
+            errorMessage.append(error.getDefaultMessage()).append(" ");
+        });
+        return objectMapper.writeValueAsBytes(errorMessage.toString());
+    }
+
+    @Benchmark
+    public byte[] domainValidation() throws Exception {
+        return objectMapper.writeValueAsBytes(ErrorResponse.validationFailed(bindingResult));
+    }
+
+    private static void legacyWithdraw(int frames) {
+        if (frames > 0) {
+            legacyWithdraw(frames - 1);
+            return;
+        }
+        throw new IllegalArgumentException("Insufficient balance or account is closed.");
+    }
+
+    private static void domainWithdraw(int frames) {
+        if (frames > 0) {
+            domainWithdraw(frames - 1);
+            return;
+        }
+        throw ErrorCode.INSUFFICIENT_BALANCE.exception();
+    }
+}
@@ -0,0 +1,85 @@
+package com.maybank.assignment.benchmark;
+
+import com.maybank.assignment.service.BankMetrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the instrumentation added to every request, measured against the Prometheus registry the application uses.
+ * <p>
+ * {@code businessCounter} is what a deposit or withdrawal pays for its {@link BankMetrics} counter;
+ * {@code endpointTimer} records into a timer configured like {@code http.server.requests}, percentile histogram
+ * included, and {@code endpointTimerLookup} adds the tag-based meter lookup the web instrumentation performs per
+ * request. Compare the results (nanoseconds, run on 4 threads to include contention) with the millisecond-scale
+ * latencies of the same endpoints in {@link AccountServiceBenchmark}. Run with {@code -prof gc} to confirm the
+ * recording paths do not allocate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    private static final Tags DEPOSIT_TAGS = Tags.of("method", "POST", "uri", "/api/bank/depositCash",
+            "status", "200", "outcome", "SUCCESS", "exception", "none", "error", "none");
+
+    private PrometheusMeterRegistry registry;
+    private BankMetrics bankMetrics;
+    private Timer endpointTimer;
+
+    @Setup
+    public void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        bankMetrics = new BankMetrics(registry);
+        endpointTimer = timer();
+    }
+
+    private Timer timer() {
+        return Timer.builder("http.server.requests")
+                .tags(DEPOSIT_TAGS)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+    }
+
+    @Benchmark
+    public void businessCounter() {
+        bankMetrics.deposit();
+    }
+
+    @Benchmark
+    public void endpointTimer() {
+        endpointTimer.record(latencyNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void endpointTimerLookup() {
+        timer().record(latencyNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    // Spread over the histogram range so different buckets are hit
+    private static long latencyNanos() {
+        return ThreadLocalRandom.current().nextLong(500_000, 50_000_000);
+    }
+}
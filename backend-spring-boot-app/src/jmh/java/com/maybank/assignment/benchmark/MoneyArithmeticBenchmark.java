@@ -0,0 +1,100 @@
+package com.maybank.assignment.benchmark;
+
+import com.maybank.assignment.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the old boxed {@code Double} balance arithmetic with the {@code long} minor-unit ledger.
+ * Each invocation applies a run of deposits and withdrawals to one balance, mirroring the
+ * depositCash/withdrawCash hot path. Run with {@code -prof gc} to see the per-operation allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyArithmeticBenchmark {
+
+    private static final int OPERATIONS = 1024;
+
+    private Double[] boxedAmounts;
+    private long[] minorAmounts;
+    private BigDecimal[] decimalAmounts;
+
+    @Setup
+    public void setUp() {
+        boxedAmounts = new Double[OPERATIONS];
+        minorAmounts = new long[OPERATIONS];
+        decimalAmounts = new BigDecimal[OPERATIONS];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < OPERATIONS; i++) {
+            long cents = random.nextLong(1, 100_000);
+            minorAmounts[i] = cents;
+            boxedAmounts[i] = cents / 100.0;
+            decimalAmounts[i] = Money.fromMinorUnits(cents);
+        }
+    }
+
+    // Old path: Double balance, Double amount, a new Double allocated per mutation
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public Double boxedDouble() {
+        Double balance = 0.0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            Double amount = boxedAmounts[i];
+            if ((i & 1) == 0) {
+                balance = balance + amount;
+            } else if (balance >= amount) {
+                balance = balance - amount;
+            }
+        }
+        return balance;
+    }
+
+    // New path: primitive long minor units, no allocation
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long minorUnits() {
+        long balance = 0L;
+        for (int i = 0; i < OPERATIONS; i++) {
+            long amount = minorAmounts[i];
+            if ((i & 1) == 0) {
+                balance += amount;
+            } else if (balance >= amount) {
+                balance -= amount;
+            }
+        }
+        return balance;
+    }
+
+    // New path including the BigDecimal conversion done once per request at the API edge
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long minorUnitsWithEdgeConversion() {
+        long balance = 0L;
+        for (int i = 0; i < OPERATIONS; i++) {
+            long amount = Money.toMinorUnits(decimalAmounts[i]);
+            if ((i & 1) == 0) {
+                balance += amount;
+            } else if (balance >= amount) {
+                balance -= amount;
+            }
+        }
+        return balance;
+    }
+}
@@ -0,0 +1,134 @@
+package com.maybank.assignment.benchmark;
+
+import com.maybank.assignment.model.Account;
+import com.maybank.assignment.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the in-memory database with the file-backed {@code prod} profile:
+ * <ul>
+ *     <li>{@link Throughput}: deposits and withdrawals against {@code rows} accounts, from several threads so
+ *     commits contend for the file.</li>
+ *     <li>{@link Restart}: time to boot the application and serve the first read. The file-backed database is
+ *     seeded once and reopened on every invocation; the in-memory one always starts empty.</li>
+ * </ul>
+ * Run with {@code mvn -P jmh test-compile exec:exec -Djmh.args="PersistenceProfileBenchmark"}.
+ */
+public class PersistenceProfileBenchmark {
+
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Threads(4)
+    @Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+    @State(Scope.Benchmark)
+    public static class Throughput {
+
+        @Param({"memory", "file"})
+        public String storage;
+
+        @Param({"10000", "100000"})
+        public int rows;
+
+        private Path dataDir;
+        private ConfigurableApplicationContext context;
+        private AccountService accountService;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            dataDir = Files.createTempDirectory("bank-benchmark");
+            context = boot(storage, dataDir, rows);
+            BenchmarkDataset.seed(context.getBean(JdbcTemplate.class), rows);
+            accountService = context.getBean(AccountService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            context.close();
+            FileSystemUtils.deleteRecursively(dataDir);
+        }
+
+        @Benchmark
+        public Account depositCash() {
+            return accountService.depositCash(BenchmarkDataset.accountNumber(randomId(rows)), 100L);
+        }
+
+        @Benchmark
+        public Account withdrawCash() {
+            return accountService.withdrawCash(BenchmarkDataset.accountNumber(randomId(rows)), 100L);
+        }
+    }
+
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    @Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+    @State(Scope.Benchmark)
+    public static class Restart {
+
+        @Param({"memory", "file"})
+        public String storage;
+
+        @Param({"100000"})
+        public int rows;
+
+        private Path dataDir;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            dataDir = Files.createTempDirectory("bank-benchmark");
+            if ("file".equals(storage)) {
+                try (ConfigurableApplicationContext context = boot(storage, dataDir, rows)) {
+                    BenchmarkDataset.seed(context.getBean(JdbcTemplate.class), rows);
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            FileSystemUtils.deleteRecursively(dataDir);
+        }
+
+        @Benchmark
+        public Integer restart() {
+            try (ConfigurableApplicationContext context = boot(storage, dataDir, rows)) {
+                return context.getBean(JdbcTemplate.class).queryForObject("SELECT COUNT(*) FROM account", Integer.class);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext boot(String storage, Path dataDir, int rows) {
+        if ("file".equals(storage)) {
+            return BenchmarkDataset.boot("spring.profiles.active=prod", "bank.data-dir=" + dataDir);
+        }
+        return BenchmarkDataset.boot("spring.datasource.url=jdbc:h2:mem:persistence-" + rows);
+    }
+
+    private static long randomId(int rows) {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+}
@@ -0,0 +1,35 @@
+package com.maybank.assignment.config;
+
+import com.maybank.assignment.service.AccountNumberGenerator;
+import com.maybank.assignment.service.SequenceBlockAccountNumberGenerator;
+import com.maybank.assignment.service.UuidAccountNumberGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Selects the {@link AccountNumberGenerator} with {@code bank.account-number.generator} ({@code sequence} or {@code uuid}).
+ */
+@Configuration
+public class AccountNumberGeneratorConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "bank.account-number.generator", havingValue = "sequence", matchIfMissing = true)
+    public AccountNumberGenerator sequenceBlockAccountNumberGenerator(JdbcTemplate jdbcTemplate) {
+        // Created by the V3 migration with bank.account-number.block-size as its increment. The sequence's own
+        // increment is authoritative, so changing the property later cannot overlap blocks
+        Long increment = jdbcTemplate.queryForObject(
+                "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES " +
+                        "WHERE SEQUENCE_SCHEMA = SCHEMA() AND SEQUENCE_NAME = 'ACCOUNT_NUMBER_SEQ'", Long.class);
+        return new SequenceBlockAccountNumberGenerator(
+                () -> jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR account_number_seq", Long.class),
+                increment.intValue());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "bank.account-number.generator", havingValue = "uuid")
+    public AccountNumberGenerator uuidAccountNumberGenerator() {
+        return new UuidAccountNumberGenerator();
+    }
+}
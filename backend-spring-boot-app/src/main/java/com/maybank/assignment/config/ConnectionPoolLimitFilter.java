@@ -0,0 +1,127 @@
+package com.maybank.assignment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maybank.assignment.exception.ErrorCode;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of requests working against the database at once.
+ * <p>
+ * With virtual threads the container no longer bounds concurrency, so every burst would otherwise queue
+ * inside the connection pool and fail only when the pool's connection timeout expires. Requests beyond
+ * the limit wait briefly for a permit here and are then rejected with 503 and a {@code Retry-After} header,
+ * which keeps the pool's wait queue short and failures fast.
+ * <p>
+ * Endpoints under the excluded path prefixes do not take a permit. They are meant for endpoints that do their
+ * database work on background jobs and spend the request streaming files, which would otherwise hold a permit
+ * for as long as the client takes to send or receive the file.
+ */
+public class ConnectionPoolLimitFilter extends OncePerRequestFilter {
+
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final byte[] rejectedBody;
+    private final List<String> excludedPaths;
+
+    /**
+     * @param maxConcurrent the number of requests allowed to run at once, normally the pool size.
+     * @param acquireTimeout how long a request may wait for a permit before it is rejected.
+     * @param objectMapper used once to render the rejection body.
+     */
+    public ConnectionPoolLimitFilter(int maxConcurrent, Duration acquireTimeout, ObjectMapper objectMapper) {
+        this(maxConcurrent, acquireTimeout, objectMapper, List.of());
+    }
+
+    /**
+     * @param maxConcurrent the number of requests allowed to run at once, normally the pool size.
+     * @param acquireTimeout how long a request may wait for a permit before it is rejected.
+     * @param objectMapper used once to render the rejection body.
+     * @param excludedPaths path prefixes (without the context path) of requests that are let through without a permit.
+     */
+    public ConnectionPoolLimitFilter(int maxConcurrent, Duration acquireTimeout, ObjectMapper objectMapper,
+                                     List<String> excludedPaths) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Limiter concurrency must be positive");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.rejectedBody = render(objectMapper);
+        this.excludedPaths = List.copyOf(excludedPaths);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String excluded : excludedPaths) {
+            if (path.startsWith(excluded)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(rejectedBody);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * @return the number of requests currently holding a permit.
+     */
+    public int inFlightRequests() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    /**
+     * @return an estimate of the number of requests waiting for a permit.
+     */
+    public int queuedRequests() {
+        return permits.getQueueLength();
+    }
+
+    private static byte[] render(ObjectMapper objectMapper) {
+        try {
+            return objectMapper.writeValueAsBytes(ErrorCode.SERVICE_BUSY.response());
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot render limiter response", ex);
+        }
+    }
+}
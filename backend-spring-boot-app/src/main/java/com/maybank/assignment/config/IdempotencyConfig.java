@@ -0,0 +1,34 @@
+package com.maybank.assignment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maybank.assignment.service.IdempotencyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Registers {@link IdempotencyFilter} on the mutating {@code /api/bank} endpoints and schedules the purge of
+ * expired idempotency records.
+ */
+@Configuration
+@EnableScheduling
+public class IdempotencyConfig {
+
+    // Inside the connection-pool limiter: the store looks keys up and saves responses in the database, so that
+    // work has to run under the request's permit like the rest of it
+    static final int FILTER_ORDER = RequestExecutionConfig.LIMITER_ORDER + 1;
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore idempotencyStore, ObjectMapper objectMapper,
+            @Value("${bank.idempotency.max-body-size:64KB}") DataSize maxBodySize) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(idempotencyStore, objectMapper, (int) maxBodySize.toBytes()));
+        registration.addUrlPatterns("/api/bank/*");
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+}
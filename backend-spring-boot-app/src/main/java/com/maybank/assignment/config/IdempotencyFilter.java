@@ -0,0 +1,234 @@
+package com.maybank.assignment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maybank.assignment.exception.ErrorCode;
+import com.maybank.assignment.exception.ErrorResponse;
+import com.maybank.assignment.service.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.TreeMap;
+
+/**
+ * Makes mutating requests that carry an {@code Idempotency-Key} header safe to retry.
+ * <p>
+ * The first request with a key runs normally and its response is stored; a retry with the same key and the same
+ * request is answered with the stored response (marked {@code Idempotent-Replayed: true}) without reaching the
+ * controller. Reusing a key for a different request is rejected with 422, and a retry that arrives while the
+ * first attempt is still running gets 409. Server errors, conflicts and load-shedding responses are not stored,
+ * so those can be retried with the same key. Requests without the header are not affected.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final int maxBodyBytes;
+
+    public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper, int maxBodyBytes) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return request.getHeader(HEADER) == null
+                || !("POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method) || "DELETE".equals(method));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, ErrorCode.IDEMPOTENCY_KEY_INVALID, HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters.");
+            return;
+        }
+        // Form parameters are parsed from the body before it is consumed, so the controller still sees them
+        if (isForm(request)) {
+            request.getParameterMap();
+        }
+        // The body is buffered so it can be fingerprinted before the controller reads it
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body.length > maxBodyBytes) {
+            reject(response, ErrorCode.PAYLOAD_TOO_LARGE, "Requests with an " + HEADER + " are limited to " + maxBodyBytes + " bytes.");
+            return;
+        }
+        String fingerprint = fingerprint(request, body);
+
+        IdempotencyStore.Lookup lookup = store.begin(key, fingerprint);
+        switch (lookup.getOutcome()) {
+            case REPLAY -> {
+                IdempotencyStore.Entry stored = lookup.getResponse();
+                response.setStatus(stored.getStatus());
+                response.setHeader(REPLAYED_HEADER, "true");
+                if (stored.getContentType() != null) {
+                    response.setContentType(stored.getContentType());
+                }
+                response.getOutputStream().write(stored.getBody());
+                return;
+            }
+            case IN_FLIGHT -> {
+                reject(response, ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS);
+                return;
+            }
+            case MISMATCH -> {
+                reject(response, ErrorCode.IDEMPOTENCY_KEY_REUSED);
+                return;
+            }
+            case CLAIMED -> {
+                // Run the request below
+            }
+        }
+
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(new CachedBodyRequest(request, body), captured);
+            int status = captured.getStatus();
+            if (!request.isAsyncStarted() && isFinal(status)) {
+                store.complete(key, fingerprint, status, captured.getContentType(), captured.getContentAsByteArray());
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(key);
+            }
+            captured.copyBodyToResponse();
+        }
+    }
+
+    // Outcomes a retry would reproduce; 409 and 503 are transient and 5xx may not have applied at all
+    private static boolean isFinal(int status) {
+        return status < 500 && status != HttpStatus.CONFLICT.value();
+    }
+
+    // Method, path, parameters (query string or form, in a canonical order) and body
+    static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+                digest.update(('&' + name + '=' + String.join(",", values)).getBytes(StandardCharsets.UTF_8));
+            });
+            digest.update((byte) '\n');
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static boolean isForm(HttpServletRequest request) {
+        return request.getContentType() != null
+                && request.getContentType().startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+    }
+
+    private void reject(HttpServletResponse response, ErrorCode code) throws IOException {
+        write(response, code.response());
+    }
+
+    private void reject(HttpServletResponse response, ErrorCode code, String message) throws IOException {
+        write(response, new ErrorResponse(code, message));
+    }
+
+    private void write(HttpServletResponse response, ErrorResponse body) throws IOException {
+        response.setStatus(body.getStatus());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Replays the buffered request body to the rest of the chain.
+     */
+    static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so it is ready at once: hand it over, then signal the end
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException ex) {
+                        listener.onError(ex);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() == null ? StandardCharsets.UTF_8.name() : getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.maybank.assignment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Request execution settings for the REST layer.
+ * <p>
+ * Whether requests and async work run on virtual threads is controlled by {@code spring.threads.virtual.enabled};
+ * either way, {@link ConnectionPoolLimitFilter} keeps the number of in-flight {@code /api/bank} requests
+ * within what the connection pool can serve.
+ */
+@Configuration
+public class RequestExecutionConfig {
+
+    static final int LIMITER_ORDER = Ordered.LOWEST_PRECEDENCE - 10;
+
+    // Exports and imports run on their own bounded pools; their requests only stream a file in or out
+    private static final List<String> EXCLUDED_PATHS = List.of("/api/bank/exports", "/api/bank/imports");
+
+    // Exposed as its own bean so the request queue health check can read its queue depth
+    @Bean
+    @ConditionalOnProperty(name = "bank.db-limiter.enabled", havingValue = "true", matchIfMissing = true)
+    public ConnectionPoolLimitFilter connectionPoolLimitFilter(
+            @Value("${bank.db-limiter.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${bank.db-limiter.acquire-timeout:2s}") Duration acquireTimeout,
+            ObjectMapper objectMapper) {
+        return new ConnectionPoolLimitFilter(maxConcurrent, acquireTimeout, objectMapper, EXCLUDED_PATHS);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "bank.db-limiter.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ConnectionPoolLimitFilter> connectionPoolLimitFilterRegistration(
+            ConnectionPoolLimitFilter connectionPoolLimitFilter) {
+        FilterRegistrationBean<ConnectionPoolLimitFilter> registration =
+                new FilterRegistrationBean<>(connectionPoolLimitFilter);
+        registration.addUrlPatterns("/api/bank/*");
+        registration.setOrder(LIMITER_ORDER);
+        return registration;
+    }
+}
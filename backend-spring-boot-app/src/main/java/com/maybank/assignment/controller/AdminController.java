@@ -0,0 +1,45 @@
+package com.maybank.assignment.controller;
+
+import com.maybank.assignment.dto.CacheStatsResponse;
+import com.maybank.assignment.service.AccountLookupCache;
+import com.maybank.assignment.service.AccountSummaryCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class for operational endpoints used to inspect and tune the running service.
+ */
+@RestController
+@RequestMapping("/api/bank/admin")
+public class AdminController {
+
+    @Autowired
+    private AccountLookupCache accountLookupCache;
+
+    @Autowired
+    private AccountSummaryCache accountSummaryCache;
+
+    /**
+     * Retrieves the hit and miss statistics of the account number lookup cache.
+     *
+     * @return ResponseEntity with the cache size, hit/miss counts and rates, and evictions.
+     */
+    @GetMapping("/cache/accounts")
+    public ResponseEntity<CacheStatsResponse> getAccountCacheStats() {
+        return new ResponseEntity<>(accountLookupCache.stats(), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the hit and miss statistics of the account summary cache.
+     *
+     * @return ResponseEntity with the cache size, hit/miss counts and rates, and evictions.
+     */
+    @GetMapping("/cache/summaries")
+    public ResponseEntity<CacheStatsResponse> getAccountSummaryCacheStats() {
+        return new ResponseEntity<>(accountSummaryCache.stats(), HttpStatus.OK);
+    }
+}
@@ -1,18 +1,50 @@
 package com.maybank.assignment.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.maybank.assignment.dto.AccountResponse;
+import com.maybank.assignment.dto.AccountSummaryPage;
+import com.maybank.assignment.dto.BatchPostingResponse;
+import com.maybank.assignment.dto.BulkDeleteResponse;
 import com.maybank.assignment.dto.CreateAccountRequest;
+import com.maybank.assignment.dto.CustomerAccountSummary;
+import com.maybank.assignment.dto.CustomerPage;
+import com.maybank.assignment.dto.CustomerPatch;
+import com.maybank.assignment.dto.PostingInstruction;
+import com.maybank.assignment.dto.TransactionPage;
+import com.maybank.assignment.dto.TransferRequest;
+import com.maybank.assignment.dto.TransferResponse;
+import com.maybank.assignment.exception.DomainException;
+import com.maybank.assignment.exception.ErrorCode;
+import com.maybank.assignment.exception.ErrorResponse;
 import com.maybank.assignment.exception.ResourceNotFoundException;
 import com.maybank.assignment.model.Account;
 import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.model.Money;
 import com.maybank.assignment.service.AccountService;
+import com.maybank.assignment.service.BatchPostingService;
 import com.maybank.assignment.service.CustomerService;
+import com.maybank.assignment.service.TransferService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,7 +55,7 @@ import java.util.Optional;
  */
 @RestController
 @RequestMapping("/api/bank")
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = HttpHeaders.ETAG)
 public class CustomerController {
 
     @Autowired
@@ -32,21 +64,26 @@ public class CustomerController {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private BatchPostingService batchPostingService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Creates a new customer.
      *
      * @param customer the customer details to be created.
      * @param result binding result to capture validation errors.
-     * @return ResponseEntity with the created customer or error message if validation fails.
+     * @return ResponseEntity with the created customer, or a 400 error listing the invalid fields.
      */
     @PostMapping("/createCustomer")
     public ResponseEntity<?> createCustomer(@Valid @RequestBody Customer customer, BindingResult result) {
         if (result.hasErrors()) {
-            StringBuilder errorMessage = new StringBuilder();
-            result.getAllErrors().forEach(error -> {
-                errorMessage.append(error.getDefaultMessage()).append(" ");
-            });
-            return new ResponseEntity<>(errorMessage.toString(), HttpStatus.BAD_REQUEST);
+            return ResponseEntity.badRequest().body(ErrorResponse.validationFailed(result));
         }
 
         Customer createdCustomer = customerService.createCustomer(customer.getName(), customer.getEmail(), customer.getPhone(), customer.getDateOfBirth());
@@ -63,9 +100,10 @@ public class CustomerController {
     public ResponseEntity<Customer> getCustomerById(@PathVariable Long id) {
         Optional<Customer> customerOptional = customerService.getCustomerById(id);
         if (customerOptional.isPresent()) {
-            return new ResponseEntity<>(customerOptional.get(), HttpStatus.OK);
+            Customer customer = customerOptional.get();
+            return ResponseEntity.ok().eTag(Long.toString(customer.getVersion())).body(customer);
         } else {
-            throw new ResourceNotFoundException("Customer with id " + id + " not found.");
+            throw new ResourceNotFoundException(ErrorCode.CUSTOMER_NOT_FOUND, "Customer with id " + id + " not found.");
         }
     }
 
@@ -84,6 +122,67 @@ public class CustomerController {
         }
     }
 
+    /**
+     * Retrieves customers one page at a time using keyset pagination on the customer ID.
+     *
+     * @param cursor the continuation token returned with the previous page, or absent for the first page.
+     * @param size the maximum number of customers to return (1 to 500).
+     * @return ResponseEntity with the page of customers and the cursor for the next page.
+     */
+    @GetMapping("/customers")
+    public ResponseEntity<CustomerPage> getCustomerPage(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "" + CustomerService.DEFAULT_PAGE_SIZE) int size) {
+        return new ResponseEntity<>(customerService.getCustomerPage(cursor, size), HttpStatus.OK);
+    }
+
+    /**
+     * Searches customers by exactly one criterion, one keyset page at a time.
+     *
+     * @param email the exact email address of the customer.
+     * @param phone the exact phone number of the customers.
+     * @param name the case-insensitive prefix of the customers' names; results are ordered by name.
+     * @param cursor the continuation token returned with the previous page, or absent for the first page.
+     * @param size the maximum number of customers to return (1 to 500).
+     * @return ResponseEntity with the page of matching customers and the cursor for the next page.
+     */
+    @GetMapping("/customers/search")
+    public ResponseEntity<CustomerPage> searchCustomers(@RequestParam(required = false) String email,
+                                                        @RequestParam(required = false) String phone,
+                                                        @RequestParam(required = false) String name,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "" + CustomerService.DEFAULT_PAGE_SIZE) int size) {
+        return new ResponseEntity<>(customerService.searchCustomers(email, phone, name, cursor, size), HttpStatus.OK);
+    }
+
+    /**
+     * Streams all customers as newline-delimited JSON, one customer per line.
+     * Rows are read through a database cursor, so memory use does not grow with the table size.
+     *
+     * @return ResponseEntity streaming the customers in ID order.
+     */
+    @GetMapping(value = "/customers/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCustomers() {
+        ObjectWriter writer = objectMapper.writerFor(Customer.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                customerService.streamAllCustomers(customer -> {
+                    try {
+                        writer.writeValue(generator, customer);
+                        generator.writeRaw('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Updates an existing customer by their ID.
      *
@@ -106,26 +205,73 @@ public class CustomerController {
 
             return new ResponseEntity<>(existingCustomer, HttpStatus.OK);
         } else {
-            throw new ResourceNotFoundException("Customer with ID '" + id + "' not found");
+            throw new ResourceNotFoundException(ErrorCode.CUSTOMER_NOT_FOUND, "Customer with ID '" + id + "' not found");
+        }
+    }
+
+    /**
+     * Partially updates a customer: only the supplied fields are written, in a single UPDATE statement.
+     * When an If-Match header carrying the ETag from getCustomer is sent, the update only applies if the
+     * customer has not been changed since.
+     *
+     * @param id the ID of the customer to update.
+     * @param patch the fields to change; absent fields keep their current value.
+     * @param ifMatch the expected ETag of the customer, or absent to update unconditionally.
+     * @return ResponseEntity with no content and the new ETag, a 404 error if the customer is not found,
+     * or a 412 error if the customer was modified concurrently.
+     */
+    @PatchMapping("/updateCustomer/{id}")
+    public ResponseEntity<Void> patchCustomer(@PathVariable Long id, @Valid @RequestBody CustomerPatch patch,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long newVersion = customerService.patchCustomer(id, patch, parseVersion(ifMatch));
+        ResponseEntity.HeadersBuilder<?> response = ResponseEntity.noContent();
+        if (newVersion != null) {
+            response.eTag(Long.toString(newVersion));
+        }
+        return response.build();
+    }
+
+    // Accepts the ETag as sent back by clients: "3", W/"3" or a bare 3
+    private static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException ex) {
+            throw new DomainException(ErrorCode.INVALID_REQUEST, "Invalid If-Match header: " + ifMatch);
         }
     }
 
     /**
-     * Deletes a customer by their ID.
+     * Deletes a customer by their ID. The customer's accounts are closed and archived, not deleted.
      *
      * @param id the ID of the customer to delete.
      * @return ResponseEntity with no content status if successful or a 404 error if the customer is not found.
      */
     @DeleteMapping("/deleteCustomer/{id}")
     public ResponseEntity<?> deleteCustomer(@PathVariable Long id) {
-        Optional<Customer> existingCustomerOptional = customerService.getCustomerById(id);
+        customerService.deleteCustomerById(id);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
 
-        if (existingCustomerOptional.isPresent()) {
-            customerService.deleteCustomerById(id);
-            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-        } else {
-            throw new ResourceNotFoundException("Customer with ID '" + id + "' not found");
-        }
+    /**
+     * Deletes many customers in one request. Their accounts are closed and archived, not deleted;
+     * ids that do not exist are skipped.
+     *
+     * @param ids the IDs of the customers to delete (1 to 1000).
+     * @return ResponseEntity with the number of customers deleted and accounts archived.
+     */
+    @PostMapping("/deleteCustomers")
+    public ResponseEntity<BulkDeleteResponse> deleteCustomers(@RequestBody List<Long> ids) {
+        return new ResponseEntity<>(customerService.deleteCustomers(ids), HttpStatus.OK);
     }
 
     /**
@@ -133,43 +279,92 @@ public class CustomerController {
      *
      * @param createAccountRequest the account creation request details.
      * @param result binding result to capture validation errors.
-     * @return ResponseEntity with the created account or error message if validation fails.
+     * @return ResponseEntity with the created account, or a 400 error listing the invalid fields.
      */
     @PostMapping("/createAccount")
     public ResponseEntity<?> createAccount(@Valid @RequestBody CreateAccountRequest createAccountRequest, BindingResult result) {
         if (result.hasErrors()) {
-            StringBuilder errorMessage = new StringBuilder();
-            result.getAllErrors().forEach(error -> {
-                errorMessage.append(error.getDefaultMessage()).append(" ");
-            });
-            return new ResponseEntity<>(errorMessage.toString(), HttpStatus.BAD_REQUEST);
+            return ResponseEntity.badRequest().body(ErrorResponse.validationFailed(result));
         }
         Account account = accountService.createAccount(createAccountRequest);
-        return new ResponseEntity<>(account, HttpStatus.CREATED);
+        return new ResponseEntity<>(AccountResponse.from(account), HttpStatus.CREATED);
     }
 
     /**
      * Deposits cash into an account.
      *
      * @param accountNumber the account number to deposit cash into.
-     * @param amount the amount to deposit.
+     * @param amount the amount to deposit, with at most two decimal places.
      * @return the updated account after deposit.
      */
     @PostMapping("/depositCash")
-    public Account depositCash(@RequestParam String accountNumber, @RequestParam Double amount) {
-        return accountService.depositCash(accountNumber, amount);
+    public AccountResponse depositCash(@RequestParam String accountNumber, @RequestParam BigDecimal amount) {
+        return AccountResponse.from(accountService.depositCash(accountNumber, Money.toMinorUnits(amount)));
     }
 
     /**
      * Withdraws cash from an account.
      *
      * @param accountNumber the account number to withdraw cash from.
-     * @param amount the amount to withdraw.
+     * @param amount the amount to withdraw, with at most two decimal places.
      * @return the updated account after withdrawal.
      */
     @PostMapping("/withdrawCash")
-    public Account withdrawCash(@RequestParam String accountNumber, @RequestParam Double amount) {
-        return accountService.withdrawCash(accountNumber, amount);
+    public AccountResponse withdrawCash(@RequestParam String accountNumber, @RequestParam BigDecimal amount) {
+        return AccountResponse.from(accountService.withdrawCash(accountNumber, Money.toMinorUnits(amount)));
+    }
+
+    /**
+     * Transfers money between two accounts atomically. Retrying with the same reference is safe.
+     *
+     * @param transferRequest the transfer details, including the client-generated reference.
+     * @param result binding result to capture validation errors.
+     * @return ResponseEntity with the transfer outcome: 201 when applied, 200 when replayed for a known reference.
+     */
+    @PostMapping("/transfer")
+    public ResponseEntity<?> transfer(@Valid @RequestBody TransferRequest transferRequest, BindingResult result) {
+        if (result.hasErrors()) {
+            return ResponseEntity.badRequest().body(ErrorResponse.validationFailed(result));
+        }
+        TransferResponse transfer = transferService.transfer(transferRequest);
+        return new ResponseEntity<>(transfer, transfer.isReplayed() ? HttpStatus.OK : HttpStatus.CREATED);
+    }
+
+    /**
+     * Applies a batch of deposits and withdrawals in JDBC-batched chunks.
+     *
+     * @param instructions the deposit and withdrawal instructions, applied in order.
+     * @return ResponseEntity with applied/rejected/failed counts and one outcome per instruction.
+     */
+    @PostMapping(value = "/batchTransactions", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchPostingResponse> batchTransactions(@RequestBody List<PostingInstruction> instructions) {
+        return new ResponseEntity<>(new BatchPostingResponse(batchPostingService.post(instructions)), HttpStatus.OK);
+    }
+
+    /**
+     * Applies a stream of deposits and withdrawals sent as newline-delimited JSON.
+     * Instructions are read and posted chunk by chunk, and one NDJSON outcome line is written per instruction,
+     * so the size of the input is not limited by memory.
+     *
+     * @param body the NDJSON request body, one instruction per line.
+     * @param response the response the per-instruction outcomes are streamed to.
+     */
+    @PostMapping(value = "/batchTransactions", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void batchTransactionsStream(InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (MappingIterator<PostingInstruction> instructions = objectMapper.readerFor(PostingInstruction.class).readValues(body);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            batchPostingService.post(instructions, result -> {
+                try {
+                    writer.writeValue(generator, result);
+                    generator.writeRaw('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
     }
 
     /**
@@ -179,23 +374,78 @@ public class CustomerController {
      * @return the closed account.
      */
     @PostMapping("/closeAccount")
-    public Account closeAccount(@RequestParam String accountNumber) {
-        return accountService.closeAccount(accountNumber);
+    public AccountResponse closeAccount(@RequestParam String accountNumber) {
+        return AccountResponse.from(accountService.closeAccount(accountNumber));
     }
 
     /**
      * Retrieves account details by account number.
      *
      * @param accountNumber the account number to retrieve.
+     * @param includeCustomer whether to embed the owning customer, fetched in the same query.
      * @return ResponseEntity with the account details or a 404 error if the account is not found.
      */
     @GetMapping("/getAccount/{accountNumber}")
-    public ResponseEntity<?> getAccountByNumber(@PathVariable String accountNumber) {
-        Account account = accountService.getAccountByNumber(accountNumber);
+    public ResponseEntity<?> getAccountByNumber(@PathVariable String accountNumber,
+                                                @RequestParam(defaultValue = "false") boolean includeCustomer) {
+        if (includeCustomer) {
+            return new ResponseEntity<>(accountService.getAccountWithCustomer(accountNumber), HttpStatus.OK);
+        }
+        AccountResponse account = accountService.getAccountResponse(accountNumber);
         if (account == null) {
-            throw new ResourceNotFoundException("Account with number '" + accountNumber + "' not found");
+            throw new ResourceNotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Account with number '" + accountNumber + "' not found");
         }
 
         return new ResponseEntity<>(account, HttpStatus.OK);
     }
+
+    /**
+     * Retrieves an account statement: the ledger entries in a time range, oldest first, one keyset page at a time.
+     * <p>
+     * Paging misses no entry under concurrent writes. An entry's timestamp is assigned before it commits, so a page
+     * ends before any entry that is still being written; while such a write is in flight, a page can be shorter than
+     * {@code size}, or empty with a cursor to retry.
+     *
+     * @param accountNumber the account number to retrieve the statement for.
+     * @param from the inclusive start of the time range (ISO-8601), or absent for the beginning of the ledger.
+     * @param to the exclusive end of the time range (ISO-8601), or absent for no upper bound.
+     * @param cursor the continuation token returned with the previous page, or absent for the first page.
+     * @param size the maximum number of entries to return (1 to 500).
+     * @return ResponseEntity with the page of ledger entries and the cursor for the next page.
+     */
+    @GetMapping("/getAccount/{accountNumber}/transactions")
+    public ResponseEntity<TransactionPage> getStatement(@PathVariable String accountNumber,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "" + AccountService.DEFAULT_STATEMENT_PAGE_SIZE) int size) {
+        return new ResponseEntity<>(accountService.getStatement(accountNumber, from, to, cursor, size), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the account summary of a customer: total balance, active and closed account counts, and the same
+     * per account type.
+     *
+     * @param id the ID of the customer.
+     * @param includeAccounts whether to list the customer's accounts as well.
+     * @return ResponseEntity with the account summary or a 404 error if the customer is not found.
+     */
+    @GetMapping("/customers/{id}/accounts/summary")
+    public ResponseEntity<CustomerAccountSummary> getAccountSummary(@PathVariable Long id,
+                                                                    @RequestParam(defaultValue = "false") boolean includeAccounts) {
+        return new ResponseEntity<>(accountService.getAccountSummary(id, includeAccounts), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the account summaries of customers one page at a time, ordered by customer ID.
+     *
+     * @param cursor the continuation token returned with the previous page, or absent for the first page.
+     * @param size the maximum number of customers to return (1 to 500).
+     * @return ResponseEntity with the page of account summaries and the cursor for the next page.
+     */
+    @GetMapping("/customers/accounts/summary")
+    public ResponseEntity<AccountSummaryPage> getAccountSummaryPage(@RequestParam(required = false) String cursor,
+                                                                    @RequestParam(defaultValue = "" + CustomerService.DEFAULT_PAGE_SIZE) int size) {
+        return new ResponseEntity<>(accountService.getAccountSummaryPage(cursor, size), HttpStatus.OK);
+    }
 }
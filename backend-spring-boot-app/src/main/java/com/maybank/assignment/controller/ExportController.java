@@ -0,0 +1,122 @@
+package com.maybank.assignment.controller;
+
+import com.maybank.assignment.exception.ErrorCode;
+import com.maybank.assignment.exception.ResourceNotFoundException;
+import com.maybank.assignment.export.ExportJob;
+import com.maybank.assignment.export.ExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Controller class for full exports of the customer and account tables, run as background jobs.
+ */
+@RestController
+@RequestMapping("/api/bank/exports")
+public class ExportController {
+
+    // Tomcat's sendfile request attributes: the connector writes the file to the socket after the request returns
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private ExportService exportService;
+
+    /**
+     * Starts an export in the background.
+     *
+     * @param dataset {@code customers} or {@code accounts} (with their balances).
+     * @param format {@code csv} or {@code ndjson}; the file is gzip-compressed either way.
+     * @return ResponseEntity with the queued job and its status URL, or a 503 error if too many exports are queued.
+     */
+    @PostMapping
+    public ResponseEntity<ExportJob> startExport(@RequestParam String dataset,
+                                                 @RequestParam(defaultValue = "csv") String format) {
+        ExportJob job = exportService.submit(dataset, format);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{id}").buildAndExpand(job.getId()).toUri())
+                .body(job);
+    }
+
+    /**
+     * Retrieves the status and progress of an export.
+     *
+     * @param id the ID of the export.
+     * @return ResponseEntity with the export's state, rows and bytes written so far, and throughput.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ExportJob> getExport(@PathVariable String id) {
+        return new ResponseEntity<>(exportService.getJob(id), HttpStatus.OK);
+    }
+
+    /**
+     * Downloads the file of a completed export. The file is sent with sendfile where the connector supports it,
+     * otherwise copied with {@link FileChannel#transferTo}.
+     *
+     * @param id the ID of the export.
+     * @param request the current request.
+     * @param response the response the file is written to; a 409 error if the export has not completed.
+     */
+    @GetMapping("/{id}/file")
+    public void downloadExport(@PathVariable String id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        ExportJob job = exportService.getCompletedJob(id);
+        Path file = job.getFile();
+        long size;
+        try {
+            size = Files.size(file);
+        } catch (NoSuchFileException ex) {
+            throw new ResourceNotFoundException(ErrorCode.EXPORT_NOT_FOUND, "Export '" + id + "' not found"); // Expired while being requested
+        }
+        response.setContentType("application/gzip");
+        response.setContentLengthLong(size);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(job.getFileName()).build().toString());
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            for (long position = 0; position < size; ) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    /**
+     * Cancels an export if it is still running and deletes it with its file.
+     *
+     * @param id the ID of the export.
+     * @return ResponseEntity with no content, or a 404 error if the export is not found.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteExport(@PathVariable String id) throws IOException {
+        exportService.deleteJob(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.maybank.assignment.controller;
+
+import com.maybank.assignment.exception.ErrorCode;
+import com.maybank.assignment.exception.ResourceNotFoundException;
+import com.maybank.assignment.importer.ImportFormat;
+import com.maybank.assignment.importer.ImportJob;
+import com.maybank.assignment.importer.ImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Controller class for bulk imports of customers and their accounts, run as background jobs.
+ * <p>
+ * Each row has the fields name, email, phone, dateOfBirth and optionally accountType; a row with an account type
+ * also opens an account of that type. dateOfBirth is an ISO-8601 date or date-time, or epoch milliseconds.
+ */
+@RestController
+@RequestMapping("/api/bank/imports")
+public class ImportController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    @Autowired
+    private ImportService importService;
+
+    /**
+     * Uploads a CSV file with a header line naming the columns, and starts its import in the background.
+     *
+     * @param request the current request; its body is the file.
+     * @return ResponseEntity with the queued job and its status URL, a 413 error if the file exceeds
+     *         {@code bank.import.max-upload-size}, or a 503 error if too many imports are queued.
+     */
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<ImportJob> importCsv(HttpServletRequest request) throws IOException {
+        return accepted(importService.submit(ImportFormat.CSV, request.getContentLengthLong(), request.getInputStream()));
+    }
+
+    /**
+     * Uploads a newline-delimited JSON file, one customer object per line, and starts its import in the background.
+     *
+     * @param request the current request; its body is the file.
+     * @return ResponseEntity with the queued job and its status URL, a 413 error if the file exceeds
+     *         {@code bank.import.max-upload-size}, or a 503 error if too many imports are queued.
+     */
+    @PostMapping(consumes = "application/x-ndjson")
+    public ResponseEntity<ImportJob> importNdjson(HttpServletRequest request) throws IOException {
+        return accepted(importService.submit(ImportFormat.NDJSON, request.getContentLengthLong(), request.getInputStream()));
+    }
+
+    /**
+     * Retrieves the status and progress of an import.
+     *
+     * @param id the ID of the import.
+     * @return ResponseEntity with the import's state, rows read, imported and rejected so far, and throughput.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJob> getImport(@PathVariable String id) {
+        return new ResponseEntity<>(importService.getJob(id), HttpStatus.OK);
+    }
+
+    /**
+     * Downloads the rejected rows of an import as CSV: their line in the upload, email and reasons. The report grows
+     * while the import runs.
+     *
+     * @param id the ID of the import.
+     * @return ResponseEntity with the report, or a 404 error if the import is not found.
+     */
+    @GetMapping("/{id}/errors")
+    public ResponseEntity<Resource> getImportErrors(@PathVariable String id) {
+        ImportJob job = importService.getJob(id);
+        if (!Files.exists(job.getErrorReport())) {
+            throw new ResourceNotFoundException(ErrorCode.IMPORT_NOT_FOUND, "Import '" + id + "' has no error report yet");
+        }
+        return ResponseEntity.ok().contentType(TEXT_CSV).body(new FileSystemResource(job.getErrorReport()));
+    }
+
+    private static ResponseEntity<ImportJob> accepted(ImportJob job) {
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{id}").buildAndExpand(job.getId()).toUri())
+                .body(job);
+    }
+}
@@ -1,25 +1,38 @@
 package com.maybank.assignment.controller;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
  * Controller class for handling basic status check endpoint.
- * Provides an endpoint to check if the server is up and running.
+ * Provides an endpoint to check if the server is up and ready to serve traffic.
  */
 @RestController
 @RequestMapping("/api/bank")
 public class TestController {
 
+    @Autowired
+    private HealthEndpoint healthEndpoint;
+
     /**
      * Endpoint to check if the server is up and running.
+     * Reports the same state as the readiness probe at {@code /actuator/health/readiness}.
      *
-     * @return a simple status message indicating the server is running.
+     * @return a simple status message with 200 when the server is ready, or 503 when it is degraded.
      */
     @GetMapping("/status")
-    public String sayHello() {
-        return "Server is up and running!";
+    public ResponseEntity<String> sayHello() {
+        HealthComponent readiness = healthEndpoint.healthForPath("readiness");
+        if (readiness != null && Status.UP.equals(readiness.getStatus())) {
+            return ResponseEntity.ok("Server is up and running!");
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Server is not ready to serve requests.");
     }
 }
-
@@ -0,0 +1,46 @@
+package com.maybank.assignment.diagnostics;
+
+import org.hibernate.cfg.JdbcSettings;
+import org.hibernate.cfg.SessionEventSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Query diagnostics, switched on and off as a whole by {@code bank.diagnostics.enabled}.
+ * <p>
+ * Slow statements themselves are logged by Hibernate ({@code hibernate.log_slow_query}, logger
+ * {@code org.hibernate.SQL_SLOW}). Per-request statement counts come from {@link QueryStatisticsListener}, so
+ * application-wide Hibernate statistics ({@code hibernate.generate_statistics}) can stay off.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bank.diagnostics.enabled", havingValue = "true", matchIfMissing = true)
+public class DiagnosticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryDiagnosticsCustomizer(
+            @Value("${bank.diagnostics.sql.sample-rate:0.01}") double sampleRate) {
+        return properties -> {
+            properties.put(JdbcSettings.STATEMENT_INSPECTOR, new SampledStatementInspector(sampleRate));
+            properties.put(SessionEventSettings.AUTO_SESSION_EVENTS_LISTENER, QueryStatisticsListener.class.getName());
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryDiagnosticsFilter> queryDiagnosticsFilter(
+            @Value("${bank.diagnostics.slow-request:500ms}") Duration slowRequest,
+            @Value("${bank.diagnostics.max-statements-per-request:20}") int maxStatements) {
+        FilterRegistrationBean<QueryDiagnosticsFilter> registration =
+                new FilterRegistrationBean<>(new QueryDiagnosticsFilter(slowRequest, maxStatements));
+        registration.addUrlPatterns("/api/bank/*");
+        // Outermost, so the measured time includes queueing in the limiter and idempotency replays
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
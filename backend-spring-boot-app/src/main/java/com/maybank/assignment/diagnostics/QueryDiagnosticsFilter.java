@@ -0,0 +1,77 @@
+package com.maybank.assignment.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Collects the {@link QueryStatistics} of each request and logs them as one structured event.
+ * <p>
+ * Requests slower than the configured threshold, or issuing more statements than the configured maximum
+ * (usually an N+1 query), are logged at WARN. All other requests are logged at DEBUG, so per-request
+ * diagnostics for every endpoint can be switched on at runtime through {@code /actuator/loggers}.
+ */
+public class QueryDiagnosticsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryDiagnosticsFilter.class);
+
+    private final long slowRequestNanos;
+    private final int maxStatements;
+
+    /**
+     * @param slowRequest requests taking longer are logged at WARN.
+     * @param maxStatements requests executing more statements are logged at WARN.
+     */
+    public QueryDiagnosticsFilter(Duration slowRequest, int maxStatements) {
+        this.slowRequestNanos = slowRequest.toNanos();
+        this.maxStatements = maxStatements;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryStatistics statistics = QueryStatistics.begin();
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            QueryStatistics.end();
+            request.setAttribute(QueryStatistics.ATTRIBUTE, statistics);
+            boolean flagged = elapsed > slowRequestNanos || statistics.getStatements() + statistics.getBatches() > maxStatements;
+            Level level = flagged ? Level.WARN : Level.DEBUG;
+            if (log.isEnabledForLevel(level)) {
+                long durationMs = elapsed / 1_000_000;
+                long dbTimeMs = statistics.getExecutionNanos() / 1_000_000;
+                // Readable with the plain console pattern; the key-value pairs become fields in structured output
+                log.atLevel(level)
+                        .setMessage("{} {} returned {} in {} ms: {} statements, {} batches, {} ms in the database")
+                        .addArgument(request.getMethod())
+                        .addArgument(request.getRequestURI())
+                        .addArgument(response.getStatus())
+                        .addArgument(durationMs)
+                        .addArgument(statistics.getStatements())
+                        .addArgument(statistics.getBatches())
+                        .addArgument(dbTimeMs)
+                        .addKeyValue("method", request.getMethod())
+                        .addKeyValue("uri", request.getRequestURI())
+                        .addKeyValue("status", response.getStatus())
+                        .addKeyValue("durationMs", durationMs)
+                        .addKeyValue("statements", statistics.getStatements())
+                        .addKeyValue("batches", statistics.getBatches())
+                        .addKeyValue("dbTimeMs", dbTimeMs)
+                        .addKeyValue("cacheHits", statistics.getCacheHits())
+                        .addKeyValue("cacheMisses", statistics.getCacheMisses())
+                        .log();
+            }
+        }
+    }
+}
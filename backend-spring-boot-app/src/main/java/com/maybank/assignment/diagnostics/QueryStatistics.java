@@ -0,0 +1,78 @@
+package com.maybank.assignment.diagnostics;
+
+/**
+ * Database work done while serving one request: JDBC statements and batches executed, the time spent executing
+ * them, and second-level cache lookups.
+ * <p>
+ * The statistics of the request running on the current thread are collected by {@link QueryStatisticsListener};
+ * outside a request nothing is recorded.
+ */
+public final class QueryStatistics {
+
+    /**
+     * Request attribute holding the statistics of a completed request.
+     */
+    public static final String ATTRIBUTE = QueryStatistics.class.getName();
+
+    private static final ThreadLocal<QueryStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int batches;
+    private long executionNanos;
+    private int cacheHits;
+    private int cacheMisses;
+
+    static QueryStatistics begin() {
+        QueryStatistics statistics = new QueryStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static QueryStatistics current() {
+        return CURRENT.get();
+    }
+
+    void executed(long nanos) {
+        statements++;
+        executionNanos += nanos;
+    }
+
+    void batchExecuted(long nanos) {
+        batches++;
+        executionNanos += nanos;
+    }
+
+    void cacheLookup(boolean hit) {
+        if (hit) {
+            cacheHits++;
+        } else {
+            cacheMisses++;
+        }
+    }
+
+    // Getters
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+
+    public int getCacheHits() {
+        return cacheHits;
+    }
+
+    public int getCacheMisses() {
+        return cacheMisses;
+    }
+}
@@ -0,0 +1,48 @@
+package com.maybank.assignment.diagnostics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the JDBC and cache activity of every Hibernate session to the {@link QueryStatistics} of the request
+ * running on the same thread. Hibernate creates one instance per session
+ * ({@code hibernate.session.events.auto}); the cost is a couple of {@code nanoTime} calls per statement.
+ */
+public class QueryStatisticsListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryStatistics statistics = QueryStatistics.current();
+        if (statistics != null) {
+            statistics.executed(System.nanoTime() - statementStart);
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        QueryStatistics statistics = QueryStatistics.current();
+        if (statistics != null) {
+            statistics.batchExecuted(System.nanoTime() - batchStart);
+        }
+    }
+
+    @Override
+    public void cacheGetEnd(boolean hit) {
+        QueryStatistics statistics = QueryStatistics.current();
+        if (statistics != null) {
+            statistics.cacheLookup(hit);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.maybank.assignment.diagnostics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs a random sample of the SQL Hibernate executes, in place of {@code spring.jpa.show-sql}.
+ * <p>
+ * Capture is off until the {@code com.maybank.assignment.diagnostics.sql} logger is set to DEBUG (e.g. through
+ * {@code /actuator/loggers}), so in normal operation the cost is one level check per statement.
+ */
+public class SampledStatementInspector implements StatementInspector {
+
+    private static final Logger log = LoggerFactory.getLogger("com.maybank.assignment.diagnostics.sql");
+
+    private final double sampleRate;
+
+    public SampledStatementInspector(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("SQL sample rate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.atDebug().setMessage("Sampled statement: {}").addArgument(sql).addKeyValue("sql", sql).log();
+        }
+        return sql;
+    }
+}
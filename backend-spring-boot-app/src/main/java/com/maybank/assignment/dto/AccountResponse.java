@@ -0,0 +1,76 @@
+package com.maybank.assignment.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.maybank.assignment.model.Account;
+import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.model.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * Account representation returned by the account endpoints.
+ * Carries the owning customer's id only; the customer itself is included solely by endpoints that fetch it explicitly.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AccountResponse {
+
+    private final String accountNumber;
+    private final BigDecimal balance;
+    private final String accountType;
+    private final String status;
+    private final Long customerId;
+    private final Customer customer;
+
+    // Constructor used by JPQL constructor expressions, so only these columns are selected
+    public AccountResponse(String accountNumber, long balanceMinor, String accountType, String status, Long customerId) {
+        this(accountNumber, balanceMinor, accountType, status, customerId, null);
+    }
+
+    private AccountResponse(String accountNumber, long balanceMinor, String accountType, String status,
+                            Long customerId, Customer customer) {
+        this.accountNumber = accountNumber;
+        this.balance = Money.fromMinorUnits(balanceMinor);
+        this.accountType = accountType;
+        this.status = status;
+        this.customerId = customerId;
+        this.customer = customer;
+    }
+
+    // Reading the id of the lazy customer proxy does not initialize it
+    public static AccountResponse from(Account account) {
+        return new AccountResponse(account.getAccountNumber(), account.getBalanceMinor(), account.getAccountType(),
+                account.getStatus(), account.getCustomer() == null ? null : account.getCustomer().getId());
+    }
+
+    // Only for accounts whose customer was fetch-joined
+    public static AccountResponse withCustomer(Account account) {
+        Customer customer = account.getCustomer();
+        return new AccountResponse(account.getAccountNumber(), account.getBalanceMinor(), account.getAccountType(),
+                account.getStatus(), customer == null ? null : customer.getId(), customer);
+    }
+
+    // Getters
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public String getAccountType() {
+        return accountType;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public Customer getCustomer() {
+        return customer;
+    }
+}
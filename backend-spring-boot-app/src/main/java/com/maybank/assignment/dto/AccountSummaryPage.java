@@ -0,0 +1,32 @@
+package com.maybank.assignment.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of per-customer account summaries, in customer id order.
+ * {@code nextCursor} is null when there are no further pages.
+ */
+public class AccountSummaryPage {
+
+    private final List<CustomerAccountSummary> summaries;
+    private final String nextCursor;
+
+    // Constructor
+    public AccountSummaryPage(List<CustomerAccountSummary> summaries, String nextCursor) {
+        this.summaries = summaries;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<CustomerAccountSummary> getSummaries() {
+        return summaries;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.maybank.assignment.dto;
+
+/**
+ * One row of the per-customer account aggregate: the number of accounts of one type and status and their
+ * combined balance. Built by a JPQL constructor expression over a GROUP BY.
+ *
+ * @param customerId the owning customer.
+ * @param accountType the account type.
+ * @param status the account status ({@code Active} or {@code Closed}).
+ * @param accounts the number of accounts in the group.
+ * @param balanceMinor the combined balance of the group in minor units.
+ */
+public record AccountTotals(Long customerId, String accountType, String status, long accounts, long balanceMinor) {
+}
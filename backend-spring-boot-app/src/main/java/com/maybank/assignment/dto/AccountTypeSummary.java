@@ -0,0 +1,51 @@
+package com.maybank.assignment.dto;
+
+import com.maybank.assignment.model.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * A customer's accounts of one type: how many are active and closed, and their combined balance.
+ */
+public class AccountTypeSummary {
+
+    private final String accountType;
+    private long activeAccounts;
+    private long closedAccounts;
+    private long balanceMinor;
+
+    // Constructor
+    public AccountTypeSummary(String accountType) {
+        this.accountType = accountType;
+    }
+
+    void add(AccountTotals totals) {
+        if ("Active".equals(totals.status())) {
+            activeAccounts += totals.accounts();
+        } else {
+            closedAccounts += totals.accounts();
+        }
+        balanceMinor += totals.balanceMinor();
+    }
+
+    // Getters
+    public String getAccountType() {
+        return accountType;
+    }
+
+    public long getActiveAccounts() {
+        return activeAccounts;
+    }
+
+    public long getClosedAccounts() {
+        return closedAccounts;
+    }
+
+    public BigDecimal getBalance() {
+        return Money.fromMinorUnits(balanceMinor);
+    }
+
+    long getBalanceMinor() {
+        return balanceMinor;
+    }
+}
@@ -0,0 +1,48 @@
+package com.maybank.assignment.dto;
+
+import java.util.List;
+
+/**
+ * Summary and per-item outcomes of a batch posting.
+ */
+public class BatchPostingResponse {
+
+    private final int applied;
+    private final int rejected;
+    private final int failed;
+    private final List<PostingResult> results;
+
+    // Constructor
+    public BatchPostingResponse(List<PostingResult> results) {
+        int appliedCount = 0;
+        int rejectedCount = 0;
+        for (PostingResult result : results) {
+            if (PostingResult.APPLIED.equals(result.getStatus())) {
+                appliedCount++;
+            } else if (PostingResult.REJECTED.equals(result.getStatus())) {
+                rejectedCount++;
+            }
+        }
+        this.applied = appliedCount;
+        this.rejected = rejectedCount;
+        this.failed = results.size() - appliedCount - rejectedCount;
+        this.results = results;
+    }
+
+    // Getters
+    public int getApplied() {
+        return applied;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<PostingResult> getResults() {
+        return results;
+    }
+}
@@ -0,0 +1,31 @@
+package com.maybank.assignment.dto;
+
+/**
+ * Outcome of a bulk customer deletion. Ids that did not exist are counted in {@code requested} but not in {@code deleted}.
+ */
+public class BulkDeleteResponse {
+
+    private final int requested;
+    private final int deleted;
+    private final int accountsArchived;
+
+    // Constructor
+    public BulkDeleteResponse(int requested, int deleted, int accountsArchived) {
+        this.requested = requested;
+        this.deleted = deleted;
+        this.accountsArchived = accountsArchived;
+    }
+
+    // Getters
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getDeleted() {
+        return deleted;
+    }
+
+    public int getAccountsArchived() {
+        return accountsArchived;
+    }
+}
@@ -0,0 +1,56 @@
+package com.maybank.assignment.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Hit/miss statistics of an in-process cache, used to tune its size and TTL.
+ */
+public class CacheStatsResponse {
+
+    private final long size;
+    private final long hitCount;
+    private final long missCount;
+    private final double hitRate;
+    private final double missRate;
+    private final long evictionCount;
+
+    // Constructor
+    public CacheStatsResponse(long size, long hitCount, long missCount, double hitRate, double missRate, long evictionCount) {
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.hitRate = hitRate;
+        this.missRate = missRate;
+        this.evictionCount = evictionCount;
+    }
+
+    public static CacheStatsResponse from(CacheStats stats, long size) {
+        return new CacheStatsResponse(size, stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.missRate(), stats.evictionCount());
+    }
+
+    // Getters
+    public long getSize() {
+        return size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public double getMissRate() {
+        return missRate;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+}
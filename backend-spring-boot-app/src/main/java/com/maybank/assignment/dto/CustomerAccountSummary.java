@@ -0,0 +1,72 @@
+package com.maybank.assignment.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.maybank.assignment.model.Money;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Totals of one customer's accounts, overall and per account type.
+ * The accounts themselves are only included when they were requested.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CustomerAccountSummary {
+
+    private final Long customerId;
+    private final List<AccountTypeSummary> accountTypes;
+    private final List<AccountResponse> accounts;
+
+    // Constructor
+    public CustomerAccountSummary(Long customerId, List<AccountTypeSummary> accountTypes, List<AccountResponse> accounts) {
+        this.customerId = customerId;
+        this.accountTypes = accountTypes;
+        this.accounts = accounts;
+    }
+
+    /**
+     * Folds aggregate rows of one customer into a summary, with the account types in name order.
+     *
+     * @param customerId the customer the rows belong to.
+     * @param rows the customer's rows; empty if the customer has no accounts.
+     * @param accounts the customer's accounts, or null if they are not to be included.
+     * @return the summary.
+     */
+    public static CustomerAccountSummary of(Long customerId, Collection<AccountTotals> rows, List<AccountResponse> accounts) {
+        Map<String, AccountTypeSummary> byType = new TreeMap<>();
+        for (AccountTotals row : rows) {
+            String type = row.accountType() == null ? "" : row.accountType();
+            byType.computeIfAbsent(type, AccountTypeSummary::new).add(row);
+        }
+        return new CustomerAccountSummary(customerId, new ArrayList<>(byType.values()), accounts);
+    }
+
+    // Getters
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public BigDecimal getTotalBalance() {
+        return Money.fromMinorUnits(accountTypes.stream().mapToLong(AccountTypeSummary::getBalanceMinor).sum());
+    }
+
+    public long getActiveAccounts() {
+        return accountTypes.stream().mapToLong(AccountTypeSummary::getActiveAccounts).sum();
+    }
+
+    public long getClosedAccounts() {
+        return accountTypes.stream().mapToLong(AccountTypeSummary::getClosedAccounts).sum();
+    }
+
+    public List<AccountTypeSummary> getAccountTypes() {
+        return accountTypes;
+    }
+
+    public List<AccountResponse> getAccounts() {
+        return accounts;
+    }
+}
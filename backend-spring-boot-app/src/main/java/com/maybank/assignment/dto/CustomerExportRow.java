@@ -0,0 +1,16 @@
+package com.maybank.assignment.dto;
+
+import java.util.Date;
+
+/**
+ * One customer as written by the customer export. Built by a JPQL constructor expression, so exported rows are
+ * never managed entities.
+ *
+ * @param id the customer id.
+ * @param name the customer's name.
+ * @param email the customer's email address.
+ * @param phone the customer's phone number, or null.
+ * @param dateOfBirth the customer's date of birth.
+ */
+public record CustomerExportRow(Long id, String name, String email, String phone, Date dateOfBirth) {
+}
@@ -0,0 +1,34 @@
+package com.maybank.assignment.dto;
+
+import com.maybank.assignment.model.Customer;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated customer listing.
+ * {@code nextCursor} is null when there are no further pages.
+ */
+public class CustomerPage {
+
+    private final List<Customer> customers;
+    private final String nextCursor;
+
+    // Constructor
+    public CustomerPage(List<Customer> customers, String nextCursor) {
+        this.customers = customers;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<Customer> getCustomers() {
+        return customers;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
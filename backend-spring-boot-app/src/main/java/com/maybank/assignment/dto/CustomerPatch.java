@@ -0,0 +1,63 @@
+package com.maybank.assignment.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Size;
+
+import java.util.Date;
+
+/**
+ * Partial update of a customer. Only the non-null fields are written; the constraints match {@code Customer}.
+ */
+public class CustomerPatch {
+
+    @Size(min = 2, max = 100, message = "Name must be between 2 and 100 characters")
+    private String name;
+
+    @Email(message = "Email should be valid")
+    private String email;
+
+    @Size(min = 10, max = 15, message = "Phone number must be between 10 and 15 characters")
+    private String phone;
+
+    private Date dateOfBirth;
+
+    // Default Constructor
+    public CustomerPatch() {}
+
+    public boolean isEmpty() {
+        return name == null && email == null && phone == null && dateOfBirth == null;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public Date getDateOfBirth() {
+        return dateOfBirth;
+    }
+
+    public void setDateOfBirth(Date dateOfBirth) {
+        this.dateOfBirth = dateOfBirth;
+    }
+}
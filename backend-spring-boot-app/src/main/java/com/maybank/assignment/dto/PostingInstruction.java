@@ -0,0 +1,52 @@
+package com.maybank.assignment.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One deposit or withdrawal in a batch posting request.
+ * Instructions are validated individually so that one bad item does not reject the whole batch.
+ */
+public class PostingInstruction {
+
+    public static final String DEPOSIT = "DEPOSIT";
+    public static final String WITHDRAW = "WITHDRAW";
+
+    private String type; // DEPOSIT or WITHDRAW
+    private String accountNumber;
+    private BigDecimal amount;
+
+    // Default Constructor
+    public PostingInstruction() {}
+
+    // Parameterized Constructor
+    public PostingInstruction(String type, String accountNumber, BigDecimal amount) {
+        this.type = type;
+        this.accountNumber = accountNumber;
+        this.amount = amount;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
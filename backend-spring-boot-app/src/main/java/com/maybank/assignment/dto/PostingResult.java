@@ -0,0 +1,64 @@
+package com.maybank.assignment.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of one instruction in a batch posting, reported in request order.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostingResult {
+
+    public static final String APPLIED = "APPLIED";
+    public static final String REJECTED = "REJECTED";
+    public static final String FAILED = "FAILED"; // Chunk could not be committed; safe to retry
+
+    private final int index;
+    private final String accountNumber;
+    private final String status;
+    private final BigDecimal balance;
+    private final String error;
+
+    // Constructor
+    public PostingResult(int index, String accountNumber, String status, BigDecimal balance, String error) {
+        this.index = index;
+        this.accountNumber = accountNumber;
+        this.status = status;
+        this.balance = balance;
+        this.error = error;
+    }
+
+    public static PostingResult applied(int index, String accountNumber, BigDecimal balance) {
+        return new PostingResult(index, accountNumber, APPLIED, balance, null);
+    }
+
+    public static PostingResult rejected(int index, String accountNumber, String error) {
+        return new PostingResult(index, accountNumber, REJECTED, null, error);
+    }
+
+    public static PostingResult failed(int index, String accountNumber, String error) {
+        return new PostingResult(index, accountNumber, FAILED, null, error);
+    }
+
+    // Getters
+    public int getIndex() {
+        return index;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
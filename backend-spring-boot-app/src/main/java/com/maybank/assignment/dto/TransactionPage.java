@@ -0,0 +1,34 @@
+package com.maybank.assignment.dto;
+
+import com.maybank.assignment.model.Transaction;
+
+import java.util.List;
+
+/**
+ * One page of an account statement, oldest entry first.
+ * {@code nextCursor} is null when there are no further entries in the requested time range.
+ */
+public class TransactionPage {
+
+    private final List<Transaction> transactions;
+    private final String nextCursor;
+
+    // Constructor
+    public TransactionPage(List<Transaction> transactions, String nextCursor) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,68 @@
+package com.maybank.assignment.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+public class TransferRequest {
+
+    // Client-generated, e.g. a UUID; retrying with the same reference never moves the money twice
+    @NotBlank(message = "Reference cannot be blank")
+    @Size(max = 64, message = "Reference must be at most 64 characters")
+    private String reference;
+
+    @NotBlank(message = "Source account number cannot be blank")
+    private String fromAccountNumber;
+
+    @NotBlank(message = "Destination account number cannot be blank")
+    private String toAccountNumber;
+
+    @NotNull(message = "Amount cannot be null")
+    private BigDecimal amount;
+
+    // Default Constructor
+    public TransferRequest() {}
+
+    // Parameterized Constructor
+    public TransferRequest(String reference, String fromAccountNumber, String toAccountNumber, BigDecimal amount) {
+        this.reference = reference;
+        this.fromAccountNumber = fromAccountNumber;
+        this.toAccountNumber = toAccountNumber;
+        this.amount = amount;
+    }
+
+    // Getters and Setters
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public String getFromAccountNumber() {
+        return fromAccountNumber;
+    }
+
+    public void setFromAccountNumber(String fromAccountNumber) {
+        this.fromAccountNumber = fromAccountNumber;
+    }
+
+    public String getToAccountNumber() {
+        return toAccountNumber;
+    }
+
+    public void setToAccountNumber(String toAccountNumber) {
+        this.toAccountNumber = toAccountNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
@@ -0,0 +1,67 @@
+package com.maybank.assignment.dto;
+
+import com.maybank.assignment.model.Money;
+import com.maybank.assignment.model.Transfer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Outcome of a transfer. A retried request gets the original outcome back with {@code replayed} set.
+ */
+public class TransferResponse {
+
+    private final String reference;
+    private final String fromAccountNumber;
+    private final String toAccountNumber;
+    private final BigDecimal amount;
+    private final BigDecimal fromBalance;
+    private final BigDecimal toBalance;
+    private final Instant createdAt;
+    private final boolean replayed;
+
+    // Constructor
+    public TransferResponse(Transfer transfer, String fromAccountNumber, String toAccountNumber, boolean replayed) {
+        this.reference = transfer.getReference();
+        this.fromAccountNumber = fromAccountNumber;
+        this.toAccountNumber = toAccountNumber;
+        this.amount = Money.fromMinorUnits(transfer.getAmountMinor());
+        this.fromBalance = Money.fromMinorUnits(transfer.getFromBalanceAfterMinor());
+        this.toBalance = Money.fromMinorUnits(transfer.getToBalanceAfterMinor());
+        this.createdAt = transfer.getCreatedAt();
+        this.replayed = replayed;
+    }
+
+    // Getters
+    public String getReference() {
+        return reference;
+    }
+
+    public String getFromAccountNumber() {
+        return fromAccountNumber;
+    }
+
+    public String getToAccountNumber() {
+        return toAccountNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public BigDecimal getFromBalance() {
+        return fromBalance;
+    }
+
+    public BigDecimal getToBalance() {
+        return toBalance;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public boolean isReplayed() {
+        return replayed;
+    }
+}
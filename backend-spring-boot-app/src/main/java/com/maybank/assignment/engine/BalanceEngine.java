@@ -0,0 +1,278 @@
+package com.maybank.assignment.engine;
+
+import com.maybank.assignment.exception.ResourceNotFoundException;
+import com.maybank.assignment.model.Account;
+import com.maybank.assignment.repository.AccountRepository;
+import com.maybank.assignment.service.AccountLookupCache;
+import com.maybank.assignment.service.AccountSummaryCache;
+import com.maybank.assignment.service.BankMetrics;
+import com.maybank.assignment.service.LedgerWatermark;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory engine for deposits and withdrawals, enabled with {@code bank.engine.mode=sharded}.
+ * <p>
+ * Accounts are sharded by the hash of their account number across {@code bank.engine.shards} single-writer
+ * {@link Shard}s. A deposit or withdrawal is applied to the shard's in-memory balance, made durable in the shard's
+ * journal together with the rest of its batch, and acknowledged; the database is updated behind it by the shard's
+ * {@link WriteBehind}. On startup every journal is replayed into the database from the shard's checkpoint before
+ * the engine accepts commands, so acknowledged entries survive a crash exactly once.
+ * <p>
+ * Reads that go to the database lag the engine: until the write-behind has caught up (about
+ * {@code bank.engine.flush-interval}), account lookups, statements, exports and customer summaries can miss an
+ * acknowledged deposit or withdrawal. The balance returned by {@link #deposit} and {@link #withdraw} is current.
+ * Customer summaries are invalidated once the entry is in the database, so the summary cache does not keep the
+ * stale balance beyond that, and statement cursors never move past an entry that is not written yet.
+ * <p>
+ * Paths that change accounts in a database transaction (transfers, batch postings, closing and archiving) call
+ * {@link #holdForTransaction} first, so the engine neither overwrites nor works from a stale copy of their changes.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.engine.mode", havingValue = "sharded")
+public class BalanceEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceEngine.class);
+    private static final Pattern JOURNAL_FILE = Pattern.compile("shard-(\\d+)\\.journal");
+    private static final int REPLAY_CHUNK = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountLookupCache accountLookupCache;
+
+    @Autowired
+    private AccountSummaryCache accountSummaryCache;
+
+    @Autowired
+    private BankMetrics bankMetrics;
+
+    @Autowired
+    private LedgerWatermark ledgerWatermark;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Shard[] shards;
+    private final Path journalDir;
+    private final boolean fsync;
+    private final int maxBatch;
+    private final int queueCapacity;
+    private final long maxJournalBytes;
+    private final Duration flushInterval;
+    private final Duration timeout;
+    private volatile boolean running;
+
+    public BalanceEngine(PlatformTransactionManager transactionManager,
+                         @Value("${bank.engine.shards:4}") int shards,
+                         @Value("${bank.engine.journal-dir:./data/journal}") Path journalDir,
+                         @Value("${bank.engine.fsync:true}") boolean fsync,
+                         @Value("${bank.engine.max-batch:1024}") int maxBatch,
+                         @Value("${bank.engine.queue-capacity:65536}") int queueCapacity,
+                         @Value("${bank.engine.journal-max-size:64MB}") DataSize maxJournalSize,
+                         @Value("${bank.engine.flush-interval:10ms}") Duration flushInterval,
+                         @Value("${bank.engine.timeout:5s}") Duration timeout) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("bank.engine.shards must be at least 1");
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shards = new Shard[shards];
+        this.journalDir = journalDir;
+        this.fsync = fsync;
+        this.maxBatch = maxBatch;
+        this.queueCapacity = queueCapacity;
+        this.maxJournalBytes = maxJournalSize.toBytes();
+        this.flushInterval = flushInterval;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Replays every journal in the journal directory into the database, then starts the shards.
+     * Journals of shards beyond the configured count (the count was lowered) are replayed and removed.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(journalDir);
+        for (int i = 0; i < shards.length; i++) {
+            Journal journal = new Journal(journalDir.resolve("shard-" + i + ".journal"), fsync);
+            long checkpoint = WriteBehind.readCheckpoint(jdbcTemplate, i);
+            WriteBehind writeBehind = new WriteBehind(i, jdbcTemplate, transactionTemplate, flushInterval, checkpoint);
+            long lastSeq = Math.max(checkpoint, replay(i, journal, writeBehind));
+            shards[i] = new Shard(i, journal, writeBehind, lastSeq, jdbcTemplate, bankMetrics, ledgerWatermark, maxBatch,
+                    queueCapacity, maxJournalBytes, accountSummaryCache::invalidateOwner);
+        }
+        try (Stream<Path> files = Files.list(journalDir)) {
+            for (Path path : files.toList()) {
+                Matcher matcher = JOURNAL_FILE.matcher(path.getFileName().toString());
+                int shard = matcher.matches() ? Integer.parseInt(matcher.group(1)) : -1;
+                if (shard >= shards.length) {
+                    try (Journal journal = new Journal(path, fsync)) {
+                        replay(shard, journal, new WriteBehind(shard, jdbcTemplate, transactionTemplate, flushInterval,
+                                WriteBehind.readCheckpoint(jdbcTemplate, shard)));
+                    }
+                    Files.delete(path);
+                }
+            }
+        }
+        for (Shard shard : shards) {
+            shard.start();
+        }
+        running = true;
+        log.info("Balance engine started with {} shards, journals in {}", shards.length, journalDir.toAbsolutePath());
+    }
+
+    /**
+     * Applies what is queued, writes every journaled entry to the database and stops the shards.
+     */
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (Shard shard : shards) {
+            shard.stop();
+        }
+    }
+
+    /**
+     * Deposits into an account. Returns once the deposit is durable in the journal.
+     *
+     * @param accountNumber the account number, which selects the shard.
+     * @param accountId the id the account number resolves to.
+     * @param amount the amount in minor units; must be positive.
+     * @return a snapshot of the account after the deposit.
+     */
+    public Account deposit(String accountNumber, long accountId, long amount) {
+        return await(accountNumber, shardFor(accountNumber).deposit(accountId, accountNumber, amount));
+    }
+
+    /**
+     * Withdraws from an account. Returns once the withdrawal is durable in the journal.
+     *
+     * @param accountNumber the account number, which selects the shard.
+     * @param accountId the id the account number resolves to.
+     * @param amount the amount in minor units; must be positive.
+     * @return a snapshot of the account after the withdrawal.
+     */
+    public Account withdraw(String accountNumber, long accountId, long amount) {
+        return await(accountNumber, shardFor(accountNumber).withdraw(accountId, accountNumber, amount));
+    }
+
+    /**
+     * Holds accounts for the current database transaction, which is about to change them outside the engine.
+     * Returns once the engine's entries for them are in the database; their engine commands wait until the
+     * transaction completes and then see its outcome. Account numbers that do not exist are ignored.
+     * Call it before the transaction reads or locks the accounts.
+     *
+     * @param accountNumbers the accounts the transaction changes.
+     */
+    public void holdForTransaction(Collection<String> accountNumbers) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Accounts can only be held for an active transaction");
+        }
+        Map<String, Long> held = new LinkedHashMap<>();
+        for (String accountNumber : accountNumbers) {
+            Long accountId = accountLookupCache.resolveId(accountNumber, accountRepository::findIdByAccountNumber);
+            if (accountId != null) {
+                held.put(accountNumber, accountId);
+            }
+        }
+        if (held.isEmpty()) {
+            return;
+        }
+        // Registered before holding, so the holds are released however the transaction ends
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                held.forEach((accountNumber, accountId) -> shardFor(accountNumber).release(accountId));
+            }
+        });
+        List<CompletableFuture<Object>> holds = new ArrayList<>(held.size());
+        held.forEach((accountNumber, accountId) -> holds.add(shardFor(accountNumber).hold(accountId)));
+        try {
+            CompletableFuture.allOf(holds.toArray(CompletableFuture[]::new)).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException("Timed out waiting for the balance engine to write accounts " + held.keySet(), ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while holding accounts " + held.keySet(), ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Could not hold accounts " + held.keySet(), ex.getCause());
+        }
+    }
+
+    private Shard shardFor(String accountNumber) {
+        if (!running) {
+            throw new IllegalStateException("Balance engine is not running");
+        }
+        return shards[Math.floorMod(accountNumber.hashCode(), shards.length)];
+    }
+
+    private Account await(String accountNumber, CompletableFuture<Object> reply) {
+        try {
+            return (Account) reply.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof ResourceNotFoundException notFound) {
+                accountLookupCache.invalidate(accountNumber);
+                throw notFound;
+            }
+            if (ex.getCause() instanceof RuntimeException rejected) {
+                throw rejected;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            // The command may still be applied; like a lost response, the client has to check before retrying
+            throw new IllegalStateException("Timed out waiting for the balance engine", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the balance engine", ex);
+        }
+    }
+
+    // Writes a journal's entries after the checkpoint to the database; returns the last sequence number in it
+    private long replay(int shard, Journal journal, WriteBehind writeBehind) throws IOException {
+        List<JournalRecord> records = journal.recover();
+        long checkpoint = writeBehind.persistedSeq();
+        long pending = records.stream().filter(record -> record.seq() > checkpoint).count();
+        if (pending > 0) {
+            log.info("Replaying {} journaled entries for shard {} from sequence {}", pending, shard, checkpoint);
+        }
+        for (int from = 0; from < records.size(); from += REPLAY_CHUNK) {
+            writeBehind.persist(records.subList(from, Math.min(records.size(), from + REPLAY_CHUNK)));
+        }
+        journal.truncate();
+        return records.isEmpty() ? 0L : records.get(records.size() - 1).seq();
+    }
+}
@@ -0,0 +1,211 @@
+package com.maybank.assignment.engine;
+
+import com.maybank.assignment.model.TransactionType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only file of {@link JournalRecord}s for one shard.
+ * <p>
+ * Records have a fixed size and end with a CRC32C of their contents. A record that was only partly written when the
+ * process died fails the check on recovery and ends the readable journal; it was never acknowledged, because
+ * acknowledgements are sent only after the batch containing it has been forced to disk.
+ * A batch whose write or force fails is cut off again, so a retry continues at the same position with the same
+ * sequence numbers; if even that fails, the journal refuses further appends.
+ * Sequence numbers in the file are consecutive, so the records after a given sequence number are the file's tail.
+ * Only the shard's event loop writes to the journal.
+ */
+final class Journal implements AutoCloseable {
+
+    static final int RECORD_SIZE = 8 + 8 + 1 + 8 + 8 + 8 + 4;
+
+    private static final byte DEPOSIT = 1;
+    private static final byte WITHDRAWAL = 2;
+
+    private final Path path;
+    private FileChannel channel;
+    private final boolean fsync;
+    private final CRC32C crc = new CRC32C();
+    private ByteBuffer buffer;
+    private IOException broken;
+    private long lastSeq; // Of the last record appended or recovered
+
+    Journal(Path path, boolean fsync) throws IOException {
+        this(path, FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE), fsync);
+    }
+
+    // Tests pass a channel that fails on demand
+    Journal(Path path, FileChannel channel, boolean fsync) {
+        this.path = path;
+        this.channel = channel;
+        this.fsync = fsync;
+        this.buffer = ByteBuffer.allocateDirect(RECORD_SIZE * 1024);
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /**
+     * Reads the intact records from the start of the file, stopping at the first torn or corrupt one,
+     * and positions the journal for appending right after them.
+     */
+    List<JournalRecord> recover() throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        long position = 0;
+        while (true) {
+            record.clear();
+            while (record.hasRemaining() && channel.read(record, position + record.position()) > 0) {
+                // Keep reading until the record is complete or the file ends
+            }
+            if (record.hasRemaining()) {
+                break;
+            }
+            record.flip();
+            JournalRecord decoded = decode(record);
+            if (decoded == null) {
+                break;
+            }
+            records.add(decoded);
+            position += RECORD_SIZE;
+        }
+        channel.truncate(position); // Drop a torn tail so new records follow the last intact one
+        channel.position(position);
+        lastSeq = records.isEmpty() ? 0L : records.get(records.size() - 1).seq();
+        return records;
+    }
+
+    /**
+     * Writes a batch of records with one write and, if configured, one force: the group commit.
+     * If that fails, the part of the batch that was written is removed before the exception is rethrown.
+     */
+    void append(List<JournalRecord> records) throws IOException {
+        if (broken != null) {
+            throw new IOException("Journal " + path + " could not be rolled back after a failed write", broken);
+        }
+        int bytes = records.size() * RECORD_SIZE;
+        if (buffer.capacity() < bytes) {
+            buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(bytes) << 1);
+        }
+        buffer.clear();
+        for (JournalRecord record : records) {
+            encode(record);
+        }
+        buffer.flip();
+        long start = channel.position();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException ex) {
+            rollBack(start, ex);
+            throw ex;
+        }
+        lastSeq = records.get(records.size() - 1).seq();
+    }
+
+    // Without this, the rejected records would be replayed on recovery, or a torn one would hide every later record
+    private void rollBack(long start, IOException failure) {
+        try {
+            channel.truncate(start);
+            channel.position(start);
+            channel.force(false);
+        } catch (IOException ex) {
+            failure.addSuppressed(ex);
+            broken = failure;
+        }
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    // Only called once every record in the file has been written to the database
+    void truncate() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Drops the records up to and including {@code persistedSeq}, which are in the database. The records after it
+     * are copied to a new file that then replaces the journal, so a crash leaves either the old or the new file,
+     * and both replay correctly from the checkpoint.
+     */
+    void compact(long persistedSeq) throws IOException {
+        long keep = Math.min(Math.max(0L, lastSeq - persistedSeq) * RECORD_SIZE, channel.size());
+        if (keep == 0) {
+            truncate();
+            return;
+        }
+        long from = channel.size() - keep;
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (long copied = 0; copied < keep; ) {
+                copied += channel.transferTo(from + copied, keep - copied, target);
+            }
+            if (fsync) {
+                target.force(false);
+            }
+        }
+        Files.move(compacted, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        channel.close();
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(keep);
+        } catch (IOException ex) {
+            broken = ex; // Appending to the replaced file would lose the records
+            throw ex;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void encode(JournalRecord record) {
+        int start = buffer.position();
+        buffer.putLong(record.seq())
+                .putLong(record.accountId())
+                .put(record.type() == TransactionType.DEPOSIT ? DEPOSIT : WITHDRAWAL)
+                .putLong(record.amountMinor())
+                .putLong(record.balanceAfterMinor())
+                .putLong(record.createdAtMicros());
+        crc.reset();
+        crc.update(buffer.duplicate().position(start).limit(buffer.position()));
+        buffer.putInt((int) crc.getValue());
+    }
+
+    private JournalRecord decode(ByteBuffer record) {
+        crc.reset();
+        crc.update(record.duplicate().limit(RECORD_SIZE - 4));
+        if (record.getInt(RECORD_SIZE - 4) != (int) crc.getValue()) {
+            return null;
+        }
+        long seq = record.getLong();
+        long accountId = record.getLong();
+        byte type = record.get();
+        if (type != DEPOSIT && type != WITHDRAWAL) {
+            return null;
+        }
+        return new JournalRecord(seq, accountId, type == DEPOSIT ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL,
+                record.getLong(), record.getLong(), record.getLong());
+    }
+}
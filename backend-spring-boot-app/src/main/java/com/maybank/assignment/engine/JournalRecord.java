@@ -0,0 +1,22 @@
+package com.maybank.assignment.engine;
+
+import com.maybank.assignment.model.TransactionType;
+
+/**
+ * One applied deposit or withdrawal, as written to a shard's journal.
+ *
+ * @param seq the shard-local sequence number; strictly increasing within a shard.
+ * @param accountId the account the amount was applied to.
+ * @param type {@link TransactionType#DEPOSIT} or {@link TransactionType#WITHDRAWAL}.
+ * @param amountMinor the amount in minor units; always positive.
+ * @param balanceAfterMinor the account balance after this entry.
+ * @param createdAtMicros when the entry was applied, in microseconds since the epoch.
+ */
+record JournalRecord(long seq, long accountId, TransactionType type, long amountMinor, long balanceAfterMinor,
+                     long createdAtMicros) {
+
+    // Signed change to the account balance
+    long delta() {
+        return type == TransactionType.DEPOSIT ? amountMinor : -amountMinor;
+    }
+}
@@ -0,0 +1,401 @@
+package com.maybank.assignment.engine;
+
+import com.maybank.assignment.exception.DomainException;
+import com.maybank.assignment.exception.ErrorCode;
+import com.maybank.assignment.exception.ResourceNotFoundException;
+import com.maybank.assignment.model.Account;
+import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.model.TransactionType;
+import com.maybank.assignment.service.BankMetrics;
+import com.maybank.assignment.service.LedgerWatermark;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * One single-writer event loop of the {@link BalanceEngine}.
+ * <p>
+ * Only the loop thread reads or writes the shard's account states, so commands are applied without locks. The loop
+ * takes whatever commands are queued (up to {@code maxBatch}), applies them in order, appends the resulting entries
+ * to the journal with one write and one force, and only then completes the callers' futures. The entries are then
+ * handed to the shard's {@link WriteBehind}; once it has written them, each changed account is passed to the
+ * shard's {@code onPersisted} listener. Each batch is an open {@link LedgerWatermark} writer until then.
+ * <p>
+ * An account can be held by a database transaction that changes it outside the engine (a transfer, a batch posting,
+ * closing or archiving it). While held, the shard parks the account's commands; when the hold is released, the
+ * account is reloaded from the database once the engine's own entries for it have been written, and the parked
+ * commands run. The loop never waits on its own queue: write-behind callbacks hand it ready reloads through a
+ * separate queue and only nudge it with a non-blocking offer.
+ * <p>
+ * Entries the database already has are dropped from the journal when it outgrows {@code maxJournalBytes}, and
+ * whenever the loop has been idle for {@link #IDLE_POLL_MILLIS} with everything written.
+ */
+final class Shard {
+
+    private static final Logger log = LoggerFactory.getLogger(Shard.class);
+
+    static final long IDLE_POLL_MILLIS = 100;
+
+    private enum Kind { DEPOSIT, WITHDRAW, HOLD, RELEASE, WAKE, STOP }
+
+    private record Command(Kind kind, long accountId, String accountNumber, long amount, CompletableFuture<Object> reply) {}
+
+    private static final Command WAKE = new Command(Kind.WAKE, 0L, null, 0L, new CompletableFuture<>());
+
+    // Loop-owned state of one account
+    private static final class AccountState {
+        final long id;
+        String accountNumber;
+        String accountType;
+        String status;
+        Long customerId;
+        long balanceMinor;
+        boolean loaded;
+        int holds;
+        boolean stale; // Released, but not yet reloaded from the database
+        ArrayDeque<Command> parked;
+
+        AccountState(long id) {
+            this.id = id;
+        }
+    }
+
+    private final int index;
+    private final Journal journal;
+    private final WriteBehind writeBehind;
+    private final JdbcTemplate jdbcTemplate;
+    private final BankMetrics bankMetrics;
+    private final LedgerWatermark ledgerWatermark;
+    private final int maxBatch;
+    private final long maxJournalBytes;
+    private final Consumer<Account> onPersisted;
+    private final BlockingQueue<Command> queue;
+    private final Queue<Long> reloads = new ConcurrentLinkedQueue<>(); // Accounts whose entries are written, to reload
+    private final LongObjectMap<AccountState> accounts = new LongObjectMap<>(1024);
+    private final Thread thread;
+    private long lastSeq;
+    private Runnable unwritten; // Deregisters the current batch from the ledger watermark
+
+    Shard(int index, Journal journal, WriteBehind writeBehind, long lastSeq, JdbcTemplate jdbcTemplate,
+          BankMetrics bankMetrics, LedgerWatermark ledgerWatermark, int maxBatch, int queueCapacity, long maxJournalBytes,
+          Consumer<Account> onPersisted) {
+        this.index = index;
+        this.journal = journal;
+        this.writeBehind = writeBehind;
+        this.lastSeq = lastSeq;
+        this.jdbcTemplate = jdbcTemplate;
+        this.bankMetrics = bankMetrics;
+        this.ledgerWatermark = ledgerWatermark;
+        this.maxBatch = maxBatch;
+        this.maxJournalBytes = maxJournalBytes;
+        this.onPersisted = onPersisted;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.thread = Thread.ofPlatform().name("balance-engine-" + index).daemon().unstarted(this::run);
+    }
+
+    void start() {
+        writeBehind.start();
+        thread.start();
+    }
+
+    CompletableFuture<Object> deposit(long accountId, String accountNumber, long amount) {
+        return submit(Kind.DEPOSIT, accountId, accountNumber, amount);
+    }
+
+    CompletableFuture<Object> withdraw(long accountId, String accountNumber, long amount) {
+        return submit(Kind.WITHDRAW, accountId, accountNumber, amount);
+    }
+
+    // Completes once the account's commands are parked and the engine's entries for it are in the database
+    CompletableFuture<Object> hold(long accountId) {
+        return submit(Kind.HOLD, accountId, null, 0L);
+    }
+
+    void release(long accountId) {
+        submit(Kind.RELEASE, accountId, null, 0L);
+    }
+
+    // Applies what is queued, then stops the loop and the write-behind; the journal stays for recovery
+    void stop() throws InterruptedException, IOException {
+        submit(Kind.STOP, 0L, null, 0L);
+        thread.join();
+        writeBehind.close();
+        journal.close();
+    }
+
+    private CompletableFuture<Object> submit(Kind kind, long accountId, String accountNumber, long amount) {
+        Command command = new Command(kind, accountId, accountNumber, amount, new CompletableFuture<>());
+        try {
+            queue.put(command); // A full queue pushes back on callers instead of growing without bound
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            command.reply().completeExceptionally(ex);
+        }
+        return command.reply();
+    }
+
+    private void run() {
+        List<Command> batch = new ArrayList<>(maxBatch);
+        List<JournalRecord> records = new ArrayList<>(maxBatch);
+        List<Command> applied = new ArrayList<>(maxBatch);
+        List<Object> results = new ArrayList<>(maxBatch);
+        boolean running = true;
+        while (running) {
+            Command first;
+            try {
+                first = reloads.isEmpty() ? queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS) : queue.poll();
+            } catch (InterruptedException ex) {
+                break;
+            }
+            if (first == null && reloads.isEmpty()) {
+                trimJournal(true);
+                continue;
+            }
+            if (first != null) {
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+            }
+            resumeReloaded(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                Command command = batch.get(i);
+                if (command.kind() == Kind.WAKE) {
+                    continue;
+                }
+                if (command.kind() == Kind.STOP) {
+                    running = false;
+                    command.reply().complete(null);
+                    continue;
+                }
+                try {
+                    dispatch(command, records, applied, results);
+                } catch (RuntimeException ex) {
+                    command.reply().completeExceptionally(ex);
+                }
+            }
+            commit(records, applied, results);
+            trimJournal(false);
+            batch.clear();
+            records.clear();
+            applied.clear();
+            results.clear();
+        }
+    }
+
+    private void dispatch(Command command, List<JournalRecord> records, List<Command> applied, List<Object> results) {
+        switch (command.kind()) {
+            case DEPOSIT, WITHDRAW -> {
+                AccountState account = accounts.get(command.accountId());
+                if (account != null && (account.holds > 0 || account.stale)) {
+                    account.parked.add(command);
+                    return;
+                }
+                Object result = apply(command, load(command.accountId(), command.accountNumber(), account), records);
+                if (result instanceof RuntimeException rejected) {
+                    command.reply().completeExceptionally(rejected);
+                } else {
+                    applied.add(command);
+                    results.add(result);
+                }
+            }
+            case HOLD -> {
+                state(command.accountId()).holds++;
+                // Also covers this batch's entries, which are journaled and handed to the write-behind at its end
+                writeBehind.whenPersisted(lastSeq + records.size()).thenRun(() -> command.reply().complete(null));
+            }
+            case RELEASE -> {
+                AccountState account = accounts.get(command.accountId());
+                if (account == null || account.holds == 0) {
+                    return;
+                }
+                if (--account.holds == 0) {
+                    scheduleReload(account, lastSeq + records.size());
+                }
+            }
+            default -> throw new IllegalStateException("Unexpected command " + command.kind());
+        }
+    }
+
+    // Returns the updated account view, or the exception rejecting the command
+    private Object apply(Command command, AccountState account, List<JournalRecord> records) {
+        long amount = command.amount();
+        TransactionType type;
+        if (command.kind() == Kind.DEPOSIT) {
+            if (!"Active".equals(account.status)) {
+                bankMetrics.accountClosed();
+                return new DomainException(ErrorCode.ACCOUNT_CLOSED, "Account with number '" + account.accountNumber + "' is closed");
+            }
+            account.balanceMinor += amount;
+            type = TransactionType.DEPOSIT;
+        } else {
+            if (!"Active".equals(account.status)) {
+                bankMetrics.accountClosed();
+                return new DomainException(ErrorCode.ACCOUNT_CLOSED, "Account with number '" + account.accountNumber + "' is closed");
+            }
+            if (account.balanceMinor < amount) {
+                bankMetrics.insufficientBalance();
+                return ErrorCode.INSUFFICIENT_BALANCE.exception();
+            }
+            account.balanceMinor -= amount;
+            type = TransactionType.WITHDRAWAL;
+        }
+        if (records.isEmpty()) {
+            unwritten = ledgerWatermark.open(); // Before the batch's first entry is stamped
+        }
+        long seq = lastSeq + records.size() + 1;
+        records.add(new JournalRecord(seq, account.id, type, amount, account.balanceMinor,
+                ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now())));
+        return view(account);
+    }
+
+    // Group commit: one write and one force for the whole batch, then the replies
+    private void commit(List<JournalRecord> records, List<Command> applied, List<Object> results) {
+        if (!records.isEmpty()) {
+            try {
+                journal.append(records);
+            } catch (IOException ex) {
+                // Not durable, so not acknowledged. The journal has cut the batch off again, so lastSeq stays and the
+                // next batch reuses its sequence numbers. The in-memory balances are ahead of the journal: reload them
+                // from the database once the entries that did reach the journal have been written there
+                log.error("Journal write for shard {} failed; rejecting {} entries", index, records.size(), ex);
+                for (JournalRecord record : records) {
+                    AccountState account = accounts.get(record.accountId());
+                    if (!account.stale) {
+                        scheduleReload(account, lastSeq);
+                    }
+                }
+                unwritten.run();
+                UncheckedIOException failure = new UncheckedIOException("Balance journal is unavailable", ex);
+                applied.forEach(command -> command.reply().completeExceptionally(failure));
+                return;
+            }
+            lastSeq = records.get(records.size() - 1).seq();
+            writeBehind.submit(new ArrayList<>(records));
+            List<Object> persisted = new ArrayList<>(results);
+            Runnable written = unwritten;
+            writeBehind.whenPersisted(lastSeq).thenRun(() -> {
+                written.run();
+                persisted.forEach(view -> onPersisted.accept((Account) view));
+            });
+        }
+        for (int i = 0; i < applied.size(); i++) {
+            Command command = applied.get(i);
+            if (command.kind() == Kind.DEPOSIT) {
+                bankMetrics.deposit();
+            } else {
+                bankMetrics.withdrawal();
+            }
+            command.reply().complete(results.get(i));
+        }
+    }
+
+    // Drops the entries the database has. Over the limit, only the unwritten tail is kept, unless that is most of the
+    // file (the write-behind is stuck); when idle, an empty journal makes the next recovery free
+    private void trimJournal(boolean idle) {
+        try {
+            long size = journal.size();
+            long persisted = writeBehind.persistedSeq();
+            if (size > maxJournalBytes && (lastSeq - persisted) * Journal.RECORD_SIZE <= size / 2) {
+                journal.compact(persisted);
+            } else if (idle && size > 0 && persisted >= lastSeq) {
+                journal.truncate();
+            }
+        } catch (IOException ex) {
+            log.warn("Could not trim journal {}", journal.path(), ex);
+        }
+    }
+
+    // Parks the account's commands until the database has every entry up to upTo, then reloads it from there.
+    // The callback may run right here on the loop, so it must not block on the queue only this loop drains
+    private void scheduleReload(AccountState account, long upTo) {
+        account.stale = true;
+        long accountId = account.id;
+        writeBehind.whenPersisted(upTo).thenRun(() -> {
+            reloads.add(accountId);
+            queue.offer(WAKE); // If the queue is full, the loop has work anyway and picks the reload up with it
+        });
+    }
+
+    // Parked commands go first: everything still queued for their accounts was submitted after them
+    private void resumeReloaded(List<Command> batch) {
+        List<Command> resumed = new ArrayList<>();
+        Long accountId;
+        while ((accountId = reloads.poll()) != null) {
+            AccountState account = accounts.get(accountId);
+            if (account == null || !account.stale) {
+                continue;
+            }
+            account.stale = false;
+            account.loaded = false; // May have changed in the database in the meantime
+            if (account.holds == 0) {
+                resumed.addAll(account.parked);
+                account.parked.clear();
+            }
+        }
+        batch.addAll(0, resumed);
+    }
+
+    private AccountState state(long accountId) {
+        AccountState account = accounts.get(accountId);
+        if (account == null) {
+            account = new AccountState(accountId);
+            account.parked = new ArrayDeque<>();
+            accounts.put(accountId, account);
+        }
+        return account;
+    }
+
+    // First use, or first use after a hold: read the row the engine's own entries have already been written to
+    private AccountState load(long accountId, String accountNumber, AccountState account) {
+        if (account != null && account.loaded) {
+            return account;
+        }
+        List<AccountState> rows = jdbcTemplate.query(
+                "SELECT account_number, account_type, status, customer_id, balance_minor FROM account WHERE id = ?",
+                (rs, rowNum) -> {
+                    AccountState loaded = account != null ? account : state(accountId);
+                    loaded.accountNumber = rs.getString(1);
+                    loaded.accountType = rs.getString(2);
+                    loaded.status = rs.getString(3);
+                    long customerId = rs.getLong(4);
+                    loaded.customerId = rs.wasNull() ? null : customerId;
+                    loaded.balanceMinor = rs.getLong(5);
+                    loaded.loaded = true;
+                    return loaded;
+                }, accountId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Account with number '" + accountNumber + "' not found");
+        }
+        return rows.get(0);
+    }
+
+    // Detached snapshot for the caller; the loop keeps mutating its own state
+    private static Account view(AccountState state) {
+        Account account = new Account();
+        account.setId(state.id);
+        account.setAccountNumber(state.accountNumber);
+        account.setAccountType(state.accountType);
+        account.setStatus(state.status);
+        account.setBalanceMinor(state.balanceMinor);
+        if (state.customerId != null) {
+            Customer customer = new Customer();
+            customer.setId(state.customerId);
+            account.setCustomer(customer);
+        }
+        return account;
+    }
+}
@@ -0,0 +1,188 @@
+package com.maybank.assignment.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes one shard's journaled entries to the database in the background.
+ * <p>
+ * Each flush is one transaction: one batched {@code UPDATE} per account adding the net change to its balance,
+ * one batched {@code INSERT} of the ledger entries, and the shard's checkpoint (the last sequence number written).
+ * Because the checkpoint commits atomically with the entries, replaying the journal after a crash writes every
+ * entry exactly once. Flushes are at least {@code flushInterval} apart, so a busy shard writes large batches
+ * instead of one transaction per entry.
+ */
+final class WriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehind.class);
+
+    private static final String UPDATE_BALANCE =
+            "UPDATE account SET balance_minor = balance_minor + ?, version = version + 1 WHERE id = ?";
+    private static final String INSERT_ENTRY =
+            "INSERT INTO account_transaction (id, account_id, type, amount_minor, balance_after_minor, created_at) " +
+                    "VALUES (NEXT VALUE FOR account_transaction_seq, ?, ?, ?, ?, ?)";
+    private static final String SAVE_CHECKPOINT = "MERGE INTO engine_checkpoint (shard, last_seq) KEY (shard) VALUES (?, ?)";
+
+    private final int shard;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long flushIntervalNanos;
+    private final LinkedBlockingQueue<List<JournalRecord>> queue = new LinkedBlockingQueue<>();
+    private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private volatile long persistedSeq;
+    private volatile boolean running = true;
+
+    private record Waiter(long seq, CompletableFuture<Void> future) {}
+
+    WriteBehind(int shard, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, Duration flushInterval,
+                long persistedSeq) {
+        this.shard = shard;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.persistedSeq = persistedSeq;
+        this.thread = Thread.ofPlatform().name("balance-writer-" + shard).daemon().unstarted(this::run);
+    }
+
+    /**
+     * Reads a shard's checkpoint: the last sequence number whose entry is in the database, or 0.
+     */
+    static long readCheckpoint(JdbcTemplate jdbcTemplate, int shard) {
+        List<Long> seq = jdbcTemplate.queryForList("SELECT last_seq FROM engine_checkpoint WHERE shard = ?", Long.class, shard);
+        return seq.isEmpty() ? 0L : seq.get(0);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    // Called by the shard loop after the records are durable in the journal
+    void submit(List<JournalRecord> records) {
+        queue.add(records);
+    }
+
+    long persistedSeq() {
+        return persistedSeq;
+    }
+
+    /**
+     * Completes once every entry up to and including {@code seq} is in the database.
+     */
+    CompletableFuture<Void> whenPersisted(long seq) {
+        if (persistedSeq >= seq) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        waiters.add(new Waiter(seq, future));
+        if (persistedSeq >= seq) {
+            future.complete(null); // The writer may have finished a flush while the waiter was being added
+        }
+        return future;
+    }
+
+    /**
+     * Writes entries in one transaction and advances the checkpoint. Used by the writer thread and by recovery.
+     */
+    void persist(List<JournalRecord> records) {
+        Map<Long, Long> deltas = new TreeMap<>(); // Ascending ids: rows are locked in a consistent order
+        List<Object[]> entries = new ArrayList<>(records.size());
+        long lastSeq = persistedSeq;
+        for (JournalRecord record : records) {
+            if (record.seq() <= lastSeq) {
+                continue; // Already written: recovery may see entries from before the checkpoint
+            }
+            lastSeq = record.seq();
+            deltas.merge(record.accountId(), record.delta(), Long::sum);
+            entries.add(new Object[]{record.accountId(), record.type().name(), record.amountMinor(), record.balanceAfterMinor(),
+                    Instant.EPOCH.plus(record.createdAtMicros(), ChronoUnit.MICROS).atOffset(ZoneOffset.UTC)});
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<Object[]> balances = new ArrayList<>(deltas.size());
+        deltas.forEach((accountId, delta) -> balances.add(new Object[]{delta, accountId}));
+        long checkpoint = lastSeq;
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPDATE_BALANCE, balances);
+            jdbcTemplate.batchUpdate(INSERT_ENTRY, entries);
+            jdbcTemplate.update(SAVE_CHECKPOINT, shard, checkpoint);
+        });
+        persistedSeq = checkpoint;
+        waiters.removeIf(waiter -> {
+            if (waiter.seq() > checkpoint) {
+                return false;
+            }
+            waiter.future().complete(null);
+            return true;
+        });
+    }
+
+    // Not interrupted: an interrupt during JDBC could close the database's file channel
+    void close() throws InterruptedException {
+        running = false;
+        thread.join();
+    }
+
+    private void run() {
+        List<JournalRecord> pending = new ArrayList<>();
+        List<List<JournalRecord>> drained = new ArrayList<>();
+        while (running || !queue.isEmpty() || !pending.isEmpty()) {
+            long started = System.nanoTime();
+            if (pending.isEmpty() && running) {
+                List<JournalRecord> first;
+                try {
+                    first = queue.poll(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (first == null) {
+                    continue;
+                }
+                pending.addAll(first);
+            }
+            queue.drainTo(drained);
+            drained.forEach(pending::addAll);
+            drained.clear();
+            try {
+                persist(pending);
+                pending.clear();
+            } catch (RuntimeException ex) {
+                // Nothing was written; the entries stay pending (and in the journal) and are retried
+                log.warn("Write-behind flush of {} entries for shard {} failed; retrying", pending.size(), shard, ex);
+                if (!running) {
+                    return; // Recovery replays them from the journal on the next start
+                }
+            }
+            pauseUntil(started + flushIntervalNanos);
+        }
+    }
+
+    private void pauseUntil(long deadline) {
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(100)));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.maybank.assignment.exception;
+
+public class ConflictException extends DomainException {
+
+    public ConflictException(String message) {
+        super(ErrorCode.CONFLICT, message);
+    }
+}
@@ -0,0 +1,26 @@
+package com.maybank.assignment.exception;
+
+/**
+ * A request rejected for a business reason, identified by its {@link ErrorCode}.
+ * <p>
+ * These are expected outcomes rather than faults, so no stack trace is captured: filling one in is most of the
+ * cost of throwing, and the code and message already say what went wrong. Throw {@link ErrorCode#exception()}
+ * when the default message fits; it is preallocated.
+ */
+public class DomainException extends RuntimeException {
+
+    private final ErrorCode code;
+
+    public DomainException(ErrorCode code) {
+        this(code, code.getMessage());
+    }
+
+    public DomainException(ErrorCode code, String message) {
+        super(message, null, false, false);
+        this.code = code;
+    }
+
+    public ErrorCode getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,72 @@
+package com.maybank.assignment.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Machine-readable reason of an error response, with its HTTP status and default message.
+ * <p>
+ * Each code holds a preallocated {@link DomainException} and {@link ErrorResponse} carrying the default message,
+ * so rejecting a request for a routine reason (such as an insufficient balance) allocates neither.
+ */
+public enum ErrorCode {
+
+    VALIDATION_FAILED(HttpStatus.BAD_REQUEST, "Request validation failed."),
+    INVALID_REQUEST(HttpStatus.BAD_REQUEST, "The request is invalid."),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "Invalid cursor"),
+    INVALID_AMOUNT(HttpStatus.BAD_REQUEST, "Amount must be greater than zero."),
+    INSUFFICIENT_BALANCE(HttpStatus.BAD_REQUEST, "Insufficient balance."),
+    ACCOUNT_CLOSED(HttpStatus.BAD_REQUEST, "Account is closed."),
+    SAME_ACCOUNT_TRANSFER(HttpStatus.BAD_REQUEST, "Cannot transfer to the same account."),
+    TRANSFER_REFERENCE_REUSED(HttpStatus.BAD_REQUEST, "Transfer reference was already used for a different transfer."),
+    DUPLICATE_EMAIL(HttpStatus.BAD_REQUEST, "A customer with this email already exists."),
+    IDEMPOTENCY_KEY_INVALID(HttpStatus.BAD_REQUEST, "Invalid Idempotency-Key."),
+    NOT_FOUND(HttpStatus.NOT_FOUND, "Resource not found."),
+    CUSTOMER_NOT_FOUND(HttpStatus.NOT_FOUND, "Customer not found."),
+    ACCOUNT_NOT_FOUND(HttpStatus.NOT_FOUND, "Account not found."),
+    EXPORT_NOT_FOUND(HttpStatus.NOT_FOUND, "Export not found."),
+    IMPORT_NOT_FOUND(HttpStatus.NOT_FOUND, "Import not found."),
+    CONFLICT(HttpStatus.CONFLICT, "The request conflicts with the current state of the resource."),
+    CONCURRENT_MODIFICATION(HttpStatus.CONFLICT, "The resource was modified concurrently. Please retry."),
+    IDEMPOTENCY_KEY_IN_PROGRESS(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still being processed."),
+    PRECONDITION_FAILED(HttpStatus.PRECONDITION_FAILED, "The resource was modified by someone else. Reload and retry."),
+    PAYLOAD_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE, "The request body is too large."),
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key was already used for a different request."),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred."),
+    SERVICE_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "The service is busy. Please retry shortly."),
+    TOO_MANY_JOBS(HttpStatus.SERVICE_UNAVAILABLE, "Too many jobs are queued. Please retry later.");
+
+    private final HttpStatus status;
+    private final String message;
+    private final DomainException exception;
+    private final ErrorResponse response;
+
+    ErrorCode(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+        this.exception = new DomainException(this, message);
+        this.response = new ErrorResponse(this, message);
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return the shared exception for this code with its default message; safe to throw from any thread, as it
+     * records no stack trace and no suppressed exceptions.
+     */
+    public DomainException exception() {
+        return exception;
+    }
+
+    /**
+     * @return the shared response body for this code with its default message.
+     */
+    public ErrorResponse response() {
+        return response;
+    }
+}
@@ -1,33 +1,77 @@
 package com.maybank.assignment.exception;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Body of every error response. Immutable, so the default response of each {@link ErrorCode} can be shared.
+ */
 public class ErrorResponse {
 
-    private int status;
-    private String message;
+    private final int status;
+    private final ErrorCode code;
+    private final String message;
+    private final List<FieldViolation> fieldErrors;
 
+    /**
+     * One rejected request field.
+     *
+     * @param field the field's path in the request body.
+     * @param message why its value was rejected.
+     */
+    public record FieldViolation(String field, String message) {}
 
     // Constructor
-    public ErrorResponse(int status, String message) {
-        this.status = status;
+    public ErrorResponse(ErrorCode code, String message) {
+        this(code, message, List.of());
+    }
+
+    public ErrorResponse(ErrorCode code, String message, List<FieldViolation> fieldErrors) {
+        this.status = code.getStatus().value();
+        this.code = code;
         this.message = message;
+        this.fieldErrors = fieldErrors;
     }
 
-    // Getters and Setters
+    /**
+     * Builds the {@link ErrorCode#VALIDATION_FAILED} response for a rejected request body, one entry per violation.
+     *
+     * @param result the binding result holding the violations.
+     * @return the response body.
+     */
+    public static ErrorResponse validationFailed(BindingResult result) {
+        List<FieldError> fieldErrors = result.getFieldErrors();
+        List<ObjectError> globalErrors = result.getGlobalErrors();
+        List<FieldViolation> violations = new ArrayList<>(fieldErrors.size() + globalErrors.size());
+        for (FieldError error : fieldErrors) {
+            violations.add(new FieldViolation(error.getField(), error.getDefaultMessage()));
+        }
+        for (ObjectError error : globalErrors) {
+            violations.add(new FieldViolation(error.getObjectName(), error.getDefaultMessage()));
+        }
+        return new ErrorResponse(ErrorCode.VALIDATION_FAILED, ErrorCode.VALIDATION_FAILED.getMessage(), violations);
+    }
+
+    // Getters
     public int getStatus() {
         return status;
     }
 
-    public void setStatus(int status) {
-        this.status = status;
+    public ErrorCode getCode() {
+        return code;
     }
 
     public String getMessage() {
         return message;
     }
 
-    public void setMessage(String message) {
-        this.message = message;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public List<FieldViolation> getFieldErrors() {
+        return fieldErrors;
     }
-
-
 }
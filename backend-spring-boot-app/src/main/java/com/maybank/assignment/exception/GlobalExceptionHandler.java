@@ -1,44 +1,69 @@
 package com.maybank.assignment.exception;
 
-import org.springframework.http.HttpStatus;
+import com.maybank.assignment.service.BankMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.BindingResult;
-import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    @Autowired
+    private BankMetrics bankMetrics;
+
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<?> handleResourceNotFoundException(ResourceNotFoundException ex) {
-        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage());
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        bankMetrics.notFound();
+        return respond(ex);
+    }
+
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ErrorResponse> handleDomainException(DomainException ex) {
+        return respond(ex);
     }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        BindingResult result = ex.getBindingResult();
-        StringBuilder errorMessage = new StringBuilder();
-        for (FieldError error : result.getFieldErrors()) {
-            errorMessage.append(error.getField()).append(": ").append(error.getDefaultMessage()).append(" ");
-        }
+        return ResponseEntity.badRequest().body(ErrorResponse.validationFailed(ex.getBindingResult()));
+    }
 
-        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), errorMessage.toString());
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrentModification(OptimisticLockingFailureException ex) {
+        return respond(ErrorCode.CONCURRENT_MODIFICATION);
+    }
+
+    // A bounded background queue (such as the export queue) is full
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecution(RejectedExecutionException ex) {
+        ErrorCode code = ErrorCode.TOO_MANY_JOBS;
+        return ResponseEntity.status(code.getStatus()).header(HttpHeaders.RETRY_AFTER, "60").body(code.response());
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
-        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), "An unexpected error occurred.");
-        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+        return respond(ErrorCode.INTERNAL_ERROR);
     }
+
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<Object> handleBadRequest(IllegalArgumentException ex) {
-        ErrorResponse errorResponse = new ErrorResponse(
-                HttpStatus.BAD_REQUEST.value(),
-                ex.getMessage()
-        );
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ErrorResponse> handleBadRequest(IllegalArgumentException ex) {
+        ErrorCode code = ErrorCode.INVALID_REQUEST;
+        return ResponseEntity.status(code.getStatus()).body(new ErrorResponse(code, ex.getMessage()));
+    }
+
+    // The preallocated exceptions carry their code's default message, so their shared body can be reused as well
+    private static ResponseEntity<ErrorResponse> respond(DomainException ex) {
+        ErrorCode code = ex.getCode();
+        ErrorResponse body = ex == code.exception() ? code.response() : new ErrorResponse(code, ex.getMessage());
+        return ResponseEntity.status(code.getStatus()).body(body);
+    }
+
+    private static ResponseEntity<ErrorResponse> respond(ErrorCode code) {
+        return ResponseEntity.status(code.getStatus()).body(code.response());
     }
 }
@@ -0,0 +1,8 @@
+package com.maybank.assignment.exception;
+
+public class PreconditionFailedException extends DomainException {
+
+    public PreconditionFailedException(String message) {
+        super(ErrorCode.PRECONDITION_FAILED, message);
+    }
+}
@@ -1,8 +1,8 @@
 package com.maybank.assignment.exception;
 
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends DomainException {
 
-    public ResourceNotFoundException(String message) {
-        super(message);
+    public ResourceNotFoundException(ErrorCode code, String message) {
+        super(code, message);
     }
-}
\ No newline at end of file
+}
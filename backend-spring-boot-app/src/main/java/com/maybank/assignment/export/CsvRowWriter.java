@@ -0,0 +1,53 @@
+package com.maybank.assignment.export;
+
+import com.maybank.assignment.dto.AccountResponse;
+import com.maybank.assignment.dto.CustomerExportRow;
+import com.maybank.assignment.util.Csv;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * RFC 4180 CSV: a header line, then one line per row. Fields containing a comma, quote or line break are quoted.
+ * Dates are written as ISO-8601 instants and balances as plain decimals.
+ */
+final class CsvRowWriter implements RowWriter {
+
+    private final Writer out;
+
+    CsvRowWriter(OutputStream stream, ExportDataset dataset) throws IOException {
+        this.out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 64 * 1024);
+        writeLine(dataset.columns().toArray());
+    }
+
+    @Override
+    public void write(Object row) throws IOException {
+        switch (row) {
+            case CustomerExportRow customer -> writeLine(customer.id(), customer.name(), customer.email(), customer.phone(),
+                    customer.dateOfBirth() == null ? null : Instant.ofEpochMilli(customer.dateOfBirth().getTime()));
+            case AccountResponse account -> writeLine(account.getAccountNumber(), account.getBalance().toPlainString(),
+                    account.getAccountType(), account.getStatus(), account.getCustomerId());
+            default -> throw new IllegalArgumentException("Cannot export " + row.getClass().getSimpleName());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeLine(Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            Csv.writeField(out, fields[i] == null ? null : fields[i].toString());
+        }
+        out.write("\r\n");
+    }
+}
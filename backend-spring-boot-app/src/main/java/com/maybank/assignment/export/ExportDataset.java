@@ -0,0 +1,36 @@
+package com.maybank.assignment.export;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * What an export contains. The column names are the CSV header and the field names of the NDJSON objects.
+ */
+public enum ExportDataset {
+
+    CUSTOMERS(List.of("id", "name", "email", "phone", "dateOfBirth")),
+    ACCOUNTS(List.of("accountNumber", "balance", "accountType", "status", "customerId"));
+
+    private final List<String> columns;
+
+    ExportDataset(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public List<String> columns() {
+        return columns;
+    }
+
+    public static ExportDataset parse(String value) {
+        for (ExportDataset dataset : values()) {
+            if (dataset.name().equalsIgnoreCase(value)) {
+                return dataset;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export dataset '" + value + "'; expected customers or accounts");
+    }
+
+    public String fileName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,29 @@
+package com.maybank.assignment.export;
+
+/**
+ * File format of an export. Every export is gzip-compressed on top of its format.
+ */
+public enum ExportFormat {
+
+    CSV("csv"),
+    NDJSON("ndjson");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static ExportFormat parse(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export format '" + value + "'; expected csv or ndjson");
+    }
+}
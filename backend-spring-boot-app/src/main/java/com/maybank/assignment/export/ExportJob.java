@@ -0,0 +1,128 @@
+package com.maybank.assignment.export;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Status of one background export, as returned by the status endpoint.
+ * Only the job's worker thread updates it; readers see the latest published progress.
+ */
+public final class ExportJob {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private final String id;
+    private final ExportDataset dataset;
+    private final ExportFormat format;
+    private final Path file;
+    private final Instant createdAt = Instant.now();
+    private volatile State state = State.QUEUED;
+    private volatile long rows;
+    private volatile long bytes;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile boolean cancelled;
+
+    ExportJob(String id, ExportDataset dataset, ExportFormat format, Path file) {
+        this.id = id;
+        this.dataset = dataset;
+        this.format = format;
+        this.file = file;
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public ExportDataset getDataset() {
+        return dataset;
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    // Compressed bytes written so far
+    public long getBytes() {
+        return bytes;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public long getRowsPerSecond() {
+        Instant started = startedAt;
+        if (started == null) {
+            return 0L;
+        }
+        Instant finished = finishedAt;
+        long millis = Duration.between(started, finished != null ? finished : Instant.now()).toMillis();
+        return millis == 0 ? rows : rows * 1000 / millis;
+    }
+
+    public String getFileName() {
+        return dataset.fileName() + "-" + id + "." + format.extension() + ".gz";
+    }
+
+    @JsonIgnore
+    public Path getFile() {
+        return file;
+    }
+
+    @JsonIgnore
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    // Lifecycle, driven by ExportService
+    void cancel() {
+        cancelled = true;
+    }
+
+    void started() {
+        startedAt = Instant.now();
+        state = State.RUNNING;
+    }
+
+    void progress(long rows, long bytes) {
+        this.rows = rows;
+        this.bytes = bytes;
+    }
+
+    void finished(State state, String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.state = state;
+    }
+}
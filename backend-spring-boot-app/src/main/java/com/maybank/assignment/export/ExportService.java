@@ -0,0 +1,249 @@
+package com.maybank.assignment.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maybank.assignment.exception.ConflictException;
+import com.maybank.assignment.exception.ErrorCode;
+import com.maybank.assignment.exception.ResourceNotFoundException;
+import com.maybank.assignment.repository.AccountRepository;
+import com.maybank.assignment.repository.CustomerRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs exports of the customer and account tables as background jobs.
+ * <p>
+ * A job reads its table through a forward-only database cursor of projections in one read-only transaction and
+ * writes each row straight into a gzip stream over a {@link FileChannel}, so memory use is the same for a hundred
+ * rows as for a hundred million. The file is written under a temporary name and renamed when complete; finished
+ * jobs and their files are kept for {@code bank.export.retention}. At most {@code bank.export.max-concurrent} jobs
+ * run at a time, each holding one database connection; further jobs queue up to {@code bank.export.queue-capacity}.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportService.class);
+    private static final Pattern EXPORT_FILE = Pattern.compile("[0-9a-f-]{36}\\.(csv|ndjson)\\.gz(\\.part)?");
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PROGRESS_INTERVAL = 1024;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Path directory;
+    private final Duration retention;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    public ExportService(PlatformTransactionManager transactionManager,
+                         @Value("${bank.export.dir:${java.io.tmpdir}/bank-exports}") Path directory,
+                         @Value("${bank.export.max-concurrent:2}") int maxConcurrent,
+                         @Value("${bank.export.queue-capacity:16}") int queueCapacity,
+                         @Value("${bank.export.retention:1h}") Duration retention) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.directory = directory;
+        this.retention = retention;
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("export-", 0).daemon().factory());
+    }
+
+    /**
+     * Creates the export directory and removes files left by exports of a previous run, which can no longer be
+     * downloaded because jobs are only tracked in memory.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.toList()) {
+                if (EXPORT_FILE.matcher(path.getFileName().toString()).matches()) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    // Running jobs stop at their next row; they are not interrupted, as an interrupt could close the database's files
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        jobs.values().forEach(ExportJob::cancel);
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Exports still running at shutdown");
+        }
+    }
+
+    /**
+     * Queues an export.
+     *
+     * @param dataset {@code customers} or {@code accounts}.
+     * @param format {@code csv} or {@code ndjson}.
+     * @return the queued job.
+     * @throws RejectedExecutionException if the export queue is full.
+     */
+    public ExportJob submit(String dataset, String format) {
+        ExportDataset exportDataset = ExportDataset.parse(dataset);
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        String id = UUID.randomUUID().toString();
+        ExportJob job = new ExportJob(id, exportDataset, exportFormat,
+                directory.resolve(id + "." + exportFormat.extension() + ".gz"));
+        jobs.put(id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(id);
+            throw ex;
+        }
+        return job;
+    }
+
+    public ExportJob getJob(String id) {
+        ExportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException(ErrorCode.EXPORT_NOT_FOUND, "Export '" + id + "' not found");
+        }
+        return job;
+    }
+
+    // The job of a finished export whose file can be downloaded
+    public ExportJob getCompletedJob(String id) {
+        ExportJob job = getJob(id);
+        if (job.getState() != ExportJob.State.COMPLETED) {
+            throw new ConflictException("Export '" + id + "' is " + job.getState().name().toLowerCase(Locale.ROOT) + ", not completed");
+        }
+        return job;
+    }
+
+    // Cancels the export if it is still queued or running, and deletes it with its file
+    public void deleteJob(String id) throws IOException {
+        ExportJob job = getJob(id);
+        jobs.remove(id);
+        job.cancel();
+        Files.deleteIfExists(job.getFile());
+    }
+
+    @Scheduled(fixedDelayString = "${bank.export.purge-interval:PT5M}")
+    public void purgeExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        for (ExportJob job : jobs.values()) {
+            if (job.isFinished() && job.getFinishedAt().isBefore(cutoff)) {
+                try {
+                    deleteJob(job.getId());
+                } catch (IOException ex) {
+                    log.warn("Could not delete expired export {}", job.getFile(), ex);
+                }
+            }
+        }
+    }
+
+    private void run(ExportJob job) {
+        if (job.isCancelled()) {
+            job.finished(ExportJob.State.CANCELLED, null);
+            return;
+        }
+        job.started();
+        Path part = job.getFile().resolveSibling(job.getFile().getFileName() + ".part");
+        try {
+            long rows = write(job, part);
+            Files.move(part, job.getFile(), StandardCopyOption.ATOMIC_MOVE);
+            if (job.isCancelled()) {
+                Files.deleteIfExists(job.getFile()); // Deleted while the last rows were being written
+                throw new CancellationException();
+            }
+            job.progress(rows, Files.size(job.getFile()));
+            job.finished(ExportJob.State.COMPLETED, null);
+            log.info("Exported {} {} rows to {} at {} rows/s", rows, job.getDataset().fileName(), job.getFile(),
+                    job.getRowsPerSecond());
+        } catch (CancellationException ex) {
+            job.finished(ExportJob.State.CANCELLED, null);
+        } catch (RuntimeException | IOException ex) {
+            log.warn("Export {} failed", job.getId(), ex);
+            job.finished(ExportJob.State.FAILED, "The export failed; see the server log for export " + job.getId());
+        } finally {
+            try {
+                Files.deleteIfExists(part);
+            } catch (IOException ex) {
+                log.warn("Could not delete {}", part, ex);
+            }
+        }
+    }
+
+    // Streams every row of the dataset through the writer; returns the number of rows written
+    private long write(ExportJob job, Path part) throws IOException {
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+             RowWriter writer = openWriter(job, new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE))) {
+            return transactionTemplate.execute(status -> {
+                long rows = 0;
+                try (Stream<?> stream = rows(job.getDataset())) {
+                    Iterator<?> iterator = stream.iterator();
+                    while (iterator.hasNext()) {
+                        if (job.isCancelled()) {
+                            throw new CancellationException();
+                        }
+                        writer.write(iterator.next());
+                        if (++rows % PROGRESS_INTERVAL == 0) {
+                            job.progress(rows, channel.position());
+                        }
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                return rows;
+            });
+        }
+    }
+
+    private RowWriter openWriter(ExportJob job, OutputStream stream) throws IOException {
+        return switch (job.getFormat()) {
+            case CSV -> new CsvRowWriter(stream, job.getDataset());
+            case NDJSON -> new NdjsonRowWriter(stream, objectMapper);
+        };
+    }
+
+    private Stream<?> rows(ExportDataset dataset) {
+        return switch (dataset) {
+            case CUSTOMERS -> customerRepository.streamExportRows();
+            case ACCOUNTS -> accountRepository.streamExportRows();
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.maybank.assignment.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Newline-delimited JSON, one object per row, serialized the same way as the REST responses.
+ */
+final class NdjsonRowWriter implements RowWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+
+    NdjsonRowWriter(OutputStream stream, ObjectMapper objectMapper) throws IOException {
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.getFactory().createGenerator(stream);
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(Object row) throws IOException {
+        writer.writeValue(generator, row);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close(); // AUTO_CLOSE_TARGET: also closes the stream
+    }
+}
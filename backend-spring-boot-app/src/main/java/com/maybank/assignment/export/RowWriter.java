@@ -0,0 +1,12 @@
+package com.maybank.assignment.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Serializes export rows one at a time onto a stream; closing it flushes and closes the stream.
+ */
+interface RowWriter extends Closeable {
+
+    void write(Object row) throws IOException;
+}
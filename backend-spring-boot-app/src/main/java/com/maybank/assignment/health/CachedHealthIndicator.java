@@ -0,0 +1,60 @@
+package com.maybank.assignment.health;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Health indicator that runs its probe at most once per time-to-live.
+ * <p>
+ * Load balancers poll readiness many times per second; callers inside the interval get the last result, and
+ * when it expires one caller refreshes it while the others keep returning the previous result instead of
+ * queueing behind the probe.
+ */
+public abstract class CachedHealthIndicator implements HealthIndicator {
+
+    private final long ttlNanos;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Health cached;
+    private volatile long checkedAtNanos;
+
+    protected CachedHealthIndicator(Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    @Override
+    public Health health() {
+        Health current = cached;
+        if (current != null && System.nanoTime() - checkedAtNanos < ttlNanos) {
+            return current;
+        }
+        if (current != null && !refreshLock.tryLock()) {
+            return current;
+        }
+        if (current == null) {
+            refreshLock.lock();
+        }
+        try {
+            if (cached == null || System.nanoTime() - checkedAtNanos >= ttlNanos) {
+                Health fresh;
+                try {
+                    fresh = probe();
+                } catch (Exception ex) {
+                    fresh = Health.down(ex).build();
+                }
+                cached = fresh;
+                checkedAtNanos = System.nanoTime();
+            }
+            return cached;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Runs the actual check. UP when healthy, OUT_OF_SERVICE when degraded (not ready, but alive), DOWN when broken.
+     */
+    protected abstract Health probe();
+}
@@ -0,0 +1,53 @@
+package com.maybank.assignment.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Reports connection pool saturation: degraded once more than the configured number of threads are waiting for a connection.
+ */
+@Component
+public class ConnectionPoolHealthIndicator extends CachedHealthIndicator {
+
+    private final DataSource dataSource;
+    private final int maxAwaiting;
+
+    public ConnectionPoolHealthIndicator(DataSource dataSource,
+                                         @Value("${bank.health.pool.max-awaiting:5}") int maxAwaiting,
+                                         @Value("${bank.health.cache-ttl:2s}") Duration ttl) {
+        super(ttl);
+        this.dataSource = dataSource;
+        this.maxAwaiting = maxAwaiting;
+    }
+
+    @Override
+    protected Health probe() {
+        HikariPoolMXBean pool = pool();
+        if (pool == null) {
+            return Health.unknown().withDetail("reason", "Connection pool not started").build();
+        }
+        int awaiting = pool.getThreadsAwaitingConnection();
+        Health.Builder health = awaiting > maxAwaiting ? Health.outOfService() : Health.up();
+        return health.withDetail("active", pool.getActiveConnections())
+                .withDetail("idle", pool.getIdleConnections())
+                .withDetail("total", pool.getTotalConnections())
+                .withDetail("awaiting", awaiting)
+                .withDetail("maxAwaiting", maxAwaiting)
+                .build();
+    }
+
+    private HikariPoolMXBean pool() {
+        try {
+            return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Data source is not a Hikari pool", ex);
+        }
+    }
+}
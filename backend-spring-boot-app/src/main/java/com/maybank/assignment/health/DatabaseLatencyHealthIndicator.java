@@ -0,0 +1,37 @@
+package com.maybank.assignment.health;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Measures a database round trip. Replaces Spring Boot's uncached {@code db} indicator.
+ */
+@Component
+public class DatabaseLatencyHealthIndicator extends CachedHealthIndicator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration maxLatency;
+
+    public DatabaseLatencyHealthIndicator(JdbcTemplate jdbcTemplate,
+                                          @Value("${bank.health.db.max-latency:250ms}") Duration maxLatency,
+                                          @Value("${bank.health.cache-ttl:2s}") Duration ttl) {
+        super(ttl);
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxLatency = maxLatency;
+    }
+
+    @Override
+    protected Health probe() {
+        long start = System.nanoTime();
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        Duration latency = Duration.ofNanos(System.nanoTime() - start);
+        Health.Builder health = latency.compareTo(maxLatency) > 0 ? Health.outOfService() : Health.up();
+        return health.withDetail("latencyMillis", latency.toNanos() / 1_000_000.0)
+                .withDetail("maxLatencyMillis", maxLatency.toMillis())
+                .build();
+    }
+}
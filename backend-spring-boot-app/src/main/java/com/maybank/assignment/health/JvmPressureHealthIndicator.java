@@ -0,0 +1,65 @@
+package com.maybank.assignment.health;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+
+/**
+ * Reports heap and GC pressure: degraded when the heap is still nearly full right after a collection, or when the
+ * JVM spent too large a share of the time since the previous probe collecting garbage.
+ */
+@Component
+public class JvmPressureHealthIndicator extends CachedHealthIndicator {
+
+    private final double maxHeapUsedAfterGc;
+    private final double maxGcTimeRatio;
+    private long lastGcMillis;
+    private long lastUptimeMillis;
+
+    public JvmPressureHealthIndicator(@Value("${bank.health.heap.max-used-after-gc:0.9}") double maxHeapUsedAfterGc,
+                                      @Value("${bank.health.gc.max-time-ratio:0.25}") double maxGcTimeRatio,
+                                      @Value("${bank.health.cache-ttl:2s}") Duration ttl) {
+        super(ttl);
+        this.maxHeapUsedAfterGc = maxHeapUsedAfterGc;
+        this.maxGcTimeRatio = maxGcTimeRatio;
+    }
+
+    // Called under the refresh lock, so the previous sample is never read and written concurrently
+    @Override
+    protected Health probe() {
+        double heapUsedAfterGc = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage afterGc = pool.getType() == MemoryType.HEAP ? pool.getCollectionUsage() : null;
+            if (afterGc != null && afterGc.getMax() > 0) {
+                heapUsedAfterGc = Math.max(heapUsedAfterGc, (double) afterGc.getUsed() / afterGc.getMax());
+            }
+        }
+
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcMillis += Math.max(0, collector.getCollectionTime());
+        }
+        long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        long elapsed = uptimeMillis - lastUptimeMillis;
+        double gcTimeRatio = elapsed > 0 ? (double) (gcMillis - lastGcMillis) / elapsed : 0;
+        lastGcMillis = gcMillis;
+        lastUptimeMillis = uptimeMillis;
+
+        boolean degraded = heapUsedAfterGc > maxHeapUsedAfterGc || gcTimeRatio > maxGcTimeRatio;
+        Health.Builder health = degraded ? Health.outOfService() : Health.up();
+        return health.withDetail("heapUsedAfterGc", round(heapUsedAfterGc))
+                .withDetail("gcTimeRatio", round(gcTimeRatio))
+                .build();
+    }
+
+    private static double round(double ratio) {
+        return Math.round(ratio * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,42 @@
+package com.maybank.assignment.health;
+
+import com.maybank.assignment.config.ConnectionPoolLimitFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Reports the depth of the request queue in front of the connection-pool limiter: degraded once more requests are
+ * waiting for admission than the limit allows, since their latency is then dominated by queueing.
+ */
+@Component
+public class RequestQueueHealthIndicator extends CachedHealthIndicator {
+
+    private final ObjectProvider<ConnectionPoolLimitFilter> limiter;
+    private final int maxQueued;
+
+    public RequestQueueHealthIndicator(ObjectProvider<ConnectionPoolLimitFilter> limiter,
+                                       @Value("${bank.health.requests.max-queued:50}") int maxQueued,
+                                       @Value("${bank.health.cache-ttl:2s}") Duration ttl) {
+        super(ttl);
+        this.limiter = limiter;
+        this.maxQueued = maxQueued;
+    }
+
+    @Override
+    protected Health probe() {
+        ConnectionPoolLimitFilter filter = limiter.getIfAvailable();
+        if (filter == null) {
+            return Health.unknown().withDetail("reason", "Request limiter disabled").build();
+        }
+        int queued = filter.queuedRequests();
+        Health.Builder health = queued > maxQueued ? Health.outOfService() : Health.up();
+        return health.withDetail("inFlight", filter.inFlightRequests())
+                .withDetail("queued", queued)
+                .withDetail("maxQueued", maxQueued)
+                .build();
+    }
+}
@@ -0,0 +1,12 @@
+package com.maybank.assignment.importer;
+
+/**
+ * Format of an import upload, selected by its content type.
+ */
+public enum ImportFormat {
+
+    /** {@code text/csv} with a header line naming the columns. */
+    CSV,
+    /** {@code application/x-ndjson}, one JSON object per line. */
+    NDJSON
+}
@@ -0,0 +1,127 @@
+package com.maybank.assignment.importer;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Status of one background import, as returned by the progress endpoint.
+ * Only the job's worker thread updates it; readers see the progress of the last committed chunk.
+ */
+public final class ImportJob {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final ImportFormat format;
+    private final Path upload;
+    private final Path errorReport;
+    private final Instant createdAt = Instant.now();
+    private volatile State state = State.QUEUED;
+    private volatile long rowsRead;
+    private volatile long rowsImported;
+    private volatile long rowsRejected;
+    private volatile long accountsCreated;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    ImportJob(String id, ImportFormat format, Path upload, Path errorReport) {
+        this.id = id;
+        this.format = format;
+        this.upload = upload;
+        this.errorReport = errorReport;
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public ImportFormat getFormat() {
+        return format;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    // Rows listed in the error report
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public long getAccountsCreated() {
+        return accountsCreated;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public long getRowsPerSecond() {
+        Instant started = startedAt;
+        if (started == null) {
+            return 0L;
+        }
+        Instant finished = finishedAt;
+        long millis = Duration.between(started, finished != null ? finished : Instant.now()).toMillis();
+        return millis == 0 ? rowsRead : rowsRead * 1000 / millis;
+    }
+
+    @JsonIgnore
+    public Path getUpload() {
+        return upload;
+    }
+
+    @JsonIgnore
+    public Path getErrorReport() {
+        return errorReport;
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    // Lifecycle, driven by ImportService
+    void started() {
+        startedAt = Instant.now();
+        state = State.RUNNING;
+    }
+
+    void progress(long rowsRead, long rowsImported, long rowsRejected, long accountsCreated) {
+        this.rowsRead = rowsRead;
+        this.rowsImported = rowsImported;
+        this.rowsRejected = rowsRejected;
+        this.accountsCreated = accountsCreated;
+    }
+
+    void finished(State state, String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.state = state;
+    }
+}
@@ -0,0 +1,78 @@
+package com.maybank.assignment.importer;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * One customer of an import upload, as read from a CSV record or an NDJSON line, before validation.
+ * {@code accountType}, if present, opens an account of that type for the customer.
+ * {@code dateOfBirth} is kept as text and parsed during validation, so both formats accept the same values.
+ */
+public class ImportRow {
+
+    private long line;
+    private String name;
+    private String email;
+    private String phone;
+    private String dateOfBirth;
+    private String accountType;
+    private String parseError; // Set instead of the fields when the line could not be read at all
+
+    // Getters and Setters
+    @JsonIgnore
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getDateOfBirth() {
+        return dateOfBirth;
+    }
+
+    public void setDateOfBirth(String dateOfBirth) {
+        this.dateOfBirth = dateOfBirth;
+    }
+
+    public String getAccountType() {
+        return accountType;
+    }
+
+    public void setAccountType(String accountType) {
+        this.accountType = accountType;
+    }
+
+    @JsonIgnore
+    public String getParseError() {
+        return parseError;
+    }
+
+    public void setParseError(String parseError) {
+        this.parseError = parseError;
+    }
+}
@@ -0,0 +1,491 @@
+package com.maybank.assignment.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.maybank.assignment.dto.CreateAccountRequest;
+import com.maybank.assignment.exception.DomainException;
+import com.maybank.assignment.exception.ErrorCode;
+import com.maybank.assignment.exception.ResourceNotFoundException;
+import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.repository.CustomerRepository;
+import com.maybank.assignment.service.AccountNumberGenerator;
+import com.maybank.assignment.service.BankMetrics;
+import com.maybank.assignment.util.Csv;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Bulk import of customers, and optionally one account each, from CSV or NDJSON uploads.
+ * <p>
+ * The upload is spooled to disk and imported by a background job, chunk by chunk: rows are parsed as a stream,
+ * validated in parallel against the Jakarta constraints of {@link Customer} and {@link CreateAccountRequest},
+ * checked for emails already taken (by earlier chunks too, since each chunk commits before the next is read), and
+ * inserted with one JDBC batch per table and chunk. Ids come from the entities' sequences in the same pooled blocks
+ * Hibernate uses, so imported and regular inserts never collide. Rejected rows go to a CSV error report with their
+ * line number and reasons; valid rows of the same chunk are still imported.
+ */
+@Service
+public class ImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportService.class);
+    private static final Pattern IMPORT_FILE = Pattern.compile("[0-9a-f-]{36}\\.(upload|errors\\.csv)");
+    private static final Pattern EPOCH_MILLIS = Pattern.compile("-?\\d{1,15}");
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "email", "dateofbirth");
+
+    // Must match the allocationSize of the entities' @SequenceGenerator
+    private static final int ID_BLOCK = 50;
+    private static final String INSERT_CUSTOMER =
+            "INSERT INTO customer (id, name, email, phone, date_of_birth, version) VALUES (?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_ACCOUNT =
+            "INSERT INTO account (id, account_number, balance_minor, account_type, status, customer_id, version) " +
+                    "VALUES (?, ?, 0, ?, 'Active', ?, 0)";
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BankMetrics bankMetrics;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Path directory;
+    private final int chunkSize;
+    private final long maxUploadBytes;
+    private final Duration retention;
+    private final ThreadPoolExecutor executor;
+    private final ForkJoinPool validationPool;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ImportService(PlatformTransactionManager transactionManager,
+                         @Value("${bank.import.dir:${java.io.tmpdir}/bank-imports}") Path directory,
+                         @Value("${bank.import.chunk-size:1000}") int chunkSize,
+                         @Value("${bank.import.parallelism:4}") int parallelism,
+                         @Value("${bank.import.max-concurrent:1}") int maxConcurrent,
+                         @Value("${bank.import.queue-capacity:4}") int queueCapacity,
+                         @Value("${bank.import.max-upload-size:100MB}") DataSize maxUploadSize,
+                         @Value("${bank.import.retention:1h}") Duration retention) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("bank.import.chunk-size must be positive");
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directory = directory;
+        this.chunkSize = chunkSize;
+        this.maxUploadBytes = maxUploadSize.toBytes();
+        this.retention = retention;
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("import-", 0).daemon().factory());
+        this.validationPool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Creates the import directory and removes uploads and reports of a previous run; jobs are only tracked in memory.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.toList()) {
+                if (IMPORT_FILE.matcher(path.getFileName().toString()).matches()) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    // A running import finishes its current chunk's transaction and then stops with the executor
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Imports still running at shutdown");
+        }
+        validationPool.shutdown();
+    }
+
+    /**
+     * Spools an upload to disk and queues its import.
+     *
+     * @param format the upload's format.
+     * @param contentLength the upload's declared length, or -1 if unknown.
+     * @param body the upload; read to the end before this method returns.
+     * @return the queued job.
+     * @throws RejectedExecutionException if the import queue is full.
+     * @throws DomainException with {@link ErrorCode#PAYLOAD_TOO_LARGE} if the upload exceeds
+     *         {@code bank.import.max-upload-size}.
+     */
+    public ImportJob submit(ImportFormat format, long contentLength, InputStream body) throws IOException {
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw new RejectedExecutionException("Import queue is full"); // Before reading a body that would be dropped
+        }
+        if (contentLength > maxUploadBytes) {
+            throw uploadTooLarge();
+        }
+        String id = UUID.randomUUID().toString();
+        ImportJob job = new ImportJob(id, format, directory.resolve(id + ".upload"), directory.resolve(id + ".errors.csv"));
+        try {
+            spool(body, job.getUpload());
+            jobs.put(id, job);
+            executor.execute(() -> run(job));
+        } catch (IOException | RuntimeException ex) {
+            jobs.remove(id);
+            Files.deleteIfExists(job.getUpload());
+            throw ex;
+        }
+        return job;
+    }
+
+    // Chunked uploads have no declared length, so the limit is also enforced while copying
+    private void spool(InputStream body, Path upload) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long copied = 0;
+        try (OutputStream out = Files.newOutputStream(upload)) {
+            for (int read; (read = body.read(buffer)) != -1; ) {
+                copied += read;
+                if (copied > maxUploadBytes) {
+                    throw uploadTooLarge();
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private DomainException uploadTooLarge() {
+        return new DomainException(ErrorCode.PAYLOAD_TOO_LARGE, "Imports are limited to " + maxUploadBytes + " bytes.");
+    }
+
+    public ImportJob getJob(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException(ErrorCode.IMPORT_NOT_FOUND, "Import '" + id + "' not found");
+        }
+        return job;
+    }
+
+    @Scheduled(fixedDelayString = "${bank.import.purge-interval:PT5M}")
+    public void purgeExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        for (ImportJob job : jobs.values()) {
+            if (job.isFinished() && job.getFinishedAt().isBefore(cutoff)) {
+                jobs.remove(job.getId());
+                try {
+                    Files.deleteIfExists(job.getErrorReport());
+                } catch (IOException ex) {
+                    log.warn("Could not delete expired import report {}", job.getErrorReport(), ex);
+                }
+            }
+        }
+    }
+
+    private void run(ImportJob job) {
+        job.started();
+        Progress progress = new Progress();
+        try (BufferedReader in = Files.newBufferedReader(job.getUpload(), StandardCharsets.UTF_8);
+             Writer report = Files.newBufferedWriter(job.getErrorReport(), StandardCharsets.UTF_8)) {
+            report.write("line,email,errors\r\n");
+            RowSource rows = job.getFormat() == ImportFormat.CSV ? csvRows(in) : ndjsonRows(in);
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            for (ImportRow row = rows.next(); row != null; row = rows.next()) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(job, chunk, report, progress);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(job, chunk, report, progress);
+            }
+            job.finished(ImportJob.State.COMPLETED, null);
+            log.info("Imported {} of {} rows ({} rejected) at {} rows/s", progress.imported, progress.read,
+                    progress.rejected, job.getRowsPerSecond());
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Import {} failed after {} rows", job.getId(), progress.read, ex);
+            job.finished(ImportJob.State.FAILED, ex instanceof ImportFormatException ? ex.getMessage()
+                    : "The import failed after " + progress.read + " rows; rows before that were imported");
+        } finally {
+            try {
+                Files.deleteIfExists(job.getUpload());
+            } catch (IOException ex) {
+                log.warn("Could not delete {}", job.getUpload(), ex);
+            }
+        }
+    }
+
+    private void importChunk(ImportJob job, List<ImportRow> rows, Writer report, Progress progress) throws IOException {
+        List<Candidate> candidates = validationPool.submit(() -> rows.parallelStream().map(this::validate).toList()).join();
+
+        Map<String, Candidate> byEmail = new HashMap<>();
+        for (Candidate candidate : candidates) {
+            if (candidate.errors.isEmpty() && byEmail.putIfAbsent(candidate.customer.getEmail(), candidate) != null) {
+                candidate.errors.add("email: Duplicate of an earlier row");
+            }
+        }
+        int accounts;
+        try {
+            accounts = insert(byEmail);
+        } catch (DuplicateKeyException ex) {
+            accounts = insert(byEmail); // An email was taken concurrently; the retry re-checks and rejects it
+        }
+
+        int imported = 0;
+        for (Candidate candidate : candidates) {
+            if (candidate.errors.isEmpty()) {
+                imported++;
+            } else {
+                report.write(Long.toString(candidate.line));
+                report.write(',');
+                Csv.writeField(report, candidate.customer == null ? null : candidate.customer.getEmail());
+                report.write(',');
+                Csv.writeField(report, String.join("; ", candidate.errors));
+                report.write("\r\n");
+            }
+        }
+        report.flush();
+        progress.read += candidates.size();
+        progress.imported += imported;
+        progress.rejected += candidates.size() - imported;
+        progress.accounts += accounts;
+        job.progress(progress.read, progress.imported, progress.rejected, progress.accounts);
+        bankMetrics.importedRows(imported);
+        bankMetrics.rejectedRows(candidates.size() - imported);
+    }
+
+    // Inserts the valid candidates whose email is not taken in one transaction; returns the number of accounts opened
+    private int insert(Map<String, Candidate> byEmail) {
+        return transactionTemplate.execute(status -> {
+            if (!byEmail.isEmpty()) {
+                for (String taken : customerRepository.findEmailsIn(byEmail.keySet())) {
+                    byEmail.remove(taken).errors.add("email: A customer with this email already exists");
+                }
+            }
+            if (byEmail.isEmpty()) {
+                return 0;
+            }
+            List<Candidate> valid = List.copyOf(byEmail.values());
+            long[] customerIds = allocateIds("customer_seq", valid.size());
+            List<Object[]> customers = new ArrayList<>(valid.size());
+            List<Candidate> withAccount = new ArrayList<>();
+            for (int i = 0; i < valid.size(); i++) {
+                Customer customer = valid.get(i).customer;
+                customer.setId(customerIds[i]);
+                customers.add(new Object[]{customer.getId(), customer.getName(), customer.getEmail(), customer.getPhone(),
+                        new Timestamp(customer.getDateOfBirth().getTime())});
+                if (valid.get(i).accountType != null) {
+                    withAccount.add(valid.get(i));
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_CUSTOMER, customers);
+            if (!withAccount.isEmpty()) {
+                long[] accountIds = allocateIds("account_seq", withAccount.size());
+                List<Object[]> accounts = new ArrayList<>(withAccount.size());
+                for (int i = 0; i < withAccount.size(); i++) {
+                    Candidate candidate = withAccount.get(i);
+                    accounts.add(new Object[]{accountIds[i], accountNumberGenerator.nextAccountNumber(),
+                            candidate.accountType, candidate.customer.getId()});
+                }
+                jdbcTemplate.batchUpdate(INSERT_ACCOUNT, accounts);
+            }
+            return withAccount.size();
+        });
+    }
+
+    // Hibernate's pooled optimizer treats each sequence value v as the block (v - 49 .. v], so these ids are never
+    // handed out by it. One query returns as many values as the chunk needs.
+    private long[] allocateIds(String sequence, int count) {
+        List<Long> highs = jdbcTemplate.queryForList(
+                "SELECT NEXT VALUE FOR " + sequence + " FROM SYSTEM_RANGE(1, ?)", Long.class, (count + ID_BLOCK - 1) / ID_BLOCK);
+        long[] ids = new long[count];
+        int filled = 0;
+        for (long high : highs) {
+            for (long id = Math.max(1, high - ID_BLOCK + 1); id <= high && filled < count; id++) {
+                ids[filled++] = id;
+            }
+        }
+        if (filled < count) {
+            // Only the sequence's initial value yields a single id
+            System.arraycopy(allocateIds(sequence, count - filled), 0, ids, filled, count - filled);
+        }
+        return ids;
+    }
+
+    private Candidate validate(ImportRow row) {
+        if (row.getParseError() != null) {
+            return new Candidate(row.getLine(), null, null, new ArrayList<>(List.of(row.getParseError())));
+        }
+        List<String> errors = new ArrayList<>(0);
+        Date dateOfBirth = parseDate(row.getDateOfBirth());
+        boolean badDate = dateOfBirth == null && row.getDateOfBirth() != null;
+        if (badDate) {
+            errors.add("dateOfBirth: Must be an ISO-8601 date, date-time or epoch milliseconds");
+        }
+        Customer customer = new Customer(row.getName(), row.getEmail(), row.getPhone(), dateOfBirth);
+        for (ConstraintViolation<Customer> violation : validator.validate(customer)) {
+            if (!badDate || !violation.getPropertyPath().toString().equals("dateOfBirth")) {
+                errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+        }
+        String accountType = row.getAccountType();
+        if (accountType != null) {
+            CreateAccountRequest account = new CreateAccountRequest();
+            account.setAccountType(accountType);
+            for (ConstraintViolation<CreateAccountRequest> violation : validator.validateProperty(account, "accountType")) {
+                errors.add("accountType: " + violation.getMessage());
+            }
+        }
+        errors.sort(null); // Violations come from a set; sorted, the report is the same on every run
+        return new Candidate(row.getLine(), customer, accountType, errors);
+    }
+
+    private static Date parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            if (EPOCH_MILLIS.matcher(value).matches()) {
+                return new Date(Long.parseLong(value));
+            }
+            if (value.length() == 10) {
+                return Date.from(LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant());
+            }
+            return Date.from(OffsetDateTime.parse(value).toInstant());
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+
+    private RowSource csvRows(BufferedReader in) throws IOException {
+        Csv.RecordReader reader = new Csv.RecordReader(in);
+        List<String> header = reader.next();
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; header != null && i < header.size(); i++) {
+            if (header.get(i) != null) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+        if (!columns.keySet().containsAll(REQUIRED_COLUMNS)) {
+            throw new ImportFormatException("The CSV header must name the columns name, email and dateOfBirth "
+                    + "(phone and accountType are optional)");
+        }
+        return () -> {
+            List<String> record;
+            do {
+                record = reader.next();
+            } while (record != null && record.stream().allMatch(field -> field == null)); // Blank line
+            if (record == null) {
+                return null;
+            }
+            ImportRow row = new ImportRow();
+            row.setLine(reader.recordLine());
+            row.setName(field(record, columns.get("name")));
+            row.setEmail(field(record, columns.get("email")));
+            row.setPhone(field(record, columns.get("phone")));
+            row.setDateOfBirth(field(record, columns.get("dateofbirth")));
+            row.setAccountType(field(record, columns.get("accounttype")));
+            return row;
+        };
+    }
+
+    private static String field(List<String> record, Integer column) {
+        return column == null || column >= record.size() ? null : record.get(column);
+    }
+
+    private RowSource ndjsonRows(BufferedReader in) {
+        ObjectReader reader = objectMapper.readerFor(ImportRow.class);
+        long[] line = {0};
+        return () -> {
+            String text;
+            do {
+                text = in.readLine();
+                line[0]++;
+            } while (text != null && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+            ImportRow row;
+            try {
+                row = reader.readValue(text);
+            } catch (JsonProcessingException ex) {
+                row = new ImportRow();
+                row.setParseError("Malformed JSON: " + ex.getOriginalMessage());
+            }
+            row.setLine(line[0]);
+            return row;
+        };
+    }
+
+    // Next parsed row of the upload, or null at its end
+    private interface RowSource {
+        ImportRow next() throws IOException;
+    }
+
+    private record Candidate(long line, Customer customer, String accountType, List<String> errors) {}
+
+    private static final class Progress {
+        long read;
+        long imported;
+        long rejected;
+        long accounts;
+    }
+
+    // The upload as a whole cannot be read, so the job fails instead of rejecting rows
+    private static final class ImportFormatException extends RuntimeException {
+        ImportFormatException(String message) {
+            super(message);
+        }
+    }
+}
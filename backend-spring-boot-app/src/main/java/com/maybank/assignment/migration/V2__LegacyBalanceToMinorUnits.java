@@ -0,0 +1,58 @@
+package com.maybank.assignment.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Brings databases created by older builds (and baselined at V1) up to the current data format.
+ * Each step checks for the legacy shape first, so on a database created by V1 this migration does nothing.
+ */
+public class V2__LegacyBalanceToMinorUnits extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        migrateBalanceToMinorUnits(jdbcTemplate);
+        alignIdSequence(jdbcTemplate, "customer", "customer_seq");
+        alignIdSequence(jdbcTemplate, "account", "account_seq");
+    }
+
+    // Account.balance used to be a DOUBLE; it is now a BIGINT number of cents in balance_minor
+    private void migrateBalanceToMinorUnits(JdbcTemplate jdbcTemplate) {
+        if (!columnExists(jdbcTemplate, "ACCOUNT", "BALANCE")) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE account ADD COLUMN IF NOT EXISTS balance_minor BIGINT DEFAULT 0 NOT NULL");
+        jdbcTemplate.update("UPDATE account SET balance_minor = CAST(ROUND(balance * 100) AS BIGINT) WHERE balance IS NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE account DROP COLUMN balance");
+    }
+
+    // Ids used to come from IDENTITY columns; the pooled sequences that replace them must start past existing rows.
+    // Hibernate's pooled optimizer hands out (value - increment, value], so the sequence must exceed max(id) + increment.
+    private void alignIdSequence(JdbcTemplate jdbcTemplate, String table, String sequence) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        if (maxId == 0) {
+            return;
+        }
+        Long increment = jdbcTemplate.queryForObject(
+                "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_SCHEMA = SCHEMA() AND SEQUENCE_NAME = ?",
+                Long.class, sequence.toUpperCase());
+        Long nextValue = jdbcTemplate.queryForObject(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_SCHEMA = SCHEMA() AND SEQUENCE_NAME = ?",
+                Long.class, sequence.toUpperCase());
+        long required = maxId + increment + 1;
+        if (nextValue < required) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + required);
+        }
+    }
+
+    private boolean columnExists(JdbcTemplate jdbcTemplate, String table, String column) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS " +
+                        "WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = ? AND COLUMN_NAME = ?",
+                Integer.class, table, column);
+        return count != null && count > 0;
+    }
+}
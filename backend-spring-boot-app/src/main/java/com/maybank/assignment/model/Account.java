@@ -1,29 +1,51 @@
 package com.maybank.assignment.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.math.BigDecimal;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_account_account_number", columnNames = "account_number"),
+        indexes = {
+                @Index(name = "idx_account_customer_id", columnList = "customer_id"),
+                @Index(name = "idx_account_former_customer_id", columnList = "former_customer_id")
+        })
 public class Account {
 
+    // Sequence ids (pooled, 50 per round trip) instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_seq")
+    @SequenceGenerator(name = "account_seq", sequenceName = "account_seq", allocationSize = 50)
     private Long id;
 
-    private String accountNumber;
-    private Double balance;
+    @Column(nullable = false, length = 20)
+    private String accountNumber; // Unique; backed by uk_account_account_number
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long balanceMinor; // Balance in minor units (cents)
     private String accountType;
     private String status = "Active"; // Default status is Active
 
-    @ManyToOne
-    private Customer customer; // Each account is linked to a customer
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Customer customer; // Each account is linked to a customer; loaded only when explicitly fetched
+
+    @Column(name = "former_customer_id")
+    private Long formerCustomerId; // Owner of an account archived when its customer was deleted
+
+    @Version
+    @ColumnDefault("0")
+    private long version; // Optimistic lock for read-modify-write updates such as closing
 
     // Default Constructor
     public Account() {}
 
     // Parameterized Constructor
-    public Account(String accountNumber, Double balance, String accountType, Customer customer) {
+    public Account(String accountNumber, long balanceMinor, String accountType, Customer customer) {
         this.accountNumber = accountNumber;
-        this.balance = balance;
+        this.balanceMinor = balanceMinor;
         this.accountType = accountType;
         this.customer = customer;
     }
@@ -45,12 +67,18 @@ public class Account {
         this.accountNumber = accountNumber;
     }
 
-    public Double getBalance() {
-        return balance;
+    @JsonIgnore
+    public long getBalanceMinor() {
+        return balanceMinor;
     }
 
-    public void setBalance(Double balance) {
-        this.balance = balance;
+    public void setBalanceMinor(long balanceMinor) {
+        this.balanceMinor = balanceMinor;
+    }
+
+    // Decimal view of the balance for API responses
+    public BigDecimal getBalance() {
+        return Money.fromMinorUnits(balanceMinor);
     }
 
     public String getAccountType() {
@@ -69,6 +97,22 @@ public class Account {
         this.status = status;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Long getFormerCustomerId() {
+        return formerCustomerId;
+    }
+
+    public void setFormerCustomerId(Long formerCustomerId) {
+        this.formerCustomerId = formerCustomerId;
+    }
+
     public Customer getCustomer() {
         return customer;
     }
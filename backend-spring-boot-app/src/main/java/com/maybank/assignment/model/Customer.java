@@ -1,21 +1,36 @@
 package com.maybank.assignment.model;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.Date;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_customer_email", columnNames = "email"),
+        indexes = {
+                @Index(name = "idx_customer_phone", columnList = "phone, id"),
+                @Index(name = "idx_customer_name_lower", columnList = "name_lower, id")
+        })
 public class Customer {
 
+    // Sequence ids (pooled, 50 per round trip) instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+    @SequenceGenerator(name = "customer_seq", sequenceName = "customer_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Name cannot be null")
@@ -32,6 +47,15 @@ public class Customer {
     @NotNull(message = "Date of birth cannot be null")
     private Date dateOfBirth;
 
+    @Version
+    @ColumnDefault("0")
+    private long version; // Optimistic lock; exposed to clients as the ETag
+
+    // LOWER(name), generated by the database for the name prefix search; only populated on rows read back
+    @JsonIgnore
+    @Column(name = "name_lower", length = 100, insertable = false, updatable = false)
+    private String nameLower;
+
     // Default Constructor
     public Customer() {}
 
@@ -83,4 +107,16 @@ public class Customer {
     public void setDateOfBirth(Date dateOfBirth) {
         this.dateOfBirth = dateOfBirth;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public String getNameLower() {
+        return nameLower;
+    }
 }
@@ -0,0 +1,79 @@
+package com.maybank.assignment.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Stored response of a request made with an {@code Idempotency-Key} header.
+ * Backs the in-memory dedup cache, so replays keep working after eviction or a restart until the record expires.
+ */
+@Entity
+@Table(name = "idempotency_record",
+        indexes = @Index(name = "idx_idempotency_record_expires_at", columnList = "expires_at"))
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint; // SHA-256 of the request method, path, query and body
+
+    private int status;
+
+    @Column(length = 100)
+    private String contentType;
+
+    @Lob
+    private byte[] body; // Responses of any size, so every completed key can be replayed
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Default Constructor
+    protected IdempotencyRecord() {}
+
+    // Parameterized Constructor
+    public IdempotencyRecord(String key, String fingerprint, int status, String contentType, byte[] body, Instant expiresAt) {
+        this.key = key;
+        this.fingerprint = fingerprint;
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+        this.expiresAt = expiresAt;
+    }
+
+    // Records are written once, so save() can INSERT directly instead of probing with a SELECT first
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    // Getters
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
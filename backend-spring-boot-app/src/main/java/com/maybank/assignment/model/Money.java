@@ -0,0 +1,42 @@
+package com.maybank.assignment.model;
+
+import com.maybank.assignment.exception.DomainException;
+import com.maybank.assignment.exception.ErrorCode;
+
+import java.math.BigDecimal;
+
+/**
+ * Conversions between API amounts and the ledger's fixed-point representation.
+ * Balances and amounts are held as {@code long} minor units (cents); {@link BigDecimal} is only used at the API edge.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private Money() {}
+
+    /**
+     * Converts a decimal amount into minor units.
+     *
+     * @param amount the amount, with at most two decimal places.
+     * @return the amount in minor units.
+     * @throws DomainException if the amount has more than two decimal places or does not fit in a long.
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        try {
+            return amount.movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new DomainException(ErrorCode.INVALID_AMOUNT, "Amount must have at most " + SCALE + " decimal places.");
+        }
+    }
+
+    /**
+     * Converts minor units back into a decimal amount with a scale of two.
+     *
+     * @param minorUnits the amount in minor units.
+     * @return the decimal amount.
+     */
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+}
@@ -0,0 +1,88 @@
+package com.maybank.assignment.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Append-only ledger entry recording one change to an account, with the running balance after it.
+ * Entries are immutable once written and are read back through the (account_id, created_at, id) index.
+ */
+@Entity
+@Immutable
+@Table(name = "account_transaction",
+        indexes = @Index(name = "idx_account_transaction_account_time", columnList = "account_id, created_at, id"))
+public class Transaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_transaction_seq")
+    @SequenceGenerator(name = "account_transaction_seq", sequenceName = "account_transaction_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId; // Plain column rather than an association, so writing an entry never loads the account
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransactionType type;
+
+    private long amountMinor; // Amount in minor units; zero for status changes such as closing
+
+    private long balanceAfterMinor; // Running balance in minor units after this entry
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // Default Constructor
+    protected Transaction() {}
+
+    // Parameterized Constructor
+    public Transaction(Long accountId, TransactionType type, long amountMinor, long balanceAfterMinor) {
+        this.accountId = accountId;
+        this.type = type;
+        this.amountMinor = amountMinor;
+        this.balanceAfterMinor = balanceAfterMinor;
+        // Truncated to the column precision so keyset cursors compare exactly
+        this.createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    @JsonIgnore
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    @JsonIgnore
+    public long getAmountMinor() {
+        return amountMinor;
+    }
+
+    public BigDecimal getAmount() {
+        return Money.fromMinorUnits(amountMinor);
+    }
+
+    @JsonIgnore
+    public long getBalanceAfterMinor() {
+        return balanceAfterMinor;
+    }
+
+    public BigDecimal getBalanceAfter() {
+        return Money.fromMinorUnits(balanceAfterMinor);
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
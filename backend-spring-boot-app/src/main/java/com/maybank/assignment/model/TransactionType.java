@@ -0,0 +1,12 @@
+package com.maybank.assignment.model;
+
+/**
+ * Kind of entry in the account ledger.
+ */
+public enum TransactionType {
+    DEPOSIT,
+    WITHDRAWAL,
+    CLOSE,
+    TRANSFER_OUT,
+    TRANSFER_IN
+}
@@ -0,0 +1,92 @@
+package com.maybank.assignment.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Record of a completed account-to-account transfer, keyed by the client-supplied reference.
+ * The unique reference makes retries idempotent: a repeated request finds this row instead of moving money twice.
+ */
+@Entity
+@Immutable
+@Table(name = "account_transfer",
+        uniqueConstraints = @UniqueConstraint(name = "uk_account_transfer_reference", columnNames = "reference"))
+public class Transfer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_transfer_seq")
+    @SequenceGenerator(name = "account_transfer_seq", sequenceName = "account_transfer_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String reference;
+
+    @Column(name = "from_account_id", nullable = false)
+    private Long fromAccountId;
+
+    @Column(name = "to_account_id", nullable = false)
+    private Long toAccountId;
+
+    private long amountMinor;
+
+    private long fromBalanceAfterMinor;
+
+    private long toBalanceAfterMinor;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // Default Constructor
+    protected Transfer() {}
+
+    // Parameterized Constructor
+    public Transfer(String reference, Long fromAccountId, Long toAccountId, long amountMinor) {
+        this.reference = reference;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amountMinor = amountMinor;
+        this.createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    // Records the balances once both legs are applied, before the row is flushed
+    public void setBalancesAfter(long fromBalanceAfterMinor, long toBalanceAfterMinor) {
+        this.fromBalanceAfterMinor = fromBalanceAfterMinor;
+        this.toBalanceAfterMinor = toBalanceAfterMinor;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public Long getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public Long getToAccountId() {
+        return toAccountId;
+    }
+
+    public long getAmountMinor() {
+        return amountMinor;
+    }
+
+    public long getFromBalanceAfterMinor() {
+        return fromBalanceAfterMinor;
+    }
+
+    public long getToBalanceAfterMinor() {
+        return toBalanceAfterMinor;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
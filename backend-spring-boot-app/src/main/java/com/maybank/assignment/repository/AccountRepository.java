@@ -1,8 +1,88 @@
 package com.maybank.assignment.repository;
 
+import com.maybank.assignment.dto.AccountResponse;
+import com.maybank.assignment.dto.AccountTotals;
 import com.maybank.assignment.model.Account;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
     Account findByAccountNumber(String accountNumber);
-}
\ No newline at end of file
+
+    // Index-only lookup on the unique account number; feeds AccountLookupCache
+    @Query("select a.id from Account a where a.accountNumber = :accountNumber")
+    Long findIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    // Projection for the account endpoints: selects only the response columns, never the customer row
+    @Query("select new com.maybank.assignment.dto.AccountResponse(a.accountNumber, a.balanceMinor, a.accountType, a.status, a.customer.id) " +
+            "from Account a where a.id = :id")
+    AccountResponse findResponseById(@Param("id") Long id);
+
+    // A customer's accounts as response projections, read through idx_account_customer_id
+    @Query("select new com.maybank.assignment.dto.AccountResponse(a.accountNumber, a.balanceMinor, a.accountType, a.status, a.customer.id) " +
+            "from Account a where a.customer.id = :customerId order by a.id")
+    List<AccountResponse> findResponsesByCustomerId(@Param("customerId") Long customerId);
+
+    // Per-customer totals by account type and status in one GROUP BY over idx_account_customer_id; no entities are loaded
+    @Query("select new com.maybank.assignment.dto.AccountTotals(a.customer.id, a.accountType, a.status, count(a), sum(a.balanceMinor)) " +
+            "from Account a where a.customer.id in :customerIds group by a.customer.id, a.accountType, a.status")
+    List<AccountTotals> findTotalsByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
+    // For the few callers that really need the customer: one joined SELECT instead of a follow-up query
+    @Query("select a from Account a join fetch a.customer where a.id = :id")
+    Account findWithCustomerById(@Param("id") Long id);
+
+    // Loads and row-locks a set of accounts in one statement. Locks are taken in id order so concurrent
+    // batches touching overlapping accounts cannot deadlock.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.accountNumber in :accountNumbers order by a.id")
+    List<Account> findAllForUpdateByAccountNumberIn(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    // Row-locks a single account. Callers locking several accounts must do so in ascending id order.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.id = :id")
+    Optional<Account> findForUpdateById(@Param("id") Long id);
+
+    // Atomic balance mutations: the row is changed in a single conditional UPDATE, so concurrent
+    // callers serialize on the row lock instead of racing on a read-modify-write. Returns 0 when the
+    // account does not exist or the condition is not met. Amounts are in minor units.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balanceMinor = a.balanceMinor + :amount, a.version = a.version + 1 " +
+            "where a.id = :id and a.status = 'Active'")
+    int depositIfActive(@Param("id") Long id, @Param("amount") long amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balanceMinor = a.balanceMinor - :amount, a.version = a.version + 1 " +
+            "where a.id = :id and a.status = 'Active' and a.balanceMinor >= :amount")
+    int withdrawIfSufficient(@Param("id") Long id, @Param("amount") long amount);
+
+    // Account numbers of the given customers' accounts, to hold them in the balance engine before archiving
+    @Query("select a.accountNumber from Account a where a.customer.id in :customerIds")
+    List<String> findAccountNumbersByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
+    // Archives every account of the given customers in one statement: closes it and moves the owner to
+    // former_customer_id, so the customers can be deleted
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.status = 'Closed', a.formerCustomerId = a.customer.id, a.customer = null, " +
+            "a.version = a.version + 1 where a.customer.id in :customerIds")
+    int archiveByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
+    // Export cursor over every account, archived ones included; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.maybank.assignment.dto.AccountResponse(a.accountNumber, a.balanceMinor, a.accountType, a.status, a.customer.id) " +
+            "from Account a order by a.id")
+    Stream<AccountResponse> streamExportRows();
+}
@@ -1,7 +1,64 @@
 package com.maybank.assignment.repository;
 
+import com.maybank.assignment.dto.CustomerExportRow;
 import com.maybank.assignment.model.Customer;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
-}
\ No newline at end of file
+
+    // Keyset page: seeks past the last seen id using the primary key index
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Keyset page of ids only, read from the primary key index
+    @Query("select c.id from Customer c where c.id > :afterId order by c.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Limit limit);
+
+    // Search access paths, each a range scan on one index (see V4__customer_search.sql)
+    Optional<Customer> findByEmail(String email);
+
+    List<Customer> findByPhoneAndIdGreaterThanOrderByIdAsc(String phone, Long id, Limit limit);
+
+    // Name prefix range [prefix, prefixEnd) on the lowercase name, continued after (afterName, afterId)
+    @Query("select c from Customer c where c.nameLower >= :prefix and c.nameLower < :prefixEnd " +
+            "and (c.nameLower > :afterName or (c.nameLower = :afterName and c.id > :afterId)) " +
+            "order by c.nameLower, c.id")
+    List<Customer> findByNamePrefix(@Param("prefix") String prefix, @Param("prefixEnd") String prefixEnd,
+                                    @Param("afterName") String afterName, @Param("afterId") long afterId, Limit limit);
+
+    // Deletes in one statement; the row count tells the caller which ids existed, without a prior SELECT
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Customer c where c.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Server-side cursor over the whole table; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Customer c order by c.id")
+    Stream<Customer> streamAllOrderById();
+
+    // Export cursor over projections: rows never enter the persistence context; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.maybank.assignment.dto.CustomerExportRow(c.id, c.name, c.email, c.phone, c.dateOfBirth) " +
+            "from Customer c order by c.id")
+    Stream<CustomerExportRow> streamExportRows();
+
+    // Which of the given emails are taken, read from the uk_customer_email index
+    @Query("select c.email from Customer c where c.email in :emails")
+    List<String> findEmailsIn(@Param("emails") Collection<String> emails);
+}
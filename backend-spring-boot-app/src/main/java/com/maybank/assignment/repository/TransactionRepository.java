@@ -0,0 +1,34 @@
+package com.maybank.assignment.repository;
+
+import com.maybank.assignment.model.Transaction;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+
+    // Keyset page of an account's ledger in [from, to), ordered by (createdAt, id). The range on createdAt
+    // drives an index range scan; the OR only skips rows at the cursor timestamp already returned.
+    // For the first page pass the range start as 'from' and 0 as 'afterId'. AccountService.getStatement keeps
+    // cursors below the ledger watermark, so no row can commit behind one.
+    @Query("select t from Transaction t where t.accountId = :accountId " +
+            "and t.createdAt >= :from and t.createdAt < :to and (t.createdAt > :from or t.id > :afterId) " +
+            "order by t.createdAt, t.id")
+    List<Transaction> findStatementPage(@Param("accountId") Long accountId, @Param("from") Instant from,
+                                        @Param("to") Instant to, @Param("afterId") Long afterId, Limit limit);
+
+    // Writes the CLOSE ledger entry of every active account of the given customers as one INSERT ... SELECT.
+    // Each row takes its own sequence value, which Hibernate's pooled optimizer never hands out itself.
+    // The timestamp is passed in, taken after the transaction enlisted with the LedgerWatermark.
+    @Modifying
+    @Query(value = "insert into account_transaction (id, account_id, type, amount_minor, balance_after_minor, created_at) " +
+            "select next value for account_transaction_seq, a.id, 'CLOSE', 0, a.balance_minor, :createdAt " +
+            "from account a where a.customer_id in (:customerIds) and a.status = 'Active'", nativeQuery = true)
+    int recordCloseForActiveAccountsOf(@Param("customerIds") Collection<Long> customerIds, @Param("createdAt") Instant createdAt);
+}
@@ -0,0 +1,8 @@
+package com.maybank.assignment.repository;
+
+import com.maybank.assignment.model.Transfer;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TransferRepository extends JpaRepository<Transfer, Long> {
+    Transfer findByReference(String reference);
+}
@@ -0,0 +1,62 @@
+package com.maybank.assignment.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maybank.assignment.dto.CacheStatsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache from account number to account id.
+ * An account number never changes once assigned, so the mapping only has to be dropped when the
+ * account row itself disappears. Misses (unknown numbers) are not cached.
+ * Hit rate, size and evictions are published as {@code cache.*} meters tagged {@code cache=account_lookup}.
+ */
+@Component
+public class AccountLookupCache implements MeterBinder {
+
+    private final Cache<String, Long> accountIds;
+
+    public AccountLookupCache(@Value("${bank.account-cache.maximum-size:100000}") long maximumSize,
+                              @Value("${bank.account-cache.ttl:10m}") Duration ttl) {
+        this.accountIds = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the id for the account number, loading and caching it on a miss.
+     *
+     * @param accountNumber the account number to resolve.
+     * @param loader looks the id up in the database; returns null if the account does not exist.
+     * @return the account id, or null if the account does not exist.
+     */
+    public Long resolveId(String accountNumber, Function<String, Long> loader) {
+        return accountIds.get(accountNumber, loader);
+    }
+
+    public void put(String accountNumber, Long id) {
+        accountIds.put(accountNumber, id);
+    }
+
+    public void invalidate(String accountNumber) {
+        accountIds.invalidate(accountNumber);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, accountIds, "account_lookup");
+    }
+
+    public CacheStatsResponse stats() {
+        return CacheStatsResponse.from(accountIds.stats(), accountIds.estimatedSize());
+    }
+}
@@ -0,0 +1,15 @@
+package com.maybank.assignment.service;
+
+/**
+ * Strategy for assigning account numbers to new accounts.
+ * Implementations must be thread-safe and must never hand out the same number twice.
+ */
+public interface AccountNumberGenerator {
+
+    /**
+     * Returns the next unused account number.
+     *
+     * @return a new account number.
+     */
+    String nextAccountNumber();
+}
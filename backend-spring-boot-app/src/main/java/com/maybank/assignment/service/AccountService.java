@@ -1,105 +1,329 @@
 package com.maybank.assignment.service;
 
+import com.maybank.assignment.dto.AccountResponse;
+import com.maybank.assignment.dto.AccountSummaryPage;
+import com.maybank.assignment.dto.AccountTotals;
 import com.maybank.assignment.dto.CreateAccountRequest;
+import com.maybank.assignment.dto.CustomerAccountSummary;
+import com.maybank.assignment.dto.TransactionPage;
+import com.maybank.assignment.engine.BalanceEngine;
+import com.maybank.assignment.exception.DomainException;
+import com.maybank.assignment.exception.ErrorCode;
 import com.maybank.assignment.exception.ResourceNotFoundException;
 import com.maybank.assignment.model.Account;
 import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.model.Money;
+import com.maybank.assignment.model.Transaction;
+import com.maybank.assignment.model.TransactionType;
 import com.maybank.assignment.repository.AccountRepository;
 import com.maybank.assignment.repository.CustomerRepository;
+import com.maybank.assignment.repository.TransactionRepository;
+import com.maybank.assignment.util.CursorCodec;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.UUID;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 public class AccountService {
 
+    public static final int DEFAULT_STATEMENT_PAGE_SIZE = 50;
+    public static final int MAX_STATEMENT_PAGE_SIZE = 500;
+    private static final Instant STATEMENT_END = Instant.parse("9999-12-31T23:59:59Z");
+
     @Autowired
     private AccountRepository accountRepository;
 
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountLookupCache accountLookupCache;
+
+    @Autowired
+    private AccountSummaryCache accountSummaryCache;
+
+    @Autowired
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Autowired
+    private BankMetrics bankMetrics;
+
+    @Autowired
+    private LedgerWatermark ledgerWatermark;
+
+    // Deposits and withdrawals run in a transaction only on the JPA path; the engine path needs no connection
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired(required = false)
+    private BalanceEngine balanceEngine; // Only with bank.engine.mode=sharded
+
     // Create Account
     public Account createAccount(CreateAccountRequest createAccountRequest) {
-        // Validate if the customer exists
-        Customer customer = customerRepository.findById(createAccountRequest.getCustomerId())
-                .orElseThrow(() -> new ResourceNotFoundException("Customer with ID " + createAccountRequest.getCustomerId() + " not found"));
-
+        // Validate if the customer exists; only a reference is needed to link the account, not the full row
+        Long customerId = createAccountRequest.getCustomerId();
+        if (!customerRepository.existsById(customerId)) {
+            throw new ResourceNotFoundException(ErrorCode.CUSTOMER_NOT_FOUND, "Customer with ID " + customerId + " not found");
+        }
+        Customer customer = customerRepository.getReferenceById(customerId);
 
         Account account = new Account();
         account.setCustomer(customer);
-        account.setAccountNumber(generateAccountNumber());
+        account.setAccountNumber(accountNumberGenerator.nextAccountNumber());
 
         account.setAccountType(createAccountRequest.getAccountType());
-        account.setBalance(0.0);
+        account.setBalanceMinor(0L);
         account.setStatus("Active");  // Default status
 
         // Save account to repository
-        return accountRepository.save(account);
+        Account savedAccount = accountRepository.save(account);
+        accountLookupCache.put(savedAccount.getAccountNumber(), savedAccount.getId());
+        accountSummaryCache.invalidate(customerId);
+        return savedAccount;
     }
 
-    private String generateAccountNumber() {
-        return "AC" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-    }
-
-    // Deposit Cash
-    public Account depositCash(String accountNumber, Double amount) {
-
-        if (amount == null || amount <= 0) {
-            throw new IllegalArgumentException("Amount must be greater than zero.");
-        }
-
-        Account account = accountRepository.findByAccountNumber(accountNumber);
+    // Deposit Cash; amount is in minor units
+    public Account depositCash(String accountNumber, long amount) {
 
-        if (account ==  null) {
-            throw new ResourceNotFoundException("Account with number '" + accountNumber + "' not found");
+        if (amount <= 0) {
+            throw ErrorCode.INVALID_AMOUNT.exception();
         }
-        if (account.getStatus().equals("Closed")) {
-            throw new IllegalArgumentException("Account with number '" + accountNumber + "' is closed");
 
+        Long accountId = resolveAccountId(accountNumber);
+        if (balanceEngine != null) {
+            return balanceEngine.deposit(accountNumber, accountId, amount); // Invalidates the summary once written behind
         }
-            account.setBalance(account.getBalance() + amount);
-            return accountRepository.save(account);
+        Account account = transactionTemplate.execute(status -> applyDeposit(accountNumber, accountId, amount));
+        accountSummaryCache.invalidateOwner(account);
+        return account;
     }
 
-    // Withdraw Cash
-    public Account withdrawCash(String accountNumber, Double amount) {
+    // Withdraw Cash; amount is in minor units
+    public Account withdrawCash(String accountNumber, long amount) {
 
-        if (amount == null || amount <= 0) {
-            throw new IllegalArgumentException("Amount must be greater than zero.");
+        if (amount <= 0) {
+            throw ErrorCode.INVALID_AMOUNT.exception();
         }
-        Account account = accountRepository.findByAccountNumber(accountNumber);
-        if (account ==  null) {
-            throw new ResourceNotFoundException("Account with number '" + accountNumber + "' not found");
+        Long accountId = resolveAccountId(accountNumber);
+        if (balanceEngine != null) {
+            return balanceEngine.withdraw(accountNumber, accountId, amount); // Invalidates the summary once written behind
         }
-        if (account.getStatus().equals("Active") && account.getBalance() >= amount) {
-            account.setBalance(account.getBalance() - amount);
-            return accountRepository.save(account);
-        }
-        throw new IllegalArgumentException("Insufficient balance or account is closed.");
+        Account account = transactionTemplate.execute(status -> applyWithdrawal(accountNumber, accountId, amount));
+        accountSummaryCache.invalidateOwner(account);
+        return account;
     }
 
     // Close Account
+    @Transactional
     public Account closeAccount(String accountNumber) {
         if (accountNumber == null || accountNumber.isEmpty()) {
-            throw new IllegalArgumentException("Account number cannot be null or empty");
+            throw new DomainException(ErrorCode.INVALID_REQUEST, "Account number cannot be null or empty");
         }
-
-        Account account = accountRepository.findByAccountNumber(accountNumber);
-        if (account == null) {
-            throw new ResourceNotFoundException("Account with number '" + accountNumber + "' not found");
+        if (balanceEngine != null) {
+            balanceEngine.holdForTransaction(List.of(accountNumber));
         }
+
+        Account account = loadAccount(accountNumber, resolveAccountId(accountNumber));
         // Check if account is already closed
         if ("Closed".equalsIgnoreCase(account.getStatus())) {
-            throw new IllegalArgumentException("Account with number '" + accountNumber + "' is already closed");
+            throw new DomainException(ErrorCode.ACCOUNT_CLOSED, "Account with number '" + accountNumber + "' is already closed");
         }
         account.setStatus("Closed");
-        return accountRepository.save(account);
+        Account closedAccount = accountRepository.save(account);
+        recordTransaction(closedAccount, TransactionType.CLOSE, 0L);
+        accountSummaryCache.invalidateOwner(closedAccount);
+        return closedAccount;
     }
 
     // Inquire Account
     public Account getAccountByNumber(String accountNumber) {
-        return accountRepository.findByAccountNumber(accountNumber);
+        Long accountId = accountLookupCache.resolveId(accountNumber, accountRepository::findIdByAccountNumber);
+        if (accountId == null) {
+            return null;
+        }
+        Account account = accountRepository.findById(accountId).orElse(null);
+        if (account == null) {
+            accountLookupCache.invalidate(accountNumber);
+        }
+        return account;
+    }
+
+    // Inquire Account as a column projection; returns null if the account does not exist
+    public AccountResponse getAccountResponse(String accountNumber) {
+        Long accountId = accountLookupCache.resolveId(accountNumber, accountRepository::findIdByAccountNumber);
+        if (accountId == null) {
+            return null;
+        }
+        AccountResponse response = accountRepository.findResponseById(accountId);
+        if (response == null) {
+            accountLookupCache.invalidate(accountNumber);
+        }
+        return response;
+    }
+
+    // Inquire Account together with its customer, fetched in the same SELECT
+    @Transactional(readOnly = true)
+    public AccountResponse getAccountWithCustomer(String accountNumber) {
+        Account account = accountRepository.findWithCustomerById(resolveAccountId(accountNumber));
+        if (account == null) {
+            accountLookupCache.invalidate(accountNumber);
+            throw new ResourceNotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Account with number '" + accountNumber + "' not found");
+        }
+        return AccountResponse.withCustomer(account);
+    }
+
+    // Account statement: one keyset page of ledger entries in [from, to), oldest first. Entries are stamped before they
+    // commit, so a cursor only ever points below the ledger watermark, behind which no entry can still appear; a page
+    // that reaches past it is cut short, and is empty (with the same cursor) while an older write is still in flight
+    public TransactionPage getStatement(String accountNumber, Instant from, Instant to, String cursor, int size) {
+        if (size < 1 || size > MAX_STATEMENT_PAGE_SIZE) {
+            throw new DomainException(ErrorCode.INVALID_REQUEST, "Page size must be between 1 and " + MAX_STATEMENT_PAGE_SIZE);
+        }
+        Instant rangeFrom = from == null ? Instant.EPOCH : from;
+        Instant rangeTo = to == null ? STATEMENT_END : to;
+        Instant seekFrom = rangeFrom;
+        long afterId = 0L;
+        if (cursor != null && !cursor.isEmpty()) {
+            long[] keys = CursorCodec.decode(cursor, 2);
+            Instant cursorTime = Instant.EPOCH.plus(keys[0], ChronoUnit.MICROS);
+            if (cursorTime.isAfter(rangeFrom)) {
+                seekFrom = cursorTime;
+            }
+            afterId = keys[1];
+        }
+
+        Long accountId = resolveAccountId(accountNumber);
+        Instant watermark = ledgerWatermark.current(); // Before the query, so everything stamped earlier is visible to it
+        List<Transaction> entries = transactionRepository.findStatementPage(
+                accountId, seekFrom, rangeTo, afterId, Limit.of(size + 1));
+        if (entries.size() <= size) {
+            return new TransactionPage(entries, null); // The last page has no cursor that a late entry could fall behind
+        }
+        int end = size;
+        while (end > 0 && !entries.get(end - 1).getCreatedAt().isBefore(watermark)) {
+            end--;
+        }
+        if (end == 0) {
+            return new TransactionPage(List.of(), CursorCodec.encode(ChronoUnit.MICROS.between(Instant.EPOCH, seekFrom), afterId));
+        }
+        List<Transaction> page = entries.subList(0, end);
+        Transaction last = page.get(end - 1);
+        return new TransactionPage(page, CursorCodec.encode(
+                ChronoUnit.MICROS.between(Instant.EPOCH, last.getCreatedAt()), last.getId()));
+    }
+
+    // Account summary of one customer. The totals come from one GROUP BY and are cached briefly; with includeAccounts
+    // the accounts are read with one projection query instead and the totals are computed from them, uncached
+    public CustomerAccountSummary getAccountSummary(Long customerId, boolean includeAccounts) {
+        CustomerAccountSummary summary;
+        if (includeAccounts) {
+            List<AccountResponse> accounts = accountRepository.findResponsesByCustomerId(customerId);
+            List<AccountTotals> rows = accounts.stream()
+                    .map(account -> new AccountTotals(customerId, account.getAccountType(), account.getStatus(), 1,
+                            Money.toMinorUnits(account.getBalance())))
+                    .toList();
+            summary = CustomerAccountSummary.of(customerId, rows, accounts);
+        } else {
+            summary = summarize(List.of(customerId)).get(customerId);
+        }
+        // Only an empty summary needs the extra lookup to tell a customer without accounts from a missing one
+        if (summary.getAccountTypes().isEmpty() && !customerRepository.existsById(customerId)) {
+            throw new ResourceNotFoundException(ErrorCode.CUSTOMER_NOT_FOUND, "Customer with ID '" + customerId + "' not found");
+        }
+        return summary;
+    }
+
+    // Account summaries for a keyset page of customers: one query for the page's ids, one GROUP BY for the uncached ones
+    public AccountSummaryPage getAccountSummaryPage(String cursor, int size) {
+        if (size < 1 || size > CustomerService.MAX_PAGE_SIZE) {
+            throw new DomainException(ErrorCode.INVALID_REQUEST, "Page size must be between 1 and " + CustomerService.MAX_PAGE_SIZE);
+        }
+        long afterId = cursor == null || cursor.isEmpty() ? 0L : CursorCodec.decode(cursor, 1)[0];
+        List<Long> customerIds = customerRepository.findIdsAfter(afterId, Limit.of(size + 1));
+        String nextCursor = null;
+        if (customerIds.size() > size) {
+            customerIds = customerIds.subList(0, size);
+            nextCursor = CursorCodec.encode(customerIds.get(size - 1));
+        }
+        Map<Long, CustomerAccountSummary> summaries = summarize(customerIds);
+        return new AccountSummaryPage(customerIds.stream().map(summaries::get).toList(), nextCursor);
+    }
+
+    private Map<Long, CustomerAccountSummary> summarize(List<Long> customerIds) {
+        return accountSummaryCache.getAll(customerIds, missing -> {
+            Map<Long, List<AccountTotals>> rows = new HashMap<>();
+            for (AccountTotals row : accountRepository.findTotalsByCustomerIdIn(List.copyOf(missing))) {
+                rows.computeIfAbsent(row.customerId(), id -> new ArrayList<>()).add(row);
+            }
+            Map<Long, CustomerAccountSummary> loaded = new HashMap<>();
+            for (Long customerId : missing) {
+                loaded.put(customerId, CustomerAccountSummary.of(customerId, rows.getOrDefault(customerId, List.of()), null));
+            }
+            return loaded;
+        });
+    }
+
+    private Account applyDeposit(String accountNumber, Long accountId, long amount) {
+        if (accountRepository.depositIfActive(accountId, amount) == 0) {
+            loadAccount(accountNumber, accountId);
+            bankMetrics.accountClosed();
+            throw new DomainException(ErrorCode.ACCOUNT_CLOSED, "Account with number '" + accountNumber + "' is closed");
+        }
+        // Still holding the row lock, so this reads our own update
+        Account account = loadAccount(accountNumber, accountId);
+        recordTransaction(account, TransactionType.DEPOSIT, amount);
+        bankMetrics.deposit();
+        return account;
+    }
+
+    private Account applyWithdrawal(String accountNumber, Long accountId, long amount) {
+        if (accountRepository.withdrawIfSufficient(accountId, amount) == 0) {
+            Account rejected = loadAccount(accountNumber, accountId);
+            if (!"Active".equals(rejected.getStatus())) {
+                bankMetrics.accountClosed();
+                throw new DomainException(ErrorCode.ACCOUNT_CLOSED, "Account with number '" + accountNumber + "' is closed");
+            }
+            bankMetrics.insufficientBalance();
+            throw ErrorCode.INSUFFICIENT_BALANCE.exception();
+        }
+        Account account = loadAccount(accountNumber, accountId);
+        recordTransaction(account, TransactionType.WITHDRAWAL, amount);
+        bankMetrics.withdrawal();
+        return account;
+    }
+
+    // Append a ledger entry in the caller's transaction; the insert is flushed with the commit
+    private void recordTransaction(Account account, TransactionType type, long amount) {
+        ledgerWatermark.enlist();
+        transactionRepository.save(new Transaction(account.getId(), type, amount, account.getBalanceMinor()));
+    }
+
+    // Resolve an account number to its id through the lookup cache
+    private Long resolveAccountId(String accountNumber) {
+        Long accountId = accountLookupCache.resolveId(accountNumber, accountRepository::findIdByAccountNumber);
+        if (accountId == null) {
+            throw new ResourceNotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Account with number '" + accountNumber + "' not found");
+        }
+        return accountId;
+    }
+
+    // Load by primary key; a cached id whose row is gone is dropped from the cache
+    private Account loadAccount(String accountNumber, Long accountId) {
+        return accountRepository.findById(accountId).orElseThrow(() -> {
+            accountLookupCache.invalidate(accountNumber);
+            return new ResourceNotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Account with number '" + accountNumber + "' not found");
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,93 @@
+package com.maybank.assignment.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maybank.assignment.dto.CacheStatsResponse;
+import com.maybank.assignment.dto.CustomerAccountSummary;
+import com.maybank.assignment.model.Account;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of per-customer account summaries (without the account lists).
+ * Account mutations invalidate the owner's entry once they commit; the TTL bounds how long a summary computed
+ * concurrently with a mutation can stay stale. A TTL of zero disables caching.
+ * Hit rate, size and evictions are published as {@code cache.*} meters tagged {@code cache=account_summary}.
+ */
+@Component
+public class AccountSummaryCache implements MeterBinder {
+
+    private final Cache<Long, CustomerAccountSummary> summaries;
+
+    public AccountSummaryCache(@Value("${bank.account-summary.cache.maximum-size:10000}") long maximumSize,
+                               @Value("${bank.account-summary.cache.ttl:5s}") Duration ttl) {
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(ttl.isZero() ? 0 : maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached summaries of the customers, computing the missing ones with a single call.
+     *
+     * @param customerIds the customers to summarize.
+     * @param loader computes the summaries of the customers that are not cached.
+     * @return the summaries by customer id.
+     */
+    public Map<Long, CustomerAccountSummary> getAll(Collection<Long> customerIds,
+                                                   Function<Set<? extends Long>, Map<Long, CustomerAccountSummary>> loader) {
+        return summaries.getAll(customerIds, loader::apply);
+    }
+
+    /**
+     * Drops a customer's summary once the current transaction commits, or right away outside a transaction.
+     *
+     * @param customerId the customer whose accounts changed; ignored if null (an archived account).
+     */
+    public void invalidate(Long customerId) {
+        if (customerId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    summaries.invalidate(customerId);
+                }
+            });
+        } else {
+            summaries.invalidate(customerId);
+        }
+    }
+
+    /**
+     * Drops the summary of the account's owner, like {@link #invalidate(Long)}.
+     *
+     * @param account the account that changed.
+     */
+    public void invalidateOwner(Account account) {
+        // getId() on a lazy customer proxy does not load the customer
+        invalidate(account.getCustomer() == null ? null : account.getCustomer().getId());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, summaries, "account_summary");
+    }
+
+    public CacheStatsResponse stats() {
+        return CacheStatsResponse.from(summaries.stats(), summaries.estimatedSize());
+    }
+}
@@ -0,0 +1,101 @@
+package com.maybank.assignment.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Business counters for the account hot paths.
+ * Every counter is registered once up front, so recording is a single lock-free add with no registry lookup.
+ */
+@Component
+public class BankMetrics {
+
+    private final Counter deposits;
+    private final Counter withdrawals;
+    private final Counter transfers;
+    private final Counter insufficientBalance;
+    private final Counter accountClosed;
+    private final Counter notFound;
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+
+    public BankMetrics(MeterRegistry registry) {
+        this.deposits = Counter.builder("bank.deposits").description("Deposits applied").register(registry);
+        this.withdrawals = Counter.builder("bank.withdrawals").description("Withdrawals applied").register(registry);
+        this.transfers = Counter.builder("bank.transfers").description("Transfers applied").register(registry);
+        this.insufficientBalance = rejections(registry, "insufficient_balance");
+        this.accountClosed = rejections(registry, "account_closed");
+        this.notFound = Counter.builder("bank.not_found")
+                .description("Requests rejected because the customer or account does not exist").register(registry);
+        this.importedRows = Counter.builder("bank.import.rows").tag("outcome", "imported")
+                .description("Bulk import rows processed").register(registry);
+        this.rejectedRows = Counter.builder("bank.import.rows").tag("outcome", "rejected")
+                .description("Bulk import rows processed").register(registry);
+    }
+
+    private static Counter rejections(MeterRegistry registry, String reason) {
+        return Counter.builder("bank.rejections").tag("reason", reason)
+                .description("Balance operations rejected by a business rule").register(registry);
+    }
+
+    public void deposit() {
+        deposits.increment();
+    }
+
+    public void deposits(int count) {
+        if (count > 0) {
+            deposits.increment(count);
+        }
+    }
+
+    public void withdrawal() {
+        withdrawals.increment();
+    }
+
+    public void withdrawals(int count) {
+        if (count > 0) {
+            withdrawals.increment(count);
+        }
+    }
+
+    public void transfer() {
+        transfers.increment();
+    }
+
+    public void insufficientBalance() {
+        insufficientBalance.increment();
+    }
+
+    public void insufficientBalance(int count) {
+        if (count > 0) {
+            insufficientBalance.increment(count);
+        }
+    }
+
+    public void accountClosed() {
+        accountClosed.increment();
+    }
+
+    public void accountClosed(int count) {
+        if (count > 0) {
+            accountClosed.increment(count);
+        }
+    }
+
+    public void notFound() {
+        notFound.increment();
+    }
+
+    public void importedRows(int count) {
+        if (count > 0) {
+            importedRows.increment(count);
+        }
+    }
+
+    public void rejectedRows(int count) {
+        if (count > 0) {
+            rejectedRows.increment(count);
+        }
+    }
+}
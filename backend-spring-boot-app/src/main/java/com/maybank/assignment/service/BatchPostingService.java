@@ -0,0 +1,210 @@
+package com.maybank.assignment.service;
+
+import com.maybank.assignment.dto.PostingInstruction;
+import com.maybank.assignment.dto.PostingResult;
+import com.maybank.assignment.engine.BalanceEngine;
+import com.maybank.assignment.exception.DomainException;
+import com.maybank.assignment.exception.ErrorCode;
+import com.maybank.assignment.model.Account;
+import com.maybank.assignment.model.Money;
+import com.maybank.assignment.model.Transaction;
+import com.maybank.assignment.model.TransactionType;
+import com.maybank.assignment.repository.AccountRepository;
+import com.maybank.assignment.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Applies deposits and withdrawals in bulk.
+ * <p>
+ * Instructions are processed in chunks. Each chunk runs in its own transaction: the accounts it touches
+ * are loaded and row-locked with one query, the instructions are applied in order in memory, and the
+ * changed balances and their ledger entries are flushed as JDBC batches on commit. An invalid
+ * instruction is rejected on its own; a chunk that cannot be committed reports all of its items as
+ * failed so they can be retried.
+ */
+@Service
+public class BatchPostingService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchPostingService.class);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountSummaryCache accountSummaryCache;
+
+    @Autowired
+    private BankMetrics bankMetrics;
+
+    @Autowired
+    private LedgerWatermark ledgerWatermark;
+
+    @Autowired(required = false)
+    private BalanceEngine balanceEngine; // Only with bank.engine.mode=sharded
+
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BatchPostingService(PlatformTransactionManager transactionManager,
+                               @Value("${bank.batch.chunk-size:500}") int chunkSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Posts a list of instructions.
+     *
+     * @param instructions the deposits and withdrawals to apply, in order.
+     * @return one result per instruction, in request order.
+     */
+    public List<PostingResult> post(List<PostingInstruction> instructions) {
+        List<PostingResult> results = new ArrayList<>(instructions.size());
+        post(instructions.iterator(), results::add);
+        return results;
+    }
+
+    /**
+     * Posts instructions as they are read, so arbitrarily large inputs can be processed with bounded memory.
+     *
+     * @param instructions the deposits and withdrawals to apply, in order.
+     * @param sink receives one result per instruction, in request order, after each chunk completes.
+     */
+    public void post(Iterator<PostingInstruction> instructions, Consumer<PostingResult> sink) {
+        List<PostingInstruction> chunk = new ArrayList<>(chunkSize);
+        int offset = 0;
+        while (instructions.hasNext()) {
+            chunk.add(instructions.next());
+            if (chunk.size() == chunkSize) {
+                postChunk(chunk, offset).forEach(sink);
+                offset += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            postChunk(chunk, offset).forEach(sink);
+        }
+    }
+
+    private List<PostingResult> postChunk(List<PostingInstruction> chunk, int offset) {
+        try {
+            Tally tally = new Tally();
+            List<PostingResult> results = transactionTemplate.execute(status -> applyChunk(chunk, offset, tally));
+            tally.publish(bankMetrics); // Only once the chunk has committed
+            return results;
+        } catch (DataAccessException ex) {
+            log.warn("Batch chunk at offset {} rolled back", offset, ex);
+            List<PostingResult> failed = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                failed.add(PostingResult.failed(offset + i, chunk.get(i).getAccountNumber(),
+                        "Chunk could not be committed; retry the instruction"));
+            }
+            return failed;
+        }
+    }
+
+    private List<PostingResult> applyChunk(List<PostingInstruction> chunk, int offset, Tally tally) {
+        Set<String> accountNumbers = new HashSet<>();
+        for (PostingInstruction instruction : chunk) {
+            if (instruction.getAccountNumber() != null) {
+                accountNumbers.add(instruction.getAccountNumber());
+            }
+        }
+        if (balanceEngine != null) {
+            balanceEngine.holdForTransaction(accountNumbers);
+        }
+        Map<String, Account> accounts = new HashMap<>();
+        for (Account account : accountRepository.findAllForUpdateByAccountNumberIn(accountNumbers)) {
+            accounts.put(account.getAccountNumber(), account);
+        }
+
+        List<PostingResult> results = new ArrayList<>(chunk.size());
+        List<Transaction> ledgerEntries = new ArrayList<>(chunk.size());
+        ledgerWatermark.enlist(); // Before the entries below are stamped
+        for (int i = 0; i < chunk.size(); i++) {
+            results.add(apply(offset + i, chunk.get(i), accounts, ledgerEntries, tally));
+        }
+        transactionRepository.saveAll(ledgerEntries);
+        accounts.values().forEach(accountSummaryCache::invalidateOwner);
+        // Dirty checking turns every changed account into one batched UPDATE at commit, next to the ledger INSERTs
+        return results;
+    }
+
+    private PostingResult apply(int index, PostingInstruction instruction, Map<String, Account> accounts,
+                                List<Transaction> ledgerEntries, Tally tally) {
+        String accountNumber = instruction.getAccountNumber();
+        boolean deposit = PostingInstruction.DEPOSIT.equals(instruction.getType());
+        if (!deposit && !PostingInstruction.WITHDRAW.equals(instruction.getType())) {
+            return PostingResult.rejected(index, accountNumber, "Type must be either 'DEPOSIT' or 'WITHDRAW'");
+        }
+        if (instruction.getAmount() == null || instruction.getAmount().signum() <= 0) {
+            return PostingResult.rejected(index, accountNumber, "Amount must be greater than zero.");
+        }
+        long amount;
+        try {
+            amount = Money.toMinorUnits(instruction.getAmount());
+        } catch (DomainException ex) {
+            return PostingResult.rejected(index, accountNumber, ex.getMessage());
+        }
+
+        Account account = accounts.get(accountNumber);
+        if (account == null) {
+            return PostingResult.rejected(index, accountNumber, "Account with number '" + accountNumber + "' not found");
+        }
+        if (deposit) {
+            if (!"Active".equals(account.getStatus())) {
+                tally.accountClosed++;
+                return PostingResult.rejected(index, accountNumber, "Account with number '" + accountNumber + "' is closed");
+            }
+            account.setBalanceMinor(account.getBalanceMinor() + amount);
+            ledgerEntries.add(new Transaction(account.getId(), TransactionType.DEPOSIT, amount, account.getBalanceMinor()));
+            tally.deposits++;
+        } else {
+            if (!"Active".equals(account.getStatus())) {
+                tally.accountClosed++;
+                return PostingResult.rejected(index, accountNumber, "Account with number '" + accountNumber + "' is closed");
+            }
+            if (account.getBalanceMinor() < amount) {
+                tally.insufficientBalance++;
+                return PostingResult.rejected(index, accountNumber, ErrorCode.INSUFFICIENT_BALANCE.getMessage());
+            }
+            account.setBalanceMinor(account.getBalanceMinor() - amount);
+            ledgerEntries.add(new Transaction(account.getId(), TransactionType.WITHDRAWAL, amount, account.getBalanceMinor()));
+            tally.withdrawals++;
+        }
+        return PostingResult.applied(index, accountNumber, account.getBalance());
+    }
+
+    // Outcome counts of one chunk, published to the metrics after it commits
+    private static final class Tally {
+        int deposits;
+        int withdrawals;
+        int insufficientBalance;
+        int accountClosed;
+
+        void publish(BankMetrics bankMetrics) {
+            bankMetrics.deposits(deposits);
+            bankMetrics.withdrawals(withdrawals);
+            bankMetrics.insufficientBalance(insufficientBalance);
+            bankMetrics.accountClosed(accountClosed);
+        }
+    }
+}
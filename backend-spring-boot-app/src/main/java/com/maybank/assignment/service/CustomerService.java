@@ -1,24 +1,76 @@
 package com.maybank.assignment.service;
 
+import com.maybank.assignment.dto.BulkDeleteResponse;
+import com.maybank.assignment.dto.CustomerPage;
+import com.maybank.assignment.dto.CustomerPatch;
+import com.maybank.assignment.engine.BalanceEngine;
+import com.maybank.assignment.exception.DomainException;
+import com.maybank.assignment.exception.ErrorCode;
+import com.maybank.assignment.exception.PreconditionFailedException;
 import com.maybank.assignment.exception.ResourceNotFoundException;
 import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.repository.AccountRepository;
 import com.maybank.assignment.repository.CustomerRepository;
+import com.maybank.assignment.repository.TransactionRepository;
+import com.maybank.assignment.util.CursorCodec;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 public class CustomerService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BULK_DELETE = 1000;
+
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountSummaryCache accountSummaryCache;
+
+    @Autowired
+    private LedgerWatermark ledgerWatermark;
+
+    @Autowired(required = false)
+    private BalanceEngine balanceEngine; // Only with bank.engine.mode=sharded
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     // Create Customer
     public Customer createCustomer(String name, String email, String phone, java.util.Date dateOfBirth) {
         Customer customer = new Customer(name, email, phone, dateOfBirth);
-        return customerRepository.save(customer);
+        return saveCustomer(customer);
     }
 
     // Inquire Customer
@@ -28,16 +80,161 @@ public class CustomerService {
     public List<Customer> getAllCustomers() {
         return customerRepository.findAll();
     }
+
+    // List Customers one keyset page at a time, ordered by id
+    public CustomerPage getCustomerPage(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new DomainException(ErrorCode.INVALID_REQUEST, "Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long afterId = cursor == null || cursor.isEmpty() ? 0L : CursorCodec.decode(cursor, 1)[0];
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<Customer> customers = customerRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1));
+        return toPage(customers, size, last -> CursorCodec.encode(last.getId()));
+    }
+
+    // Search Customers by exactly one criterion: exact email, exact phone or case-insensitive name prefix.
+    // Results come in keyset pages like getCustomerPage; every search is a range scan on one index.
+    public CustomerPage searchCustomers(String email, String phone, String name, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new DomainException(ErrorCode.INVALID_REQUEST, "Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        int criteria = (hasText(email) ? 1 : 0) + (hasText(phone) ? 1 : 0) + (hasText(name) ? 1 : 0);
+        if (criteria != 1) {
+            throw new DomainException(ErrorCode.INVALID_REQUEST, "Specify exactly one of email, phone or name.");
+        }
+        boolean firstPage = cursor == null || cursor.isEmpty();
+
+        if (hasText(email)) {
+            // Unique, so a single page
+            List<Customer> customers = customerRepository.findByEmail(email.trim()).map(List::of).orElse(List.of());
+            return new CustomerPage(customers, null);
+        }
+        if (hasText(phone)) {
+            long afterId = firstPage ? 0L : CursorCodec.decode(cursor, 1)[0];
+            List<Customer> customers = customerRepository.findByPhoneAndIdGreaterThanOrderByIdAsc(
+                    phone.trim(), afterId, Limit.of(size + 1));
+            return toPage(customers, size, last -> CursorCodec.encode(last.getId()));
+        }
+
+        String prefix = name.trim().toLowerCase(Locale.ROOT);
+        // Smallest string greater than every string starting with the prefix
+        String prefixEnd = prefix.substring(0, prefix.length() - 1) + (char) (prefix.charAt(prefix.length() - 1) + 1);
+        CursorCodec.KeyedCursor after = firstPage ? new CursorCodec.KeyedCursor(prefix, 0L) : CursorCodec.decodeKeyed(cursor);
+        if (after.key().compareTo(prefix) < 0) {
+            throw ErrorCode.INVALID_CURSOR.exception();
+        }
+        // The range starts at the cursor rather than the prefix, so deep pages do not rescan earlier rows
+        List<Customer> customers = customerRepository.findByNamePrefix(
+                after.key(), prefixEnd, after.key(), after.id(), Limit.of(size + 1));
+        return toPage(customers, size, last -> CursorCodec.encode(last.getNameLower(), last.getId()));
+    }
+
+    private static CustomerPage toPage(List<Customer> customers, int size, Function<Customer, String> cursorOf) {
+        if (customers.size() <= size) {
+            return new CustomerPage(customers, null);
+        }
+        List<Customer> page = customers.subList(0, size);
+        return new CustomerPage(page, cursorOf.apply(page.get(size - 1)));
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    // Stream every Customer to the sink; each row is detached once handed over so memory stays flat
+    @Transactional(readOnly = true)
+    public void streamAllCustomers(Consumer<Customer> sink) {
+        try (Stream<Customer> customers = customerRepository.streamAllOrderById()) {
+            customers.forEach(customer -> {
+                sink.accept(customer);
+                entityManager.detach(customer);
+            });
+        }
+    }
     public Customer saveCustomer(Customer customer) {
-        return customerRepository.save(customer);
+        try {
+            return customerRepository.save(customer);
+        } catch (DataIntegrityViolationException ex) {
+            // uk_customer_email is the only constraint a valid customer can violate
+            throw new DomainException(ErrorCode.DUPLICATE_EMAIL, "Customer with email '" + customer.getEmail() + "' already exists.");
+        }
+    }
+    // Partially update a Customer with one targeted UPDATE of the supplied columns (no read-modify-write).
+    // With an expected version the UPDATE only matches that version, so a concurrent edit is never overwritten.
+    // Returns the new version when the expected one was given, otherwise null (it is not read back).
+    @Transactional
+    public Long patchCustomer(Long id, CustomerPatch patch, Long expectedVersion) {
+        if (patch == null || patch.isEmpty()) {
+            throw new DomainException(ErrorCode.INVALID_REQUEST, "At least one of name, email, phone or dateOfBirth must be given");
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Customer> update = cb.createCriteriaUpdate(Customer.class);
+        Root<Customer> customer = update.from(Customer.class);
+        if (patch.getName() != null) {
+            update.set(customer.<String>get("name"), patch.getName());
+        }
+        if (patch.getEmail() != null) {
+            update.set(customer.<String>get("email"), patch.getEmail());
+        }
+        if (patch.getPhone() != null) {
+            update.set(customer.<String>get("phone"), patch.getPhone());
+        }
+        if (patch.getDateOfBirth() != null) {
+            update.set(customer.<Date>get("dateOfBirth"), patch.getDateOfBirth());
+        }
+        update.set(customer.<Long>get("version"), cb.sum(customer.<Long>get("version"), 1L));
+        Predicate match = cb.equal(customer.get("id"), id);
+        if (expectedVersion != null) {
+            match = cb.and(match, cb.equal(customer.get("version"), expectedVersion));
+        }
+        update.where(match);
+
+        int updated;
+        try {
+            updated = entityManager.createQuery(update).executeUpdate();
+        } catch (ConstraintViolationException ex) {
+            throw new DomainException(ErrorCode.DUPLICATE_EMAIL, "Customer with email '" + patch.getEmail() + "' already exists.");
+        }
+        if (updated == 0) {
+            // Only on failure: tell a stale version apart from a missing customer
+            if (expectedVersion != null && customerRepository.existsById(id)) {
+                throw new PreconditionFailedException("Customer with ID '" + id + "' was modified by someone else. Reload and retry.");
+            }
+            throw new ResourceNotFoundException(ErrorCode.CUSTOMER_NOT_FOUND, "Customer with ID '" + id + "' not found");
+        }
+        return expectedVersion == null ? null : expectedVersion + 1;
     }
+
+    // Delete a Customer; its accounts are closed and archived rather than deleted
+    @Transactional
     public void deleteCustomerById(Long id) {
-        Optional<Customer> customerOptional = customerRepository.findById(id);
+        if (deleteCustomers(List.of(id)).getDeleted() == 0) {
+            // Nothing was archived either: no account can reference a customer that does not exist
+            throw new ResourceNotFoundException(ErrorCode.CUSTOMER_NOT_FOUND, "Customer with ID '" + id + "' not found");
+        }
+    }
 
-        if (customerOptional.isPresent()) {
-            customerRepository.deleteById(id); // Delete customer from the database
-        } else {
-            throw new ResourceNotFoundException("Customer with ID '" + id + "' not found");
+    // Delete many Customers in one transaction and a fixed number of statements, whatever the number of ids:
+    // one INSERT ... SELECT for the CLOSE ledger entries, one UPDATE archiving the accounts, one DELETE.
+    // Ids that do not exist are skipped.
+    @Transactional
+    public BulkDeleteResponse deleteCustomers(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BULK_DELETE) {
+            throw new DomainException(ErrorCode.INVALID_REQUEST, "Between 1 and " + MAX_BULK_DELETE + " customer ids must be given");
+        }
+        Set<Long> distinctIds = new HashSet<>(ids);
+        if (distinctIds.contains(null)) {
+            throw new DomainException(ErrorCode.INVALID_REQUEST, "Customer ids cannot be null");
+        }
+        if (balanceEngine != null) {
+            balanceEngine.holdForTransaction(accountRepository.findAccountNumbersByCustomerIdIn(distinctIds));
         }
+        ledgerWatermark.enlist();
+        transactionRepository.recordCloseForActiveAccountsOf(distinctIds, Instant.now().truncatedTo(ChronoUnit.MICROS));
+        int archived = accountRepository.archiveByCustomerIdIn(distinctIds);
+        int deleted = customerRepository.deleteByIdIn(distinctIds);
+        distinctIds.forEach(accountSummaryCache::invalidate);
+        return new BulkDeleteResponse(distinctIds.size(), deleted, archived);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,193 @@
+package com.maybank.assignment.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maybank.assignment.model.IdempotencyRecord;
+import com.maybank.assignment.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Dedup store for requests carrying an {@code Idempotency-Key}.
+ * <p>
+ * Keys live in a Caffeine cache bounded by the total size of the stored responses and expired after the TTL,
+ * so lookups are a hash probe and memory stays capped whatever the request rate. Completed responses are also
+ * written to the {@code idempotency_record} table, which answers keys the cache has evicted and survives restarts;
+ * expired rows are purged periodically. A key is claimed in memory before the request runs, so a concurrent
+ * duplicate is turned away instead of executing twice.
+ */
+@Component
+public class IdempotencyStore implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+    private static final int ENTRY_OVERHEAD_BYTES = 256; // Key, fingerprint and object headers
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final Cache<String, Entry> entries;
+    private final Duration ttl;
+
+    public IdempotencyStore(@Value("${bank.idempotency.cache.max-memory:64MB}") DataSize maxMemory,
+                            @Value("${bank.idempotency.ttl:24h}") Duration ttl) {
+        this.ttl = ttl;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((String key, Entry entry) -> ENTRY_OVERHEAD_BYTES + key.length() * 2
+                        + (entry.body == null ? 0 : entry.body.length))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Claims a key for a new request, or reports why the request must not run.
+     *
+     * @param key the client's idempotency key.
+     * @param fingerprint hash identifying the request the key was first used with.
+     * @return CLAIMED if the caller should run the request and then {@link #complete} or {@link #release} the key;
+     *         otherwise REPLAY with the stored response, IN_FLIGHT, or MISMATCH.
+     */
+    public Lookup begin(String key, String fingerprint) {
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null) {
+            Instant now = Instant.now();
+            IdempotencyRecord record = idempotencyRecordRepository.findById(key).orElse(null);
+            if (record != null && !record.getExpiresAt().isAfter(now)) {
+                idempotencyRecordRepository.deleteExpired(key, now); // Expired keys may be reused
+                record = null;
+            }
+            if (record != null) {
+                entry = Entry.completed(record.getFingerprint(), record.getStatus(), record.getContentType(), record.getBody());
+                entries.put(key, entry);
+            } else {
+                Entry prior = entries.asMap().putIfAbsent(key, Entry.inFlight(fingerprint));
+                if (prior == null) {
+                    return Lookup.CLAIMED;
+                }
+                entry = prior;
+            }
+        }
+        if (!entry.fingerprint.equals(fingerprint)) {
+            return Lookup.MISMATCH;
+        }
+        return entry.completed ? new Lookup(Lookup.Outcome.REPLAY, entry) : Lookup.IN_FLIGHT;
+    }
+
+    /**
+     * Stores the response of a claimed request, in memory and in the fallback table.
+     */
+    public void complete(String key, String fingerprint, int status, String contentType, byte[] body) {
+        try {
+            idempotencyRecordRepository.save(
+                    new IdempotencyRecord(key, fingerprint, status, contentType, body, Instant.now().plus(ttl)));
+        } catch (DataIntegrityViolationException ex) {
+            if (idempotencyRecordRepository.existsById(key)) {
+                // Another instance sharing the database stored this key first; the local response is still served from memory
+                log.debug("Idempotency record for key {} already exists", key);
+            } else {
+                // Not persisted: after a restart, or on another instance, a retry would run the request again
+                log.warn("Could not store idempotency record for key {}", key, ex);
+            }
+        }
+        entries.put(key, Entry.completed(fingerprint, status, contentType, body));
+    }
+
+    /**
+     * Gives up a claimed key without storing a response, so the client may retry.
+     */
+    public void release(String key) {
+        entries.invalidate(key);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, entries, "idempotency");
+    }
+
+    @Scheduled(fixedDelayString = "${bank.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        int purged = idempotencyRecordRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency records", purged);
+        }
+    }
+
+    /**
+     * Cached state of one key: claimed by a running request, or completed with its response.
+     */
+    public static final class Entry {
+        private final String fingerprint;
+        private final boolean completed;
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+
+        private Entry(String fingerprint, boolean completed, int status, String contentType, byte[] body) {
+            this.fingerprint = fingerprint;
+            this.completed = completed;
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        static Entry inFlight(String fingerprint) {
+            return new Entry(fingerprint, false, 0, null, null);
+        }
+
+        static Entry completed(String fingerprint, int status, String contentType, byte[] body) {
+            return new Entry(fingerprint, true, status, contentType, body);
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+
+    /**
+     * Result of {@link #begin}.
+     */
+    public static final class Lookup {
+        public enum Outcome { CLAIMED, REPLAY, IN_FLIGHT, MISMATCH }
+
+        static final Lookup CLAIMED = new Lookup(Outcome.CLAIMED, null);
+        static final Lookup IN_FLIGHT = new Lookup(Outcome.IN_FLIGHT, null);
+        static final Lookup MISMATCH = new Lookup(Outcome.MISMATCH, null);
+
+        private final Outcome outcome;
+        private final Entry response;
+
+        private Lookup(Outcome outcome, Entry response) {
+            this.outcome = outcome;
+            this.response = response;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public Entry getResponse() {
+            return response;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.maybank.assignment.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the ledger writers that have not committed yet, so statements know up to which instant the ledger is final.
+ * <p>
+ * A ledger entry's timestamp is taken before it commits, so an entry can become visible after entries with later
+ * timestamps. Every writer registers before it takes its entries' timestamps and deregisters once they are committed;
+ * {@link #current()} is then an instant before which no entry can still appear. Writers are database transactions
+ * ({@link #enlist()}) and the balance engine's batches, which are committed by its write-behind ({@link #open()}).
+ */
+@Component
+public class LedgerWatermark {
+
+    // Identity, not value equality: writers that start in the same microsecond are still told apart
+    private static final class Writer {
+        final Instant since;
+
+        Writer(Instant since) {
+            this.since = since;
+        }
+    }
+
+    private final Set<Writer> writers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Registers the current transaction as a ledger writer until it completes. Call it before creating its entries;
+     * repeated calls in one transaction register it once.
+     */
+    public void enlist() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Ledger entries can only be written in an active transaction");
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        Writer writer = register();
+        TransactionSynchronizationManager.bindResource(this, writer);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(LedgerWatermark.this);
+                writers.remove(writer);
+            }
+        });
+    }
+
+    /**
+     * Registers a writer whose entries are committed outside the caller's transaction.
+     *
+     * @return deregisters the writer; run it once its entries are committed or discarded.
+     */
+    public Runnable open() {
+        Writer writer = register();
+        return () -> writers.remove(writer);
+    }
+
+    /**
+     * Returns an instant before which every ledger entry is committed: now, or the start of the oldest open writer.
+     * Truncated to the ledger's microsecond precision.
+     */
+    public Instant current() {
+        Instant watermark = now(); // Read before the scan: a writer not seen by it starts, and stamps, after this
+        for (Writer writer : writers) {
+            if (writer.since.isBefore(watermark)) {
+                watermark = writer.since;
+            }
+        }
+        return watermark;
+    }
+
+    private Writer register() {
+        Writer writer = new Writer(now());
+        writers.add(writer);
+        return writer;
+    }
+
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
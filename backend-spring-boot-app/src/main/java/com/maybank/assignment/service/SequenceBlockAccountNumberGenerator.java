@@ -0,0 +1,136 @@
+package com.maybank.assignment.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Account number generator backed by block-allocated ranges of a database sequence.
+ * <p>
+ * Each call to the block allocator reserves {@code blockSize} consecutive values, so the database is
+ * hit once per block. Numbers inside a block are handed out lock-free from an {@link AtomicLong}; only
+ * the thread that exhausts a block takes a lock to fetch the next one. Numbers are formatted as
+ * {@code AC} followed by a zero-padded 10-digit sequence value and a Luhn check digit.
+ * Values lost in a partially used block after a restart are simply skipped, never reused.
+ */
+public class SequenceBlockAccountNumberGenerator implements AccountNumberGenerator {
+
+    static final String PREFIX = "AC";
+    static final int BODY_DIGITS = 10;
+    private static final long MAX_BODY = 9_999_999_999L;
+
+    private final LongSupplier blockAllocator;
+    private final int blockSize;
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private volatile Block current = new Block(0, 0);
+
+    /**
+     * @param blockAllocator reserves a new block and returns its first value.
+     * @param blockSize the number of values reserved by each call to the allocator.
+     */
+    public SequenceBlockAccountNumberGenerator(LongSupplier blockAllocator, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.blockAllocator = blockAllocator;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public String nextAccountNumber() {
+        while (true) {
+            Block block = current;
+            long value = block.next.getAndIncrement();
+            if (value < block.end) {
+                return format(value);
+            }
+            refill(block);
+        }
+    }
+
+    // Only one thread replaces an exhausted block; late arrivals see the new block and retry.
+    // A ReentrantLock rather than synchronized, so a virtual thread waiting on the database does not pin its carrier.
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            if (current == exhausted) {
+                long start = blockAllocator.getAsLong();
+                if (start < 1 || start + blockSize - 1 > MAX_BODY) {
+                    throw new IllegalStateException("Account number sequence exhausted");
+                }
+                current = new Block(start, start + blockSize);
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    static String format(long body) {
+        char[] chars = new char[PREFIX.length() + BODY_DIGITS + 1];
+        chars[0] = 'A';
+        chars[1] = 'C';
+        long remaining = body;
+        for (int i = PREFIX.length() + BODY_DIGITS - 1; i >= PREFIX.length(); i--) {
+            chars[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        chars[chars.length - 1] = (char) ('0' + luhnCheckDigit(body));
+        return new String(chars);
+    }
+
+    /**
+     * Computes the Luhn check digit for the given number.
+     *
+     * @param body the digits to protect.
+     * @return the check digit (0-9).
+     */
+    static int luhnCheckDigit(long body) {
+        int sum = 0;
+        boolean doubleDigit = true; // Rightmost body digit is doubled because the check digit follows it
+        for (long remaining = body; remaining > 0; remaining /= 10) {
+            int digit = (int) (remaining % 10);
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Checks the Luhn check digit of an account number produced by this generator.
+     *
+     * @param accountNumber the account number to check.
+     * @return true if the number has the expected shape and a valid check digit.
+     */
+    public static boolean isValid(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() != PREFIX.length() + BODY_DIGITS + 1
+                || !accountNumber.startsWith(PREFIX)) {
+            return false;
+        }
+        long body = 0;
+        for (int i = PREFIX.length(); i < PREFIX.length() + BODY_DIGITS; i++) {
+            char c = accountNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            body = body * 10 + (c - '0');
+        }
+        char check = accountNumber.charAt(accountNumber.length() - 1);
+        return check == (char) ('0' + luhnCheckDigit(body));
+    }
+
+    private static final class Block {
+        final AtomicLong next;
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
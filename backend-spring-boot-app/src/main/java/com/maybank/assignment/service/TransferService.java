@@ -0,0 +1,173 @@
+package com.maybank.assignment.service;
+
+import com.maybank.assignment.dto.TransferRequest;
+import com.maybank.assignment.dto.TransferResponse;
+import com.maybank.assignment.engine.BalanceEngine;
+import com.maybank.assignment.exception.DomainException;
+import com.maybank.assignment.exception.ErrorCode;
+import com.maybank.assignment.exception.ResourceNotFoundException;
+import com.maybank.assignment.model.Account;
+import com.maybank.assignment.model.Money;
+import com.maybank.assignment.model.Transaction;
+import com.maybank.assignment.model.TransactionType;
+import com.maybank.assignment.model.Transfer;
+import com.maybank.assignment.repository.AccountRepository;
+import com.maybank.assignment.repository.TransactionRepository;
+import com.maybank.assignment.repository.TransferRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Moves money between two accounts atomically.
+ * <p>
+ * Both legs, the transfer record and the two ledger entries commit in one transaction. The two account rows are
+ * locked in ascending id order, so transfers in opposite directions between the same pair cannot deadlock, while
+ * transfers between disjoint pairs never contend. Each transfer carries a client reference that is unique in the
+ * database: a retry with the same reference returns the original outcome instead of moving the money again.
+ */
+@Service
+public class TransferService {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountLookupCache accountLookupCache;
+
+    @Autowired
+    private AccountSummaryCache accountSummaryCache;
+
+    @Autowired
+    private BankMetrics bankMetrics;
+
+    @Autowired
+    private LedgerWatermark ledgerWatermark;
+
+    @Autowired(required = false)
+    private BalanceEngine balanceEngine; // Only with bank.engine.mode=sharded
+
+    private final TransactionTemplate transactionTemplate;
+
+    public TransferService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Transfers an amount from one account to another, or replays the outcome of an earlier transfer with the same reference.
+     *
+     * @param request the transfer to apply.
+     * @return the transfer outcome, with {@code replayed} set if the reference had already been applied.
+     */
+    public TransferResponse transfer(TransferRequest request) {
+        long amount = Money.toMinorUnits(request.getAmount());
+        if (amount <= 0) {
+            throw ErrorCode.INVALID_AMOUNT.exception();
+        }
+        if (request.getFromAccountNumber().equals(request.getToAccountNumber())) {
+            throw ErrorCode.SAME_ACCOUNT_TRANSFER.exception();
+        }
+        Long fromId = resolveAccountId(request.getFromAccountNumber());
+        Long toId = resolveAccountId(request.getToAccountNumber());
+
+        // Cheap retry path: a reference that is already committed is answered without taking any locks
+        Transfer existing = transferRepository.findByReference(request.getReference());
+        if (existing != null) {
+            return replay(existing, request, fromId, toId, amount);
+        }
+        try {
+            TransferResponse response = transactionTemplate.execute(status -> apply(request, fromId, toId, amount));
+            if (!response.isReplayed()) {
+                bankMetrics.transfer(); // Counted after commit, so a lost reference race is not counted twice
+            }
+            return response;
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent request with the same reference committed first; its outcome is the answer
+            Transfer winner = transferRepository.findByReference(request.getReference());
+            if (winner == null) {
+                throw ex;
+            }
+            return replay(winner, request, fromId, toId, amount);
+        }
+    }
+
+    private TransferResponse apply(TransferRequest request, Long fromId, Long toId, long amount) {
+        if (balanceEngine != null) {
+            balanceEngine.holdForTransaction(List.of(request.getFromAccountNumber(), request.getToAccountNumber()));
+        }
+        Account from;
+        Account to;
+        if (fromId < toId) {
+            from = lockAccount(fromId, request.getFromAccountNumber());
+            to = lockAccount(toId, request.getToAccountNumber());
+        } else {
+            to = lockAccount(toId, request.getToAccountNumber());
+            from = lockAccount(fromId, request.getFromAccountNumber());
+        }
+
+        // A retry that waited on our locks sees the first attempt's committed record here
+        Transfer existing = transferRepository.findByReference(request.getReference());
+        if (existing != null) {
+            return replay(existing, request, fromId, toId, amount);
+        }
+        requireActive(from);
+        requireActive(to);
+        if (from.getBalanceMinor() < amount) {
+            bankMetrics.insufficientBalance();
+            throw new DomainException(ErrorCode.INSUFFICIENT_BALANCE, "Insufficient balance for transfer from account '" + from.getAccountNumber() + "'.");
+        }
+
+        from.setBalanceMinor(from.getBalanceMinor() - amount);
+        to.setBalanceMinor(to.getBalanceMinor() + amount);
+        Transfer transfer = new Transfer(request.getReference(), fromId, toId, amount);
+        transfer.setBalancesAfter(from.getBalanceMinor(), to.getBalanceMinor());
+        transferRepository.save(transfer);
+        ledgerWatermark.enlist();
+        transactionRepository.saveAll(List.of(
+                new Transaction(fromId, TransactionType.TRANSFER_OUT, amount, from.getBalanceMinor()),
+                new Transaction(toId, TransactionType.TRANSFER_IN, amount, to.getBalanceMinor())));
+        accountSummaryCache.invalidateOwner(from);
+        accountSummaryCache.invalidateOwner(to);
+        return new TransferResponse(transfer, request.getFromAccountNumber(), request.getToAccountNumber(), false);
+    }
+
+    private TransferResponse replay(Transfer existing, TransferRequest request, Long fromId, Long toId, long amount) {
+        if (!existing.getFromAccountId().equals(fromId) || !existing.getToAccountId().equals(toId)
+                || existing.getAmountMinor() != amount) {
+            throw new DomainException(ErrorCode.TRANSFER_REFERENCE_REUSED, "Transfer reference '" + request.getReference() + "' was already used for a different transfer.");
+        }
+        return new TransferResponse(existing, request.getFromAccountNumber(), request.getToAccountNumber(), true);
+    }
+
+    private Long resolveAccountId(String accountNumber) {
+        Long accountId = accountLookupCache.resolveId(accountNumber, accountRepository::findIdByAccountNumber);
+        if (accountId == null) {
+            throw new ResourceNotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Account with number '" + accountNumber + "' not found");
+        }
+        return accountId;
+    }
+
+    private Account lockAccount(Long accountId, String accountNumber) {
+        return accountRepository.findForUpdateById(accountId).orElseThrow(() -> {
+            accountLookupCache.invalidate(accountNumber);
+            return new ResourceNotFoundException(ErrorCode.ACCOUNT_NOT_FOUND, "Account with number '" + accountNumber + "' not found");
+        });
+    }
+
+    private void requireActive(Account account) {
+        if (!"Active".equals(account.getStatus())) {
+            bankMetrics.accountClosed();
+            throw new DomainException(ErrorCode.ACCOUNT_CLOSED, "Account with number '" + account.getAccountNumber() + "' is closed");
+        }
+    }
+}
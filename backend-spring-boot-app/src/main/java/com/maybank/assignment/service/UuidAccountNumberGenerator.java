@@ -0,0 +1,16 @@
+package com.maybank.assignment.service;
+
+import java.util.UUID;
+
+/**
+ * Legacy generator: the first 8 hex characters of a random UUID.
+ * Only 32 bits of entropy, so collisions become likely after tens of thousands of accounts; kept for
+ * comparison and selectable with {@code bank.account-number.generator=uuid}.
+ */
+public class UuidAccountNumberGenerator implements AccountNumberGenerator {
+
+    @Override
+    public String nextAccountNumber() {
+        return "AC" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+}
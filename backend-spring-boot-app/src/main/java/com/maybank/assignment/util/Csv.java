@@ -0,0 +1,148 @@
+package com.maybank.assignment.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV fields: quoting for writers, and a streaming record reader for uploads.
+ */
+public final class Csv {
+
+    private Csv() {}
+
+    /**
+     * Writes one field, quoted only if it contains a comma, quote or line break.
+     *
+     * @param out the writer to append to.
+     * @param value the field value; written as an empty field if null.
+     */
+    public static void writeField(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    /**
+     * Reads CSV records one at a time from a character stream, so input of any size is read in constant memory.
+     * Quoted fields may contain commas, doubled quotes and line breaks; {@code \n} and {@code \r\n} both end a record.
+     * Not thread-safe.
+     */
+    public static final class RecordReader {
+
+        private final Reader in;
+        private final StringBuilder field = new StringBuilder();
+        private long line = 1;
+        private long recordLine;
+        private int pushedBack = -2;
+
+        /**
+         * @param in the input; should be buffered, as it is read one character at a time.
+         */
+        public RecordReader(Reader in) {
+            this.in = in;
+        }
+
+        /**
+         * Reads the next record.
+         *
+         * @return the record's fields, or null at the end of the input.
+         */
+        public List<String> next() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            field.setLength(0);
+            boolean quoted = false;
+            boolean inQuotes = false;
+            while (true) {
+                if (inQuotes) {
+                    if (c == -1) {
+                        throw new IOException("Unterminated quoted field in the record starting on line " + recordLine);
+                    }
+                    if (c == '"') {
+                        int following = read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            inQuotes = false;
+                            c = following;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == ',') {
+                    fields.add(value(quoted));
+                    field.setLength(0);
+                    quoted = false;
+                } else if (c == '\n' || c == -1) {
+                    fields.add(value(quoted));
+                    return fields;
+                } else if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pushedBack = following;
+                    }
+                    fields.add(value(quoted));
+                    return fields;
+                } else if (c == '"' && field.isEmpty() && !quoted) {
+                    inQuotes = true;
+                    quoted = true;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        /**
+         * @return the line number the last record returned by {@link #next()} started on (1-based).
+         */
+        public long recordLine() {
+            return recordLine;
+        }
+
+        // An unquoted empty field is absent (null); a quoted one is an empty string
+        private String value(boolean quoted) {
+            return !quoted && field.isEmpty() ? null : field.toString();
+        }
+
+        private int read() throws IOException {
+            int c;
+            if (pushedBack != -2) {
+                c = pushedBack;
+                pushedBack = -2;
+            } else {
+                c = in.read();
+            }
+            if (c == '\n') {
+                line++;
+            }
+            return c;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.maybank.assignment.util;
+
+import com.maybank.assignment.exception.DomainException;
+import com.maybank.assignment.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque continuation tokens handed out by keyset-paginated endpoints.
+ * A cursor carries the sort key(s) of the last row of a page; clients must treat it as an opaque string.
+ */
+public final class CursorCodec {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final char SEPARATOR = ':';
+
+    private CursorCodec() {}
+
+    /**
+     * Encodes the given sort key values into an opaque cursor.
+     *
+     * @param keys the sort key values of the last row returned.
+     * @return the URL-safe cursor token.
+     */
+    public static String encode(long... keys) {
+        StringBuilder raw = new StringBuilder(keys.length * 12);
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(keys[i]);
+        }
+        return ENCODER.encodeToString(raw.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode(long...)}.
+     *
+     * @param cursor the cursor token sent by the client.
+     * @param expectedKeys the number of sort keys the cursor must carry.
+     * @return the decoded sort key values.
+     * @throws DomainException with {@link ErrorCode#INVALID_CURSOR} if the cursor is malformed.
+     */
+    public static long[] decode(String cursor, int expectedKeys) {
+        try {
+            String raw = new String(DECODER.decode(cursor), StandardCharsets.US_ASCII);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), -1);
+            if (parts.length != expectedKeys) {
+                throw ErrorCode.INVALID_CURSOR.exception();
+            }
+            long[] keys = new long[expectedKeys];
+            for (int i = 0; i < expectedKeys; i++) {
+                keys[i] = Long.parseLong(parts[i]);
+            }
+            return keys;
+        } catch (IllegalArgumentException ex) {
+            // NumberFormatException and Base64 errors are both IllegalArgumentExceptions
+            throw ErrorCode.INVALID_CURSOR.exception();
+        }
+    }
+
+    /**
+     * Encodes a text sort key followed by a numeric tie-breaker (normally the id) into an opaque cursor.
+     *
+     * @param key the text sort key of the last row returned.
+     * @param id the tie-breaker of the last row returned.
+     * @return the URL-safe cursor token.
+     */
+    public static String encode(String key, long id) {
+        // The id goes first, so the key may contain the separator
+        return ENCODER.encodeToString((id + String.valueOf(SEPARATOR) + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode(String, long)}.
+     *
+     * @param cursor the cursor token sent by the client.
+     * @return the decoded sort key and tie-breaker.
+     * @throws DomainException with {@link ErrorCode#INVALID_CURSOR} if the cursor is malformed.
+     */
+    public static KeyedCursor decodeKeyed(String cursor) {
+        try {
+            String raw = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw ErrorCode.INVALID_CURSOR.exception();
+            }
+            return new KeyedCursor(raw.substring(separator + 1), Long.parseLong(raw.substring(0, separator)));
+        } catch (IllegalArgumentException ex) {
+            throw ErrorCode.INVALID_CURSOR.exception();
+        }
+    }
+
+    /**
+     * A decoded text-keyed cursor: the sort key and id of the last row of the previous page.
+     */
+    public record KeyedCursor(String key, long id) {
+    }
+}
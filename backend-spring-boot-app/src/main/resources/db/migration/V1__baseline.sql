@@ -0,0 +1,69 @@
+-- Schema as created by Hibernate (ddl-auto) before migrations were introduced.
+-- Databases that already have it are baselined at this version instead of running it.
+
+-- Pooled id sequences: Hibernate reserves 50 ids per round trip so inserts can be batched
+CREATE SEQUENCE customer_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE account_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE account_transaction_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE account_transfer_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE customer (
+    id            BIGINT       NOT NULL,
+    name          VARCHAR(100) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    phone         VARCHAR(15),
+    date_of_birth TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE account (
+    id             BIGINT           NOT NULL,
+    account_number VARCHAR(20)      NOT NULL,
+    balance_minor  BIGINT DEFAULT 0 NOT NULL,
+    account_type   VARCHAR(255),
+    status         VARCHAR(255),
+    customer_id    BIGINT,
+    version        BIGINT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_account_account_number UNIQUE (account_number),
+    CONSTRAINT fk_account_customer FOREIGN KEY (customer_id) REFERENCES customer (id)
+);
+
+CREATE TABLE account_transaction (
+    id                  BIGINT                      NOT NULL,
+    account_id          BIGINT                      NOT NULL,
+    type                ENUM ('CLOSE', 'DEPOSIT', 'TRANSFER_IN', 'TRANSFER_OUT', 'WITHDRAWAL') NOT NULL,
+    amount_minor        BIGINT                      NOT NULL,
+    balance_after_minor BIGINT                      NOT NULL,
+    created_at          TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Statement pages: seek by (created_at, id) within one account
+CREATE INDEX idx_account_transaction_account_time ON account_transaction (account_id, created_at, id);
+
+CREATE TABLE account_transfer (
+    id                       BIGINT                      NOT NULL,
+    reference                VARCHAR(64)                 NOT NULL,
+    from_account_id          BIGINT                      NOT NULL,
+    to_account_id            BIGINT                      NOT NULL,
+    amount_minor             BIGINT                      NOT NULL,
+    from_balance_after_minor BIGINT                      NOT NULL,
+    to_balance_after_minor   BIGINT                      NOT NULL,
+    created_at               TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_account_transfer_reference UNIQUE (reference)
+);
+
+CREATE TABLE idempotency_record (
+    idempotency_key VARCHAR(255)                NOT NULL,
+    fingerprint     VARCHAR(64)                 NOT NULL,
+    status          INTEGER                     NOT NULL,
+    content_type    VARCHAR(100),
+    body            VARBINARY(65536),
+    expires_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (idempotency_key)
+);
+
+-- Purge of expired keys
+CREATE INDEX idx_idempotency_record_expires_at ON idempotency_record (expires_at);
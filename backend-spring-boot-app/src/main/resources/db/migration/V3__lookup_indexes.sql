@@ -0,0 +1,13 @@
+-- Indexes and sequences that ddl-auto never created (or that were created at runtime by the application).
+-- IF NOT EXISTS because databases baselined at V1 may already have some of them.
+
+-- Accounts of a customer (customer deletion, account listings). H2 backs the foreign key with an index of its
+-- own, but other databases do not, so the index is declared explicitly.
+CREATE INDEX IF NOT EXISTS idx_account_customer_id ON account (customer_id);
+
+-- Customer lookup by email
+CREATE INDEX IF NOT EXISTS idx_customer_email ON customer (email);
+
+-- Account numbers are allocated in blocks of ${accountNumberBlockSize} per round trip
+-- (SequenceBlockAccountNumberGenerator); the increment of an existing sequence is kept.
+CREATE SEQUENCE IF NOT EXISTS account_number_seq START WITH 1 INCREMENT BY ${accountNumberBlockSize};
@@ -0,0 +1,14 @@
+-- Customer search access paths. Each search is a range scan on one index, ordered by (key, id) for keyset pages.
+
+-- Exact email lookup; an email now identifies one customer. Fails if existing rows share an email,
+-- which must then be resolved by hand before upgrading.
+DROP INDEX IF EXISTS idx_customer_email;
+ALTER TABLE customer ADD CONSTRAINT uk_customer_email UNIQUE (email);
+
+-- Phone lookup
+CREATE INDEX idx_customer_phone ON customer (phone, id);
+
+-- Case-insensitive name prefix search: H2 cannot index LOWER(name) directly, so the lowercase name is kept in
+-- a generated column and searched as the range [prefix, prefix + 1)
+ALTER TABLE customer ADD COLUMN name_lower VARCHAR(100) GENERATED ALWAYS AS (LOWER(name));
+CREATE INDEX idx_customer_name_lower ON customer (name_lower, id);
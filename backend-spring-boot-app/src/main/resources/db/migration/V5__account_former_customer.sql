@@ -0,0 +1,4 @@
+-- Accounts outlive their customer: deleting a customer closes its accounts and moves the owner id here,
+-- so the ledger keeps its history and the foreign key no longer blocks the delete.
+ALTER TABLE account ADD COLUMN former_customer_id BIGINT;
+CREATE INDEX idx_account_former_customer_id ON account (former_customer_id);
@@ -0,0 +1,2 @@
+-- Optimistic locking for customers: every update increments the version, which clients see as the ETag
+ALTER TABLE customer ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,7 @@
+-- Balance engine (bank.engine.mode=sharded): per shard, the last journal sequence number written to the database.
+-- Updated in the same transaction as the balances and ledger entries it covers.
+CREATE TABLE engine_checkpoint (
+    shard    INT    NOT NULL,
+    last_seq BIGINT NOT NULL,
+    PRIMARY KEY (shard)
+);
@@ -0,0 +1,3 @@
+-- Stored responses can exceed 64KB (batch postings, bulk deletes); a BLOB keeps those keys replayable after a restart.
+-- IF EXISTS: databases adopted from older builds at V1 never had the table.
+ALTER TABLE IF EXISTS idempotency_record ALTER COLUMN body SET DATA TYPE BLOB;
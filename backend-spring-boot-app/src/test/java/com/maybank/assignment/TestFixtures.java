@@ -0,0 +1,50 @@
+package com.maybank.assignment;
+
+import com.maybank.assignment.dto.CreateAccountRequest;
+import com.maybank.assignment.model.Account;
+import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.service.AccountService;
+import com.maybank.assignment.service.CustomerService;
+
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Creates the customers and accounts integration tests work on, through the services like the API does.
+ * Emails are made unique per call, so tests sharing an application context (and its database) never collide.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    /**
+     * @param customerService the service of the test's context.
+     * @param name the customer's name; also the prefix of the generated email.
+     * @return the saved customer.
+     */
+    public static Customer createCustomer(CustomerService customerService, String name) {
+        return customerService.createCustomer(name, uniqueEmail(name), "1234567890", new Date());
+    }
+
+    /**
+     * @param accountService the service of the test's context.
+     * @param owner the account's customer.
+     * @param accountType {@code Saving} or {@code Current}.
+     * @return the saved account, with a zero balance.
+     */
+    public static Account createAccount(AccountService accountService, Customer owner, String accountType) {
+        CreateAccountRequest request = new CreateAccountRequest();
+        request.setCustomerId(owner.getId());
+        request.setAccountType(accountType);
+        return accountService.createAccount(request);
+    }
+
+    /**
+     * @param name a name to derive the local part from.
+     * @return an email address no other call returns.
+     */
+    public static String uniqueEmail(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", ".") + "." + System.nanoTime() + "@example.com";
+    }
+}
@@ -0,0 +1,77 @@
+package com.maybank.assignment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolLimitFilterTest {
+
+    private final ConnectionPoolLimitFilter filter =
+            new ConnectionPoolLimitFilter(1, Duration.ofMillis(50), new ObjectMapper());
+
+    @Test
+    void testRequestBeyondLimit_RejectedWith503() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (req, res) -> {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(), rejected, (req, res) -> fail("Request should not be admitted"));
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("The service is busy. Please retry shortly."));
+
+        release.countDown();
+        holder.join();
+        assertEquals(1, filter.availablePermits());
+    }
+
+    @Test
+    void testExcludedPath_PassesWithoutPermit() throws Exception {
+        ConnectionPoolLimitFilter excluding = new ConnectionPoolLimitFilter(1, Duration.ofMillis(50), new ObjectMapper(),
+                List.of("/api/bank/exports"));
+        AtomicInteger permitsSeen = new AtomicInteger(-1);
+
+        excluding.doFilter(new MockHttpServletRequest("GET", "/api/bank/exports/abc/file"), new MockHttpServletResponse(),
+                (req, res) -> permitsSeen.set(excluding.availablePermits()));
+        assertEquals(1, permitsSeen.get());
+
+        excluding.doFilter(new MockHttpServletRequest("GET", "/api/bank/getAccount/AC1"), new MockHttpServletResponse(),
+                (req, res) -> permitsSeen.set(excluding.availablePermits()));
+        assertEquals(0, permitsSeen.get());
+    }
+
+    @Test
+    void testPermitReleased_WhenChainThrows() {
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(new MockHttpServletRequest(),
+                new MockHttpServletResponse(), (req, res) -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        assertEquals(1, filter.availablePermits());
+    }
+}
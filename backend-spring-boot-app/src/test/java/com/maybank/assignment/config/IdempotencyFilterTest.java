@@ -0,0 +1,212 @@
+package com.maybank.assignment.config;
+
+import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.model.IdempotencyRecord;
+import com.maybank.assignment.repository.IdempotencyRecordRepository;
+import com.maybank.assignment.service.AccountService;
+import com.maybank.assignment.service.CustomerService;
+import com.maybank.assignment.service.IdempotencyStore;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.maybank.assignment.TestFixtures.createAccount;
+import static com.maybank.assignment.TestFixtures.createCustomer;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotencyFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private FilterRegistrationBean<IdempotencyFilter> idempotencyFilter;
+
+    @Autowired
+    private FilterRegistrationBean<ConnectionPoolLimitFilter> connectionPoolLimitFilterRegistration;
+
+    private Customer customer;
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() {
+        customer = createCustomer(customerService, "Idempotent Customer");
+        accountNumber = createAccount(accountService, customer, "Saving").getAccountNumber();
+    }
+
+    @Test
+    void testDepositRetry_AppliedOnceAndReplayed() throws Exception {
+        String key = UUID.randomUUID().toString();
+        MvcResult first = mockMvc.perform(deposit(key, "15.00"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andReturn();
+        MvcResult retry = mockMvc.perform(deposit(key, "15.00"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andReturn();
+
+        assertEquals(first.getResponse().getContentAsString(), retry.getResponse().getContentAsString());
+        assertEquals(1_500L, accountService.getAccountByNumber(accountNumber).getBalanceMinor());
+    }
+
+    @Test
+    void testCreateAccountRetry_ReturnsSameAccount() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = "{\"customerId\":" + customer.getId() + ",\"accountType\":\"Current\"}";
+
+        String first = mockMvc.perform(post("/api/bank/createAccount").header(IdempotencyFilter.HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String retry = mockMvc.perform(post("/api/bank/createAccount").header(IdempotencyFilter.HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(first, retry);
+    }
+
+    @Test
+    void testKeyReusedForDifferentRequest_Rejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        mockMvc.perform(deposit(key, "15.00")).andExpect(status().isOk());
+
+        mockMvc.perform(deposit(key, "20.00"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Idempotency-Key was already used for a different request."));
+        assertEquals(1_500L, accountService.getAccountByNumber(accountNumber).getBalanceMinor());
+    }
+
+    @Test
+    void testReplayFromPersistentStore_AfterCacheMiss() throws Exception {
+        String key = UUID.randomUUID().toString();
+        // Simulates a record written before a restart: present in the table but not in memory
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bank/depositCash");
+        request.addParameter("accountNumber", accountNumber);
+        request.addParameter("amount", "15.00");
+        String fingerprint = IdempotencyFilter.fingerprint(request, new byte[0]);
+        idempotencyRecordRepository.save(new IdempotencyRecord(key, fingerprint, 200, MediaType.APPLICATION_JSON_VALUE,
+                "{\"stored\":true}".getBytes(StandardCharsets.UTF_8), Instant.now().plus(Duration.ofHours(1))));
+
+        mockMvc.perform(deposit(key, "15.00"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.stored").value(true));
+        assertEquals(0L, accountService.getAccountByNumber(accountNumber).getBalanceMinor());
+    }
+
+    @Test
+    void testLargeResponse_IsPersisted() {
+        String key = UUID.randomUUID().toString();
+        byte[] body = new byte[256 * 1024]; // Larger than the 64KB column it used to be stored in
+        Arrays.fill(body, (byte) 'x');
+
+        assertEquals(IdempotencyStore.Lookup.Outcome.CLAIMED, idempotencyStore.begin(key, "a").getOutcome());
+        idempotencyStore.complete(key, "a", 200, MediaType.APPLICATION_JSON_VALUE, body);
+
+        assertArrayEquals(body, idempotencyRecordRepository.findById(key).orElseThrow().getBody());
+    }
+
+    @Test
+    void testConcurrentDuplicate_InFlight() {
+        String key = UUID.randomUUID().toString();
+
+        assertEquals(IdempotencyStore.Lookup.Outcome.CLAIMED, idempotencyStore.begin(key, "a").getOutcome());
+        assertEquals(IdempotencyStore.Lookup.Outcome.IN_FLIGHT, idempotencyStore.begin(key, "a").getOutcome());
+        idempotencyStore.release(key);
+        assertEquals(IdempotencyStore.Lookup.Outcome.CLAIMED, idempotencyStore.begin(key, "a").getOutcome());
+    }
+
+    @Test
+    void testClientErrorStored_RetryReplayed() throws Exception {
+        String key = UUID.randomUUID().toString();
+        // Missing account: a 404 is a final outcome and is replayed
+        mockMvc.perform(post("/api/bank/depositCash").header(IdempotencyFilter.HEADER, key)
+                        .param("accountNumber", "AC00000000000").param("amount", "1.00"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/bank/depositCash").header(IdempotencyFilter.HEADER, key)
+                        .param("accountNumber", "AC00000000000").param("amount", "1.00"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"));
+    }
+
+    @Test
+    void testStoreLookups_RunUnderTheLimitersPermit() {
+        assertTrue(connectionPoolLimitFilterRegistration.getOrder() < idempotencyFilter.getOrder());
+    }
+
+    @Test
+    void testCachedBody_DeliveredToReadListener() throws Exception {
+        byte[] body = "{\"amount\":1}".getBytes(StandardCharsets.UTF_8);
+        ServletInputStream in = new IdempotencyFilter.CachedBodyRequest(new MockHttpServletRequest(), body).getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[4];
+                while (in.isReady() && !in.isFinished()) {
+                    read.write(buffer, 0, in.read(buffer));
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t);
+            }
+        });
+
+        assertArrayEquals(body, read.toByteArray());
+        assertTrue(allRead.get());
+    }
+
+    private RequestBuilder deposit(String key, String amount) {
+        return post("/api/bank/depositCash").header(IdempotencyFilter.HEADER, key)
+                .param("accountNumber", accountNumber).param("amount", amount);
+    }
+}
@@ -0,0 +1,68 @@
+package com.maybank.assignment.config;
+
+import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.service.AccountService;
+import com.maybank.assignment.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.maybank.assignment.TestFixtures.createAccount;
+import static com.maybank.assignment.TestFixtures.createCustomer;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    void testPrometheusScrape_ExposesBusinessPoolAndEndpointMetrics() throws Exception {
+        Customer customer = createCustomer(customerService, "Metrics Customer");
+        String accountNumber = createAccount(accountService, customer, "Saving").getAccountNumber();
+
+        mockMvc.perform(post("/api/bank/depositCash").param("accountNumber", accountNumber).param("amount", "5.00"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/bank/withdrawCash").param("accountNumber", accountNumber).param("amount", "10.00"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/bank/getAccount/{accountNumber}", "AC00000000000"))
+                .andExpect(status().isNotFound());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("bank_deposits_total"));
+        assertTrue(scrape.contains("bank_rejections_total{application=\"assignment\",reason=\"insufficient_balance\"}"));
+        assertTrue(scrape.contains("bank_not_found_total"));
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{application=\"assignment\",error=\"none\",exception=\"none\",method=\"POST\""));
+        assertTrue(scrape.contains("uri=\"/api/bank/depositCash\""));
+        assertTrue(scrape.contains("hikaricp_connections_active"));
+        assertTrue(scrape.contains("hibernate_sessions_open_total"));
+        assertTrue(scrape.contains("cache_gets_total{application=\"assignment\",cache=\"account_lookup\""));
+    }
+
+    @Test
+    void testLoggersEndpoint_NotExposedByDefault() throws Exception {
+        mockMvc.perform(get("/actuator"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._links.prometheus").exists())
+                .andExpect(jsonPath("$._links.loggers").doesNotExist());
+    }
+}
@@ -0,0 +1,168 @@
+package com.maybank.assignment.config;
+
+import com.maybank.assignment.AssignmentApplication;
+import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.service.AccountService;
+import com.maybank.assignment.service.CustomerService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.maybank.assignment.TestFixtures.createAccount;
+import static com.maybank.assignment.TestFixtures.createCustomer;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load comparison of platform-thread and virtual-thread request execution on the {@code /api/bank} endpoints.
+ * <p>
+ * Each mode boots the application on a random port with its own in-memory database and is driven by more
+ * concurrent clients than Tomcat has platform threads, mixing account reads and deposits. A discarded warm-up
+ * pass runs first so both modes are measured with a JIT-compiled server. Throughput and
+ * latency percentiles are logged; every request must either succeed or be shed by the connection-pool limiter,
+ * and the final balances must add up to the deposits that succeeded.
+ */
+@Tag("load")
+class RequestExecutionLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestExecutionLoadTest.class);
+
+    private static final int CLIENTS = 300;
+    private static final int REQUESTS_PER_CLIENT = 10;
+    private static final int ACCOUNTS = 50;
+
+    @Test
+    void testPlatformAndVirtualThreads_UnderBurst() throws Exception {
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        log.info(platform.describe("platform threads"));
+        log.info(virtual.describe("virtual threads"));
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AssignmentApplication.class)
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode,
+                        "spring.jpa.show-sql=false")
+                .run()) {
+            List<String> accountNumbers = createAccounts(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port + "/api/bank";
+            LoadResult warmUp = drive(baseUrl, accountNumbers);
+            LoadResult result = drive(baseUrl, accountNumbers);
+
+            AccountService accountService = context.getBean(AccountService.class);
+            long total = 0;
+            for (String accountNumber : accountNumbers) {
+                total += accountService.getAccountByNumber(accountNumber).getBalanceMinor();
+            }
+            assertEquals(0, warmUp.failed.get() + result.failed.get(), "unexpected responses in " + mode + " mode");
+            assertEquals((warmUp.deposits.get() + result.deposits.get()) * 100L, total);
+            return result;
+        }
+    }
+
+    private static List<String> createAccounts(ConfigurableApplicationContext context) {
+        Customer customer = createCustomer(context.getBean(CustomerService.class), "Load Test");
+        List<String> accountNumbers = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountNumbers.add(createAccount(context.getBean(AccountService.class), customer, "Current").getAccountNumber());
+        }
+        return accountNumbers;
+    }
+
+    private static LoadResult drive(String baseUrl, List<String> accountNumbers) throws Exception {
+        LoadResult result = new LoadResult(CLIENTS * REQUESTS_PER_CLIENT);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clients).build()) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                String accountNumber = accountNumbers.get(c % ACCOUNTS);
+                HttpRequest read = HttpRequest.newBuilder(URI.create(baseUrl + "/getAccount/" + accountNumber)).GET().build();
+                HttpRequest deposit = HttpRequest.newBuilder(
+                                URI.create(baseUrl + "/depositCash?accountNumber=" + accountNumber + "&amount=1.00"))
+                        .POST(HttpRequest.BodyPublishers.noBody()).build();
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        boolean isDeposit = i % 2 == 0;
+                        long begin = System.nanoTime();
+                        int status = http.send(isDeposit ? deposit : read, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        result.record(System.nanoTime() - begin, status, isDeposit);
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+            result.elapsedNanos = System.nanoTime() - begin;
+        }
+        return result;
+    }
+
+    private static final class LoadResult {
+        private final long[] latencies;
+        private final AtomicInteger recorded = new AtomicInteger();
+        private final AtomicInteger ok = new AtomicInteger();
+        private final AtomicInteger shed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger deposits = new AtomicInteger();
+        private long elapsedNanos;
+
+        LoadResult(int requests) {
+            this.latencies = new long[requests];
+        }
+
+        void record(long latencyNanos, int status, boolean deposit) {
+            latencies[recorded.getAndIncrement()] = latencyNanos;
+            if (status == 200) {
+                ok.incrementAndGet();
+                if (deposit) {
+                    deposits.incrementAndGet();
+                }
+            } else if (status == 503) {
+                shed.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+            }
+        }
+
+        String describe(String mode) {
+            long[] sorted = Arrays.copyOf(latencies, recorded.get());
+            Arrays.sort(sorted);
+            double perSecond = sorted.length / (elapsedNanos / 1_000_000_000.0);
+            return String.format("%s: %d requests from %d clients, %.0f req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms, %d ok, %d shed (503)",
+                    mode, sorted.length, CLIENTS, perSecond, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    sorted[sorted.length - 1] / 1_000_000.0, ok.get(), shed.get());
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.maybank.assignment.diagnostics;
+
+import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.service.AccountService;
+import com.maybank.assignment.service.CustomerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.maybank.assignment.TestFixtures.createAccount;
+import static com.maybank.assignment.TestFixtures.createCustomer;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A budget of two statements flags the deposit (lookup, update, ledger insert) but not the single-select read
+@SpringBootTest(properties = "bank.diagnostics.max-statements-per-request=2")
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class QueryDiagnosticsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = createCustomer(customerService, "Diagnostics Customer");
+        accountNumber = createAccount(accountService, customer, "Saving").getAccountNumber();
+    }
+
+    @Test
+    void testRequestStatistics_CountStatementsOfEachRequest() throws Exception {
+        QueryStatistics read = (QueryStatistics) mockMvc.perform(get("/api/bank/getAccount/{accountNumber}", accountNumber))
+                .andExpect(status().isOk())
+                .andReturn().getRequest().getAttribute(QueryStatistics.ATTRIBUTE);
+        QueryStatistics deposit = (QueryStatistics) mockMvc.perform(post("/api/bank/depositCash")
+                        .param("accountNumber", accountNumber).param("amount", "5.00"))
+                .andExpect(status().isOk())
+                .andReturn().getRequest().getAttribute(QueryStatistics.ATTRIBUTE);
+
+        assertEquals(1, read.getStatements());
+        assertTrue(deposit.getStatements() + deposit.getBatches() > 2);
+        assertTrue(deposit.getExecutionNanos() > 0);
+        // Statements run outside a request are not attributed to any
+        assertNull(QueryStatistics.current());
+    }
+
+    @Test
+    void testQueryHeavyRequest_IsLoggedAtWarn(CapturedOutput output) throws Exception {
+        mockMvc.perform(post("/api/bank/depositCash").param("accountNumber", accountNumber).param("amount", "5.00"))
+                .andExpect(status().isOk());
+
+        // Console logging is asynchronous
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!output.getOut().contains("POST /api/bank/depositCash returned 200") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(output.getOut().contains("WARN"));
+        assertTrue(output.getOut().contains("POST /api/bank/depositCash returned 200"));
+    }
+}
@@ -0,0 +1,324 @@
+package com.maybank.assignment.engine;
+
+import com.maybank.assignment.dto.TransferRequest;
+import com.maybank.assignment.exception.DomainException;
+import com.maybank.assignment.exception.ErrorCode;
+import com.maybank.assignment.model.Account;
+import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.model.Transaction;
+import com.maybank.assignment.model.TransactionType;
+import com.maybank.assignment.service.AccountService;
+import com.maybank.assignment.service.BankMetrics;
+import com.maybank.assignment.service.CustomerService;
+import com.maybank.assignment.service.LedgerWatermark;
+import com.maybank.assignment.service.TransferService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.maybank.assignment.TestFixtures.createAccount;
+import static com.maybank.assignment.TestFixtures.createCustomer;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the account services with {@code bank.engine.mode=sharded} against a database of its own, so the engine's
+ * checkpoints and journals do not mix with the other tests.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:balance-engine;DB_CLOSE_DELAY=-1",
+        "bank.engine.mode=sharded",
+        "bank.engine.shards=2",
+        "bank.engine.flush-interval=5ms"})
+class BalanceEngineTest {
+
+    private static final int SHARDS = 2;
+
+    @TempDir
+    static Path journalDir;
+
+    @DynamicPropertySource
+    static void journalDir(DynamicPropertyRegistry registry) {
+        registry.add("bank.engine.journal-dir", journalDir::toString);
+    }
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private BalanceEngine balanceEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private BankMetrics bankMetrics;
+
+    @Autowired
+    private LedgerWatermark ledgerWatermark;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = createCustomer(customerService, "Engine Customer");
+    }
+
+    @Test
+    void testDepositAndWithdraw_AreWrittenBehind() throws Exception {
+        Account account = createAccount(accountService, customer, "Saving");
+
+        assertEquals(1_000L, accountService.depositCash(account.getAccountNumber(), 1_000L).getBalanceMinor());
+        Account withdrawn = accountService.withdrawCash(account.getAccountNumber(), 300L);
+        assertEquals(700L, withdrawn.getBalanceMinor());
+        assertEquals(customer.getId(), withdrawn.getCustomer().getId());
+        DomainException rejected = assertThrows(DomainException.class,
+                () -> accountService.withdrawCash(account.getAccountNumber(), 5_000L));
+        assertEquals("Insufficient balance.", rejected.getMessage());
+
+        awaitBalance(account.getId(), 700L);
+        List<Transaction> entries = accountService.getStatement(account.getAccountNumber(), null, null, null, 10).getTransactions();
+        assertEquals(List.of(TransactionType.DEPOSIT, TransactionType.WITHDRAWAL),
+                entries.stream().map(Transaction::getType).toList());
+        assertEquals(700L, entries.get(1).getBalanceAfterMinor());
+    }
+
+    @Test
+    void testCustomerSummary_IsInvalidatedOnceTheDepositIsWrittenBehind() throws Exception {
+        Account account = createAccount(accountService, customer, "Saving");
+        assertEquals(0, BigDecimal.ZERO.compareTo(accountService.getAccountSummary(customer.getId(), false).getTotalBalance()));
+
+        accountService.depositCash(account.getAccountNumber(), 1_000L);
+        awaitBalance(account.getId(), 1_000L);
+
+        // Well within the cache's TTL, so only the invalidation can drop the cached summary
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+        BigDecimal total = accountService.getAccountSummary(customer.getId(), false).getTotalBalance();
+        while (total.compareTo(new BigDecimal("10.00")) != 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            total = accountService.getAccountSummary(customer.getId(), false).getTotalBalance();
+        }
+        assertEquals(0, new BigDecimal("10.00").compareTo(total));
+    }
+
+    @Test
+    void testConcurrentDeposits_OnOneAccountAreExact() throws Exception {
+        Account account = createAccount(accountService, customer, "Saving");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        accountService.depositCash(account.getAccountNumber(), 1L);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        awaitBalance(account.getId(), 2_000L);
+        assertEquals(2_000, countEntries(account.getId()));
+    }
+
+    @Test
+    void testHeldAccounts_SeeTransfersAndClosing() throws Exception {
+        Account source = createAccount(accountService, customer, "Saving");
+        Account target = createAccount(accountService, customer, "Saving");
+        accountService.depositCash(source.getAccountNumber(), 1_000L);
+
+        // The transfer holds both accounts, so it reads the engine's deposit and the engine then reads the transfer
+        TransferRequest transfer = new TransferRequest();
+        transfer.setFromAccountNumber(source.getAccountNumber());
+        transfer.setToAccountNumber(target.getAccountNumber());
+        transfer.setAmount(new BigDecimal("4.00"));
+        transfer.setReference(UUID.randomUUID().toString());
+        transferService.transfer(transfer);
+
+        assertEquals(0L, accountService.withdrawCash(source.getAccountNumber(), 600L).getBalanceMinor());
+        assertEquals(450L, accountService.depositCash(target.getAccountNumber(), 50L).getBalanceMinor());
+        assertThrows(DomainException.class, () -> accountService.withdrawCash(source.getAccountNumber(), 1L));
+
+        accountService.closeAccount(target.getAccountNumber());
+        DomainException closed = assertThrows(DomainException.class,
+                () -> accountService.depositCash(target.getAccountNumber(), 1L));
+        assertEquals("Account with number '" + target.getAccountNumber() + "' is closed", closed.getMessage());
+        DomainException closedWithdrawal = assertThrows(DomainException.class,
+                () -> accountService.withdrawCash(target.getAccountNumber(), 1L));
+        assertEquals(ErrorCode.ACCOUNT_CLOSED, closedWithdrawal.getCode());
+        awaitBalance(source.getId(), 0L);
+        awaitBalance(target.getId(), 450L);
+    }
+
+    @Test
+    @Timeout(30) // A blocked loop would otherwise hang stop()
+    void testReleaseWithAFullQueue_DoesNotBlockTheShard(@TempDir Path dir) throws Exception {
+        Account account = createAccount(accountService, customer, "Saving");
+        Shard shard = newShard(dir, 2, 4);
+        CountDownLatch gate = new CountDownLatch(1);
+        // Queued before the loop starts, so the hold's reply (and the gate) runs on the loop thread, with the
+        // release in the same batch
+        shard.hold(account.getId()).thenRun(() -> awaitUninterruptibly(gate));
+        shard.release(account.getId());
+        shard.start();
+        try {
+            List<CompletableFuture<Object>> deposits = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                deposits.add(shard.deposit(account.getId(), account.getAccountNumber(), 10L)); // Fills the queue
+            }
+            gate.countDown(); // The release now finds everything written and the queue full
+
+            CompletableFuture.allOf(deposits.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+            awaitBalance(account.getId(), 40L);
+        } finally {
+            shard.stop();
+        }
+    }
+
+    @Test
+    void testJournal_IsTruncatedOnceTheShardIsIdleAndWritten(@TempDir Path dir) throws Exception {
+        Account account = createAccount(accountService, customer, "Saving");
+        Shard shard = newShard(dir, 1024, 1024);
+        shard.start();
+        try {
+            shard.deposit(account.getId(), account.getAccountNumber(), 10L).get(5, TimeUnit.SECONDS);
+            shard.deposit(account.getId(), account.getAccountNumber(), 10L).get(5, TimeUnit.SECONDS);
+            awaitBalance(account.getId(), 20L);
+
+            Path journalFile = dir.resolve("shard-99.journal");
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (Files.size(journalFile) > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0L, Files.size(journalFile));
+        } finally {
+            shard.stop();
+        }
+    }
+
+    @Test
+    @DirtiesContext
+    void testRecovery_ReplaysJournalExactlyOnce() throws Exception {
+        Account account = createAccount(accountService, customer, "Saving");
+        balanceEngine.stop(); // As if the process died with these entries journaled but not yet written behind
+
+        int shard = Math.floorMod(account.getAccountNumber().hashCode(), SHARDS);
+        long checkpoint = WriteBehind.readCheckpoint(jdbcTemplate, shard);
+        long now = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+        Path journalFile = journalDir.resolve("shard-" + shard + ".journal");
+        try (Journal journal = new Journal(journalFile, true)) {
+            journal.recover();
+            journal.append(List.of(
+                    new JournalRecord(checkpoint + 1, account.getId(), TransactionType.DEPOSIT, 500L, 500L, now),
+                    new JournalRecord(checkpoint + 2, account.getId(), TransactionType.WITHDRAWAL, 200L, 300L, now)));
+        }
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[Journal.RECORD_SIZE / 2])); // Torn write of a third, unacknowledged entry
+        }
+
+        BalanceEngine recovered = newEngine();
+        recovered.start();
+        try {
+            assertEquals(300L, balanceOf(account.getId()));
+            assertEquals(2, countEntries(account.getId()));
+            assertEquals(checkpoint + 2, WriteBehind.readCheckpoint(jdbcTemplate, shard));
+            assertEquals(0L, journalFile.toFile().length());
+            assertEquals(400L, recovered.deposit(account.getAccountNumber(), account.getId(), 100L).getBalanceMinor());
+        } finally {
+            recovered.stop(); // Writes the deposit behind; its journal entry stays behind the checkpoint
+        }
+
+        BalanceEngine restarted = newEngine();
+        restarted.start();
+        restarted.stop();
+        assertEquals(400L, balanceOf(account.getId()));
+        assertEquals(3, countEntries(account.getId()));
+    }
+
+    private BalanceEngine newEngine() {
+        BalanceEngine engine = new BalanceEngine(applicationContext.getBean(PlatformTransactionManager.class), SHARDS,
+                journalDir, true, 1024, 1024, DataSize.ofMegabytes(1), Duration.ofMillis(5), Duration.ofSeconds(5));
+        applicationContext.getAutowireCapableBeanFactory().autowireBean(engine);
+        return engine;
+    }
+
+    // A shard outside the engine, with a shard number and journal of its own
+    private Shard newShard(Path dir, int maxBatch, int queueCapacity) throws IOException {
+        int index = 99;
+        WriteBehind writeBehind = new WriteBehind(index, jdbcTemplate,
+                new TransactionTemplate(applicationContext.getBean(PlatformTransactionManager.class)), Duration.ofMillis(5),
+                WriteBehind.readCheckpoint(jdbcTemplate, index));
+        Journal journal = new Journal(dir.resolve("shard-" + index + ".journal"), true);
+        journal.recover();
+        return new Shard(index, journal, writeBehind, writeBehind.persistedSeq(), jdbcTemplate, bankMetrics, ledgerWatermark,
+                maxBatch, queueCapacity, DataSize.ofMegabytes(1).toBytes(), written -> {});
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long balanceOf(long accountId) {
+        return jdbcTemplate.queryForObject("SELECT balance_minor FROM account WHERE id = ?", Long.class, accountId);
+    }
+
+    private int countEntries(long accountId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM account_transaction WHERE account_id = ?", Integer.class, accountId);
+    }
+
+    // The database follows the engine by up to a flush interval
+    private void awaitBalance(long accountId, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (balanceOf(accountId) != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, balanceOf(accountId));
+    }
+}
@@ -0,0 +1,194 @@
+package com.maybank.assignment.engine;
+
+import com.maybank.assignment.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testFailedAppend_IsRolledBackSoTheRetryReusesItsSequenceNumbers() throws IOException {
+        Path path = dir.resolve("shard-0.journal");
+        FailingChannel channel = new FailingChannel(
+                FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        try (Journal journal = new Journal(path, channel, true)) {
+            journal.append(List.of(record(1), record(2)));
+
+            channel.failNextWrite = true; // Writes part of the batch, then fails
+            assertThrows(IOException.class, () -> journal.append(List.of(record(3), record(4))));
+            assertEquals(2L * Journal.RECORD_SIZE, journal.size());
+
+            journal.append(List.of(record(3)));
+        }
+
+        try (Journal journal = new Journal(path, false)) {
+            assertEquals(List.of(record(1), record(2), record(3)), journal.recover());
+        }
+    }
+
+    @Test
+    void testFailedRollback_RefusesFurtherAppends() throws IOException {
+        Path path = dir.resolve("shard-1.journal");
+        FailingChannel channel = new FailingChannel(
+                FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        try (Journal journal = new Journal(path, channel, false)) {
+            channel.failNextWrite = true;
+            channel.failTruncate = true;
+            assertThrows(IOException.class, () -> journal.append(List.of(record(1))));
+
+            channel.failTruncate = false;
+            IOException refused = assertThrows(IOException.class, () -> journal.append(List.of(record(1))));
+            assertTrue(refused.getMessage().contains("could not be rolled back"));
+        }
+    }
+
+    @Test
+    void testCompact_KeepsOnlyTheRecordsAfterTheCheckpoint() throws IOException {
+        Path path = dir.resolve("shard-2.journal");
+        try (Journal journal = new Journal(path, true)) {
+            journal.recover();
+            journal.append(List.of(record(1), record(2), record(3), record(4)));
+
+            journal.compact(2);
+            assertEquals(2L * Journal.RECORD_SIZE, journal.size());
+            journal.append(List.of(record(5)));
+
+            journal.compact(3);
+            journal.append(List.of(record(6)));
+        }
+
+        try (Journal journal = new Journal(path, false)) {
+            assertEquals(List.of(record(4), record(5), record(6)), journal.recover());
+        }
+    }
+
+    private static JournalRecord record(long seq) {
+        return new JournalRecord(seq, 7L, TransactionType.DEPOSIT, 100L, 100L * seq, 1_000L * seq);
+    }
+
+    // Delegates to a real file channel; can tear a write or fail a truncate on demand
+    private static final class FailingChannel extends FileChannel {
+
+        private final FileChannel delegate;
+        boolean failNextWrite;
+        boolean failTruncate;
+
+        FailingChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (failNextWrite) {
+                failNextWrite = false;
+                int limit = src.limit();
+                src.limit(src.position() + src.remaining() / 2 + 1); // A torn record
+                delegate.write(src);
+                src.limit(limit);
+                throw new IOException("Injected write failure");
+            }
+            return delegate.write(src);
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            if (failTruncate) {
+                throw new IOException("Injected truncate failure");
+            }
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
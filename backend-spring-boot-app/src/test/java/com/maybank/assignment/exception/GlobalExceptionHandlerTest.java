@@ -0,0 +1,68 @@
+package com.maybank.assignment.exception;
+
+import com.maybank.assignment.model.Account;
+import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.service.AccountService;
+import com.maybank.assignment.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.maybank.assignment.TestFixtures.createAccount;
+import static com.maybank.assignment.TestFixtures.createCustomer;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GlobalExceptionHandlerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Test
+    void testInvalidBody_ListsEachRejectedField() throws Exception {
+        mockMvc.perform(post("/api/bank/createCustomer").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"X\",\"email\":\"not-an-email\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.code").value("VALIDATION_FAILED"))
+                .andExpect(jsonPath("$.fieldErrors[*].field").value(containsInAnyOrder("name", "email", "dateOfBirth")))
+                .andExpect(jsonPath("$.fieldErrors[?(@.field == 'email')].message").value("Email should be valid"));
+
+        mockMvc.perform(post("/api/bank/createAccount").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerId\":1,\"accountType\":\"Fixed\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors[0].field").value("accountType"));
+    }
+
+    @Test
+    void testDomainErrors_CarryTheirCode() throws Exception {
+        Customer customer = createCustomer(customerService, "Error Customer");
+        Account account = createAccount(accountService, customer, "Saving");
+
+        mockMvc.perform(post("/api/bank/withdrawCash").param("accountNumber", account.getAccountNumber()).param("amount", "1.00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INSUFFICIENT_BALANCE"))
+                .andExpect(jsonPath("$.message").value("Insufficient balance."))
+                .andExpect(jsonPath("$.fieldErrors").doesNotExist());
+        mockMvc.perform(post("/api/bank/depositCash").param("accountNumber", account.getAccountNumber()).param("amount", "1.001"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_AMOUNT"));
+        mockMvc.perform(get("/api/bank/getCustomer/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("CUSTOMER_NOT_FOUND"));
+    }
+}
@@ -0,0 +1,162 @@
+package com.maybank.assignment.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maybank.assignment.model.Account;
+import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.repository.CustomerRepository;
+import com.maybank.assignment.service.AccountService;
+import com.maybank.assignment.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static com.maybank.assignment.TestFixtures.createAccount;
+import static com.maybank.assignment.TestFixtures.createCustomer;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportTest {
+
+    @TempDir
+    static Path exportDir;
+
+    @DynamicPropertySource
+    static void exportDir(DynamicPropertyRegistry registry) {
+        registry.add("bank.export.dir", exportDir::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void testCsvExport_StreamsEveryCustomer() throws Exception {
+        Customer customer = customerService.createCustomer("Doe, \"Jane\"",
+                "export." + System.nanoTime() + "@example.com", "1234567890", new Date(0));
+
+        String id = startExport("customers", "csv");
+        awaitCompleted(id);
+        long expectedRows = customerRepository.count();
+        mockMvc.perform(get("/api/bank/exports/{id}", id))
+                .andExpect(jsonPath("$.rows").value(expectedRows))
+                .andExpect(jsonPath("$.dataset").value("CUSTOMERS"));
+
+        List<String> lines = download(id).lines().toList();
+        assertEquals("id,name,email,phone,dateOfBirth", lines.get(0));
+        assertEquals(expectedRows + 1, lines.size());
+        assertTrue(lines.contains(customer.getId() + ",\"Doe, \"\"Jane\"\"\"," + customer.getEmail()
+                + ",1234567890,1970-01-01T00:00:00Z"));
+    }
+
+    @Test
+    void testNdjsonExport_IncludesBalances() throws Exception {
+        Customer customer = createCustomer(customerService, "Export Customer");
+        Account account = createAccount(accountService, customer, "Saving");
+        accountService.depositCash(account.getAccountNumber(), 1_250L);
+
+        String id = startExport("accounts", "ndjson");
+        awaitCompleted(id);
+
+        JsonNode exported = null;
+        for (String line : download(id).lines().toList()) {
+            JsonNode node = objectMapper.readTree(line);
+            if (account.getAccountNumber().equals(node.get("accountNumber").asText())) {
+                exported = node;
+            }
+        }
+        assertNotNull(exported);
+        assertEquals(0, new BigDecimal("12.50").compareTo(exported.get("balance").decimalValue()));
+        assertEquals(customer.getId().longValue(), exported.get("customerId").asLong());
+    }
+
+    @Test
+    void testExports_RejectUnknownInputsAndDeletedJobs() throws Exception {
+        mockMvc.perform(post("/api/bank/exports").param("dataset", "transfers"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/bank/exports/{id}", "missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("EXPORT_NOT_FOUND"));
+
+        String id = startExport("customers", "ndjson");
+        awaitCompleted(id);
+        Path file = exportDir.resolve(id + ".ndjson.gz");
+        assertTrue(Files.exists(file));
+
+        mockMvc.perform(delete("/api/bank/exports/{id}", id))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/bank/exports/{id}/file", id))
+                .andExpect(status().isNotFound());
+        assertFalse(Files.exists(file));
+    }
+
+    private String startExport(String dataset, String format) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/bank/exports").param("dataset", dataset).param("format", format))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asText();
+    }
+
+    private void awaitCompleted(String id) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        String state;
+        do {
+            Thread.sleep(10);
+            MvcResult result = mockMvc.perform(get("/api/bank/exports/{id}", id)).andExpect(status().isOk()).andReturn();
+            state = objectMapper.readTree(result.getResponse().getContentAsString()).get("state").asText();
+        } while (!state.equals("COMPLETED") && !state.equals("FAILED") && System.nanoTime() < deadline);
+        assertEquals("COMPLETED", state);
+    }
+
+    private String download(String id) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/bank/exports/{id}/file", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/gzip"))
+                .andReturn();
+        byte[] body = result.getResponse().getContentAsByteArray();
+        assertEquals(body.length, result.getResponse().getContentLengthLong());
+        return gunzip(body);
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.maybank.assignment.health;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A zero latency budget makes every database round trip count as degraded
+@SpringBootTest(properties = "bank.health.db.max-latency=0ms")
+@AutoConfigureMockMvc
+class DegradedReadinessTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testReadiness_ShedsTrafficButStaysLive() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value("OUT_OF_SERVICE"))
+                .andExpect(jsonPath("$.components.databaseLatency.status").value("OUT_OF_SERVICE"))
+                .andExpect(jsonPath("$.components.databaseLatency.details").doesNotExist());
+        mockMvc.perform(get("/api/bank/status"))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(get("/actuator/health/liveness"))
+                .andExpect(status().isOk());
+    }
+}
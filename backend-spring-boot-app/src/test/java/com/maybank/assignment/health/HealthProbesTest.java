@@ -0,0 +1,81 @@
+package com.maybank.assignment.health;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Details are shown as they would be to an authorized caller; by default only the probe statuses are
+@SpringBootTest(properties = "management.endpoint.health.show-details=always")
+@AutoConfigureMockMvc
+class HealthProbesTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testReadiness_ReportsEveryProbeUp() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.components.databaseLatency.status").value("UP"))
+                .andExpect(jsonPath("$.components.connectionPool.details.total").isNumber())
+                .andExpect(jsonPath("$.components.jvmPressure.details.heapUsedAfterGc").isNumber())
+                .andExpect(jsonPath("$.components.requestQueue.details.queued").value(0));
+        mockMvc.perform(get("/actuator/health/liveness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    void testStatus_FollowsReadiness() throws Exception {
+        mockMvc.perform(get("/api/bank/status"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Server is up and running!"));
+    }
+
+    @Test
+    void testCachedHealthIndicator_ProbesOncePerInterval() throws Exception {
+        AtomicInteger probes = new AtomicInteger();
+        CachedHealthIndicator indicator = new CachedHealthIndicator(Duration.ofMillis(200)) {
+            @Override
+            protected Health probe() {
+                probes.incrementAndGet();
+                return Health.up().build();
+            }
+        };
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Status.UP, indicator.health().getStatus());
+        }
+        assertEquals(1, probes.get());
+
+        Thread.sleep(250);
+        indicator.health();
+        assertEquals(2, probes.get());
+    }
+
+    @Test
+    void testCachedHealthIndicator_ReportsFailedProbeAsDown() {
+        CachedHealthIndicator indicator = new CachedHealthIndicator(Duration.ofSeconds(1)) {
+            @Override
+            protected Health probe() {
+                throw new IllegalStateException("Database unreachable");
+            }
+        };
+
+        assertEquals(Status.DOWN, indicator.health().getStatus());
+    }
+}
@@ -0,0 +1,180 @@
+package com.maybank.assignment.importer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.repository.CustomerRepository;
+import com.maybank.assignment.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ImportTest {
+
+    @TempDir
+    static Path importDir;
+
+    @DynamicPropertySource
+    static void importSettings(DynamicPropertyRegistry registry) {
+        registry.add("bank.import.dir", importDir::toString);
+        registry.add("bank.import.chunk-size", () -> "2"); // Duplicates and rejections span chunks
+        registry.add("bank.import.max-upload-size", () -> "2KB");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testCsvImport_ImportsValidRowsAndReportsTheRest() throws Exception {
+        String suffix = System.nanoTime() + "@example.com";
+        Customer existing = customerService.createCustomer("Existing Customer", "existing." + suffix, "1234567890", new Date());
+        String csv = "name,email,phone,dateOfBirth,accountType\r\n"
+                + "\"Doe, Jane\",jane." + suffix + ",1234567890,1990-05-17,Saving\r\n"
+                + "John Roe,john." + suffix + ",,1985-01-02T10:00:00Z,\r\n"
+                + "\r\n"
+                + "Bad Email,not-an-email,1234567890,1990-05-17,Saving\r\n"
+                + "X,short." + suffix + ",1234567890,not-a-date,Fixed\r\n"
+                + "Jane Again,jane." + suffix + ",1234567890,1990-05-17,Current\r\n"
+                + "Existing Again,existing." + suffix + ",1234567890,1990-05-17,\r\n"
+                + "Epoch Customer,epoch." + suffix + ",1234567890,0,Current\r\n";
+
+        JsonNode job = awaitFinished(upload("text/csv", csv));
+        assertEquals("COMPLETED", job.get("state").asText());
+        assertEquals(7, job.get("rowsRead").asLong());
+        assertEquals(3, job.get("rowsImported").asLong());
+        assertEquals(4, job.get("rowsRejected").asLong());
+        assertEquals(2, job.get("accountsCreated").asLong());
+
+        Customer jane = customerRepository.findByEmail("jane." + suffix).orElseThrow();
+        assertEquals("Doe, Jane", jane.getName());
+        assertEquals(Date.from(Instant.parse("1990-05-17T00:00:00Z")), jane.getDateOfBirth());
+        List<Map<String, Object>> accounts = accountsOf(jane);
+        assertEquals(1, accounts.size());
+        assertEquals("Saving", accounts.get(0).get("ACCOUNT_TYPE"));
+        assertEquals(0L, ((Number) accounts.get(0).get("BALANCE_MINOR")).longValue());
+        assertEquals("Active", accounts.get(0).get("STATUS"));
+        assertTrue(accountsOf(customerRepository.findByEmail("john." + suffix).orElseThrow()).isEmpty());
+        assertEquals(new Date(0), customerRepository.findByEmail("epoch." + suffix).orElseThrow().getDateOfBirth());
+        assertEquals("Existing Customer", customerRepository.findById(existing.getId()).orElseThrow().getName());
+
+        List<String> report = errors(job.get("id").asText());
+        assertEquals(List.of(
+                "line,email,errors",
+                "5,not-an-email,email: Email should be valid",
+                "6,short." + suffix + ",\"accountType: Account type must be either 'Saving' or 'Current'; "
+                        + "dateOfBirth: Must be an ISO-8601 date, date-time or epoch milliseconds; "
+                        + "name: Name must be between 2 and 100 characters\"",
+                "7,jane." + suffix + ",email: A customer with this email already exists",
+                "8,existing." + suffix + ",email: A customer with this email already exists"), report);
+    }
+
+    @Test
+    void testNdjsonImport_RejectsMalformedLines() throws Exception {
+        String suffix = System.nanoTime() + "@example.com";
+        String ndjson = "{\"name\":\"Json Customer\",\"email\":\"json." + suffix + "\",\"phone\":\"1234567890\","
+                + "\"dateOfBirth\":\"1990-05-17\",\"accountType\":\"Current\"}\n"
+                + "{\"name\":\"Broken\",\n"
+                + "{\"name\":\"Json Twin\",\"email\":\"json." + suffix + "\",\"dateOfBirth\":\"1990-05-17\"}\n"
+                + "{\"name\":\"No Birthday\",\"email\":\"nobirthday." + suffix + "\"}\n";
+
+        JsonNode job = awaitFinished(upload("application/x-ndjson", ndjson));
+        assertEquals("COMPLETED", job.get("state").asText());
+        assertEquals(4, job.get("rowsRead").asLong());
+        assertEquals(1, job.get("rowsImported").asLong());
+        assertEquals(1, job.get("accountsCreated").asLong());
+
+        List<String> report = errors(job.get("id").asText());
+        assertEquals(4, report.size());
+        assertTrue(report.get(1).startsWith("2,,") && report.get(1).contains("Malformed JSON"));
+        assertEquals("3,json." + suffix + ",email: A customer with this email already exists", report.get(2));
+        assertEquals("4,nobirthday." + suffix + ",dateOfBirth: Date of birth cannot be null", report.get(3));
+    }
+
+    @Test
+    void testImports_FailWithoutRequiredColumnsAndRejectUnknownIds() throws Exception {
+        JsonNode job = awaitFinished(upload("text/csv", "name,phone\r\nNo Email,1234567890\r\n"));
+        assertEquals("FAILED", job.get("state").asText());
+        assertTrue(job.get("error").asText().contains("name, email and dateOfBirth"));
+
+        mockMvc.perform(get("/api/bank/imports/{id}", "missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("IMPORT_NOT_FOUND"));
+    }
+
+    @Test
+    void testOversizedUpload_Rejected() throws Exception {
+        String csv = "name,email,phone,dateOfBirth\r\n" + "Big Customer,big@example.com,1234567890,1990-05-17\r\n".repeat(50);
+
+        mockMvc.perform(post("/api/bank/imports").contentType("text/csv").content(csv))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.code").value("PAYLOAD_TOO_LARGE"));
+    }
+
+    private String upload(String contentType, String body) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/bank/imports").contentType(contentType).content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asText();
+    }
+
+    private JsonNode awaitFinished(String id) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        JsonNode job;
+        String state;
+        do {
+            Thread.sleep(10);
+            MvcResult result = mockMvc.perform(get("/api/bank/imports/{id}", id)).andExpect(status().isOk()).andReturn();
+            job = objectMapper.readTree(result.getResponse().getContentAsString());
+            state = job.get("state").asText();
+        } while (!state.equals("COMPLETED") && !state.equals("FAILED") && System.nanoTime() < deadline);
+        return job;
+    }
+
+    private List<Map<String, Object>> accountsOf(Customer customer) {
+        return jdbcTemplate.queryForList("SELECT account_type, balance_minor, status FROM account WHERE customer_id = ?",
+                customer.getId());
+    }
+
+    private List<String> errors(String id) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/bank/imports/{id}/errors", id))
+                .andExpect(status().isOk())
+                .andReturn();
+        return result.getResponse().getContentAsString().lines().toList();
+    }
+}
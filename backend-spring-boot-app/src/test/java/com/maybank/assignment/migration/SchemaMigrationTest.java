@@ -0,0 +1,64 @@
+package com.maybank.assignment.migration;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testMigrations_CreateLookupIndexes() {
+        assertTrue(indexedColumns("ACCOUNT").contains("ACCOUNT_NUMBER"));
+        assertTrue(indexedColumns("ACCOUNT").contains("CUSTOMER_ID"));
+        assertTrue(indexedColumns("CUSTOMER").contains("EMAIL"));
+        assertTrue(indexedColumns("CUSTOMER").contains("PHONE"));
+        assertTrue(indexedColumns("CUSTOMER").contains("NAME_LOWER"));
+        assertTrue(indexedColumns("ACCOUNT_TRANSACTION").contains("ACCOUNT_ID"));
+        assertEquals(1000L, jdbcTemplate.queryForObject(
+                "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'ACCOUNT_NUMBER_SEQ'", Long.class));
+    }
+
+    @Test
+    void testMigrations_AdoptLegacyDdlAutoDatabase() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:legacy-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate legacy = new JdbcTemplate(dataSource);
+        // Shape left by an old build: floating point balances and ids beyond the sequences
+        legacy.execute("CREATE SEQUENCE customer_seq START WITH 1 INCREMENT BY 50");
+        legacy.execute("CREATE SEQUENCE account_seq START WITH 1 INCREMENT BY 50");
+        legacy.execute("CREATE TABLE customer (id BIGINT PRIMARY KEY, name VARCHAR(100), email VARCHAR(255), phone VARCHAR(15))");
+        legacy.execute("CREATE TABLE account (id BIGINT PRIMARY KEY, account_number VARCHAR(20), balance DOUBLE, customer_id BIGINT)");
+        legacy.update("INSERT INTO customer VALUES (7, 'Legacy', 'legacy@example.com', '0123456789')");
+        legacy.update("INSERT INTO account VALUES (120, 'AC1', 10.1, 7)");
+
+        Flyway.configure().dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:com/maybank/assignment/migration")
+                .baselineOnMigrate(true).baselineVersion("1")
+                .placeholders(Map.of("accountNumberBlockSize", "1000"))
+                .load().migrate();
+
+        assertEquals(1_010L, legacy.queryForObject("SELECT balance_minor FROM account WHERE id = 120", Long.class));
+        assertEquals(0, legacy.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS " +
+                "WHERE TABLE_NAME = 'ACCOUNT' AND COLUMN_NAME = 'BALANCE'", Integer.class));
+        assertTrue(legacy.queryForObject("SELECT NEXT VALUE FOR account_seq", Long.class) > 120 + 50);
+        assertTrue(legacy.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'IDX_CUSTOMER_NAME_LOWER'",
+                Integer.class) > 0);
+    }
+
+    private List<String> indexedColumns(String table) {
+        return jdbcTemplate.queryForList("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS " +
+                "WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = ? AND ORDINAL_POSITION = 1", String.class, table);
+    }
+}
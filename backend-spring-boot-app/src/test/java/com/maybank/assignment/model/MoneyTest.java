@@ -0,0 +1,33 @@
+package com.maybank.assignment.model;
+
+import com.maybank.assignment.exception.DomainException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void testToMinorUnits_Success() {
+        assertEquals(12_345L, Money.toMinorUnits(new BigDecimal("123.45")));
+        assertEquals(10_000L, Money.toMinorUnits(new BigDecimal("100")));
+        assertEquals(10L, Money.toMinorUnits(new BigDecimal("0.10")));
+    }
+
+    @Test
+    void testToMinorUnits_TooManyDecimalPlaces() {
+        DomainException exception = assertThrows(DomainException.class, () -> {
+            Money.toMinorUnits(new BigDecimal("1.005"));
+        });
+        assertEquals("Amount must have at most 2 decimal places.", exception.getMessage());
+    }
+
+    @Test
+    void testFromMinorUnits_RoundTrip() {
+        assertEquals(new BigDecimal("123.45"), Money.fromMinorUnits(12_345L));
+        assertEquals(new BigDecimal("0.00"), Money.fromMinorUnits(0L));
+        assertEquals(12_345L, Money.toMinorUnits(Money.fromMinorUnits(12_345L)));
+    }
+}
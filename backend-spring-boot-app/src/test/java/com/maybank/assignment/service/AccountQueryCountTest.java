@@ -0,0 +1,85 @@
+package com.maybank.assignment.service;
+
+import com.maybank.assignment.model.Customer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.maybank.assignment.TestFixtures.createAccount;
+import static com.maybank.assignment.TestFixtures.createCustomer;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements issued by the account endpoints, so a reintroduced eager association
+ * (one extra SELECT per account) fails the build instead of showing up in production.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class AccountQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Customer customer;
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        customer = createCustomer(customerService, "Query Count Customer");
+        accountNumber = createAccount(accountService, customer, "Saving").getAccountNumber();
+        statistics.clear();
+    }
+
+    @Test
+    void testGetAccount_SelectsOnlyTheAccountRow() throws Exception {
+        mockMvc.perform(get("/api/bank/getAccount/{accountNumber}", accountNumber))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerId").value(customer.getId()))
+                .andExpect(jsonPath("$.customer").doesNotExist());
+
+        // The number -> id lookup is cached on create, leaving the single projection SELECT
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityStatistics(Customer.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void testGetAccountWithCustomer_FetchesCustomerInSameQuery() throws Exception {
+        mockMvc.perform(get("/api/bank/getAccount/{accountNumber}", accountNumber).param("includeCustomer", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customer.name").value("Query Count Customer"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testDepositCash_DoesNotLoadCustomer() throws Exception {
+        mockMvc.perform(post("/api/bank/depositCash").param("accountNumber", accountNumber).param("amount", "10.00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(10.00));
+
+        // Conditional UPDATE, re-read of the account and the ledger INSERT (plus at most one pooled sequence call)
+        assertTrue(statistics.getPrepareStatementCount() <= 4, "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityStatistics(Customer.class.getName()).getLoadCount());
+    }
+}
@@ -0,0 +1,117 @@
+package com.maybank.assignment.service;
+
+import com.maybank.assignment.exception.DomainException;
+import com.maybank.assignment.model.Account;
+import com.maybank.assignment.model.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.maybank.assignment.TestFixtures.createAccount;
+import static com.maybank.assignment.TestFixtures.createCustomer;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests for balance mutations against the embedded H2 database.
+ * Many threads hammer a single hot account; the final balance must account for every operation.
+ */
+@Tag("load")
+@SpringBootTest
+class AccountServiceConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountServiceConcurrencyTest.class);
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 250;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = createCustomer(customerService, "Hot Account");
+        accountNumber = createAccount(accountService, customer, "Current").getAccountNumber();
+    }
+
+    @Test
+    void testConcurrentDeposits_NoLostUpdates() throws Exception {
+        long elapsedNanos = runConcurrently(() -> {
+            accountService.depositCash(accountNumber, 1L);
+            return true;
+        });
+
+        Account account = accountService.getAccountByNumber(accountNumber);
+        assertEquals((long) THREADS * OPERATIONS_PER_THREAD, account.getBalanceMinor());
+        report("deposits", elapsedNanos);
+    }
+
+    @Test
+    void testConcurrentWithdrawals_NeverOverdraw() throws Exception {
+        long openingBalance = THREADS * OPERATIONS_PER_THREAD / 2;
+        accountService.depositCash(accountNumber, openingBalance);
+        AtomicInteger succeeded = new AtomicInteger();
+
+        long elapsedNanos = runConcurrently(() -> {
+            try {
+                accountService.withdrawCash(accountNumber, 1L);
+                succeeded.incrementAndGet();
+            } catch (DomainException insufficientBalance) {
+                // Expected once the balance is exhausted
+            }
+            return true;
+        });
+
+        Account account = accountService.getAccountByNumber(accountNumber);
+        assertEquals(openingBalance, succeeded.get());
+        assertEquals(0L, account.getBalanceMinor());
+        report("withdrawals", elapsedNanos);
+    }
+
+    private long runConcurrently(Callable<Boolean> operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    operation.call();
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        return elapsed;
+    }
+
+    private void report(String operation, long elapsedNanos) {
+        int total = THREADS * OPERATIONS_PER_THREAD;
+        long perSecond = Math.round(total / (elapsedNanos / 1_000_000_000.0));
+        log.info("{} concurrent {} on one account across {} threads: {} ops/s", total, operation, THREADS, perSecond);
+    }
+}
@@ -1,16 +1,28 @@
 package com.maybank.assignment.service;
 
 import com.maybank.assignment.dto.CreateAccountRequest;
+import com.maybank.assignment.exception.DomainException;
+import com.maybank.assignment.exception.ErrorCode;
 import com.maybank.assignment.exception.ResourceNotFoundException;
 import com.maybank.assignment.model.Account;
 import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.model.Transaction;
+import com.maybank.assignment.model.TransactionType;
 import com.maybank.assignment.repository.AccountRepository;
 import com.maybank.assignment.repository.CustomerRepository;
+import com.maybank.assignment.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,6 +35,27 @@ class AccountServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Mock
+    private LedgerWatermark ledgerWatermark;
+
+    @Spy
+    private AccountLookupCache accountLookupCache = new AccountLookupCache(100, Duration.ofMinutes(1));
+
+    @Spy
+    private AccountSummaryCache accountSummaryCache = new AccountSummaryCache(100, Duration.ofSeconds(5));
+
+    @Spy
+    private BankMetrics bankMetrics = new BankMetrics(new SimpleMeterRegistry());
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private AccountService accountService;
 
@@ -44,20 +77,24 @@ class AccountServiceTest {
         createAccountRequest.setAccountType("Savings");
 
         account = new Account();
+        account.setId(1L);
         account.setAccountNumber("AC12345678");
-        account.setBalance(100.0);
+        account.setBalanceMinor(10_000L);
         account.setStatus("Active");
     }
 
     @Test
     void testCreateAccount_Success() {
-        when(customerRepository.findById(1L)).thenReturn(java.util.Optional.of(customer));
+        when(customerRepository.existsById(1L)).thenReturn(true);
+        when(customerRepository.getReferenceById(1L)).thenReturn(customer);
+        when(accountNumberGenerator.nextAccountNumber()).thenReturn("AC12345678");
 
         Account mockAccount = new Account();
+        mockAccount.setId(1L);
         mockAccount.setAccountNumber("AC12345678");
         mockAccount.setCustomer(customer);
         mockAccount.setAccountType("Savings");
-        mockAccount.setBalance(0.0);
+        mockAccount.setBalanceMinor(0L);
         mockAccount.setStatus("Active");
 
         when(accountRepository.save(any(Account.class))).thenReturn(mockAccount);
@@ -70,12 +107,13 @@ class AccountServiceTest {
         assertEquals(customer, createdAccount.getCustomer());
         assertEquals("AC12345678", createdAccount.getAccountNumber());
 
-        verify(accountRepository, times(1)).save(any(Account.class));
+        verify(accountRepository, times(1)).save(argThat(saved -> "AC12345678".equals(saved.getAccountNumber())));
+        assertEquals(1L, accountLookupCache.resolveId("AC12345678", number -> null)); // Written through to the cache
     }
 
     @Test
     void testCreateAccount_CustomerNotFound() {
-        when(customerRepository.findById(1L)).thenReturn(java.util.Optional.empty());
+        when(customerRepository.existsById(1L)).thenReturn(false);
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             accountService.createAccount(createAccountRequest);
@@ -84,7 +122,8 @@ class AccountServiceTest {
     }
     @Test
     void testCloseAccount_Success() {
-        when(accountRepository.findByAccountNumber("AC12345678")).thenReturn(account);
+        when(accountRepository.findIdByAccountNumber("AC12345678")).thenReturn(1L);
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
 
         when(accountRepository.save(any(Account.class))).thenReturn(account);
 
@@ -97,12 +136,12 @@ class AccountServiceTest {
 
     @Test
     void testCloseAccount_AccountNumberNullOrEmpty() {
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+        DomainException exception = assertThrows(DomainException.class, () -> {
             accountService.closeAccount(null);
         });
         assertEquals("Account number cannot be null or empty", exception.getMessage());
 
-        exception = assertThrows(IllegalArgumentException.class, () -> {
+        exception = assertThrows(DomainException.class, () -> {
             accountService.closeAccount("");
         });
         assertEquals("Account number cannot be null or empty", exception.getMessage());
@@ -110,7 +149,7 @@ class AccountServiceTest {
 
     @Test
     void testCloseAccount_AccountNotFound() {
-        when(accountRepository.findByAccountNumber("AC12345678")).thenReturn(null);
+        when(accountRepository.findIdByAccountNumber("AC12345678")).thenReturn(null);
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             accountService.closeAccount("AC12345678");
@@ -122,9 +161,10 @@ class AccountServiceTest {
     @Test
     void testCloseAccount_AccountAlreadyClosed() {
         account.setStatus("Closed");
-        when(accountRepository.findByAccountNumber("AC12345678")).thenReturn(account);
+        when(accountRepository.findIdByAccountNumber("AC12345678")).thenReturn(1L);
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
 
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+        DomainException exception = assertThrows(DomainException.class, () -> {
             accountService.closeAccount("AC12345678");
         });
 
@@ -132,36 +172,42 @@ class AccountServiceTest {
     }
     @Test
     void testDepositCash_Success() {
-        when(accountRepository.findByAccountNumber("AC12345678")).thenReturn(account);
-
-        when(accountRepository.save(any(Account.class))).thenReturn(account);
+        when(accountRepository.depositIfActive(1L, 5_000L)).thenReturn(1);
+        account.setBalanceMinor(15_000L); // Balance as re-read after the atomic update
+        when(accountRepository.findIdByAccountNumber("AC12345678")).thenReturn(1L);
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
 
-        Account updatedAccount = accountService.depositCash("AC12345678", 50.0);
+        Account updatedAccount = accountService.depositCash("AC12345678", 5_000L);
 
         assertNotNull(updatedAccount);
-        assertEquals(150.0, updatedAccount.getBalance()); // Original balance 100 + deposited amount 50
-        verify(accountRepository, times(1)).save(account);
+        assertEquals(15_000L, updatedAccount.getBalanceMinor()); // Original balance 100.00 + deposited amount 50.00
+        verify(accountRepository, times(1)).depositIfActive(1L, 5_000L);
+        verify(accountRepository, never()).save(any(Account.class));
+        verify(transactionRepository, times(1)).save(argThat((Transaction entry) ->
+                entry.getType() == TransactionType.DEPOSIT && entry.getAmountMinor() == 5_000L
+                        && entry.getBalanceAfterMinor() == 15_000L && entry.getAccountId() == 1L));
+        verify(bankMetrics, times(1)).deposit();
     }
 
     @Test
     void testDepositCash_InvalidAmount() {
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-            accountService.depositCash("AC12345678", null);
+        DomainException exception = assertThrows(DomainException.class, () -> {
+            accountService.depositCash("AC12345678", 0L);
         });
         assertEquals("Amount must be greater than zero.", exception.getMessage());
 
-        exception = assertThrows(IllegalArgumentException.class, () -> {
-            accountService.depositCash("AC12345678", -1.0);
+        exception = assertThrows(DomainException.class, () -> {
+            accountService.depositCash("AC12345678", -100L);
         });
         assertEquals("Amount must be greater than zero.", exception.getMessage());
     }
 
     @Test
     void testDepositCash_AccountNotFound() {
-        when(accountRepository.findByAccountNumber("AC12345678")).thenReturn(null);
+        when(accountRepository.findIdByAccountNumber("AC12345678")).thenReturn(null);
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
-            accountService.depositCash("AC12345678", 50.0);
+            accountService.depositCash("AC12345678", 5_000L);
         });
 
         assertEquals("Account with number 'AC12345678' not found", exception.getMessage());
@@ -170,46 +216,52 @@ class AccountServiceTest {
     @Test
     void testDepositCash_AccountClosed() {
         account.setStatus("Closed");
-        when(accountRepository.findByAccountNumber("AC12345678")).thenReturn(account);
+        when(accountRepository.depositIfActive(1L, 5_000L)).thenReturn(0);
+        when(accountRepository.findIdByAccountNumber("AC12345678")).thenReturn(1L);
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
 
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-            accountService.depositCash("AC12345678", 50.0);
+        DomainException exception = assertThrows(DomainException.class, () -> {
+            accountService.depositCash("AC12345678", 5_000L);
         });
 
         assertEquals("Account with number 'AC12345678' is closed", exception.getMessage());
     }
     @Test
     void testWithdrawCash_Success() {
-        when(accountRepository.findByAccountNumber("AC12345678")).thenReturn(account);
-
-        when(accountRepository.save(any(Account.class))).thenReturn(account);
+        when(accountRepository.withdrawIfSufficient(1L, 5_000L)).thenReturn(1);
+        account.setBalanceMinor(5_000L); // Balance as re-read after the atomic update
+        when(accountRepository.findIdByAccountNumber("AC12345678")).thenReturn(1L);
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
 
-        Account updatedAccount = accountService.withdrawCash("AC12345678", 50.0);
+        Account updatedAccount = accountService.withdrawCash("AC12345678", 5_000L);
 
         assertNotNull(updatedAccount);
-        assertEquals(50.0, updatedAccount.getBalance());
-        verify(accountRepository, times(1)).save(account);
+        assertEquals(5_000L, updatedAccount.getBalanceMinor());
+        verify(accountRepository, times(1)).withdrawIfSufficient(1L, 5_000L);
+        verify(accountRepository, never()).save(any(Account.class));
+        verify(transactionRepository, times(1)).save(argThat((Transaction entry) ->
+                entry.getType() == TransactionType.WITHDRAWAL && entry.getBalanceAfterMinor() == 5_000L));
     }
 
     @Test
     void testWithdrawCash_InvalidAmount() {
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-            accountService.withdrawCash("AC12345678", null);
+        DomainException exception = assertThrows(DomainException.class, () -> {
+            accountService.withdrawCash("AC12345678", 0L);
         });
         assertEquals("Amount must be greater than zero.", exception.getMessage());
 
-        exception = assertThrows(IllegalArgumentException.class, () -> {
-            accountService.withdrawCash("AC12345678", -1.0);
+        exception = assertThrows(DomainException.class, () -> {
+            accountService.withdrawCash("AC12345678", -100L);
         });
         assertEquals("Amount must be greater than zero.", exception.getMessage());
     }
 
     @Test
     void testWithdrawCash_AccountNotFound() {
-        when(accountRepository.findByAccountNumber("AC12345678")).thenReturn(null);
+        when(accountRepository.findIdByAccountNumber("AC12345678")).thenReturn(null);
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
-            accountService.withdrawCash("AC12345678", 50.0);
+            accountService.withdrawCash("AC12345678", 5_000L);
         });
 
         assertEquals("Account with number 'AC12345678' not found", exception.getMessage());
@@ -217,25 +269,74 @@ class AccountServiceTest {
 
     @Test
     void testWithdrawCash_InsufficientBalance() {
-        account.setBalance(30.0);
-        when(accountRepository.findByAccountNumber("AC12345678")).thenReturn(account);
+        account.setBalanceMinor(3_000L);
+        when(accountRepository.withdrawIfSufficient(1L, 5_000L)).thenReturn(0);
+        when(accountRepository.findIdByAccountNumber("AC12345678")).thenReturn(1L);
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
 
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-            accountService.withdrawCash("AC12345678", 50.0); // Trying to withdraw 50.0
+        DomainException exception = assertThrows(DomainException.class, () -> {
+            accountService.withdrawCash("AC12345678", 5_000L); // Trying to withdraw 50.00
         });
 
-        assertEquals("Insufficient balance or account is closed.", exception.getMessage());
+        assertEquals("Insufficient balance.", exception.getMessage());
+        assertSame(ErrorCode.INSUFFICIENT_BALANCE.exception(), exception); // Preallocated, without a stack trace
+        assertEquals(0, exception.getStackTrace().length);
+        verifyNoInteractions(transactionRepository);
+        verify(bankMetrics, times(1)).insufficientBalance();
+        verify(bankMetrics, never()).withdrawal();
     }
 
     @Test
     void testWithdrawCash_AccountClosed() {
         account.setStatus("Closed");
-        when(accountRepository.findByAccountNumber("AC12345678")).thenReturn(account);
+        when(accountRepository.withdrawIfSufficient(1L, 5_000L)).thenReturn(0);
+        when(accountRepository.findIdByAccountNumber("AC12345678")).thenReturn(1L);
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
 
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-            accountService.withdrawCash("AC12345678", 50.0);
+        DomainException exception = assertThrows(DomainException.class, () -> {
+            accountService.withdrawCash("AC12345678", 5_000L);
         });
 
-        assertEquals("Insufficient balance or account is closed.", exception.getMessage());
+        assertEquals(ErrorCode.ACCOUNT_CLOSED, exception.getCode());
+        assertEquals("Account with number 'AC12345678' is closed", exception.getMessage());
+        verifyNoInteractions(transactionRepository);
+        verify(bankMetrics, times(1)).accountClosed();
+        verify(bankMetrics, never()).insufficientBalance();
+    }
+
+    @Test
+    void testDepositCash_UsesCachedAccountId() {
+        accountLookupCache.put("AC12345678", 1L);
+        when(accountRepository.depositIfActive(1L, 5_000L)).thenReturn(1);
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
+
+        accountService.depositCash("AC12345678", 5_000L);
+        accountService.depositCash("AC12345678", 5_000L);
+
+        verify(accountRepository, never()).findIdByAccountNumber(anyString());
+        verify(accountRepository, times(2)).depositIfActive(1L, 5_000L);
+        assertEquals(2, accountLookupCache.stats().getHitCount());
+    }
+
+    @Test
+    void testCloseAccount_StaleCachedIdReportsAccountNotFound() {
+        accountLookupCache.put("AC12345678", 1L);
+        when(accountRepository.findById(1L)).thenReturn(Optional.empty());
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> accountService.closeAccount("AC12345678"));
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, exception.getCode());
+    }
+
+    @Test
+    void testGetAccountByNumber_StaleCachedIdIsEvicted() {
+        accountLookupCache.put("AC12345678", 1L);
+        when(accountRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertNull(accountService.getAccountByNumber("AC12345678"));
+
+        when(accountRepository.findIdByAccountNumber("AC12345678")).thenReturn(null);
+        assertNull(accountService.getAccountByNumber("AC12345678"));
+        verify(accountRepository, times(1)).findIdByAccountNumber("AC12345678");
     }
 }
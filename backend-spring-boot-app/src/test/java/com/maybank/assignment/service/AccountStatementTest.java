@@ -0,0 +1,214 @@
+package com.maybank.assignment.service;
+
+import com.maybank.assignment.dto.TransactionPage;
+import com.maybank.assignment.dto.TransferRequest;
+import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.model.Transaction;
+import com.maybank.assignment.model.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.maybank.assignment.TestFixtures.createAccount;
+import static com.maybank.assignment.TestFixtures.createCustomer;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class AccountStatementTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    private static final Comparator<Transaction> STATEMENT_ORDER =
+            Comparator.comparing(Transaction::getCreatedAt).thenComparing(Transaction::getId);
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private LedgerWatermark ledgerWatermark;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = createCustomer(customerService, "Statement Customer");
+        accountNumber = createAccount(accountService, customer, "Saving").getAccountNumber();
+    }
+
+    @Test
+    void testGetStatement_PagesThroughLedgerInOrder() {
+        for (int i = 1; i <= 5; i++) {
+            accountService.depositCash(accountNumber, i * 100L);
+        }
+        accountService.withdrawCash(accountNumber, 250L);
+        accountService.closeAccount(accountNumber);
+
+        List<Transaction> entries = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionPage page = accountService.getStatement(accountNumber, null, null, cursor, 3);
+            entries.addAll(page.getTransactions());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(7, entries.size());
+        assertEquals(TransactionType.DEPOSIT, entries.get(0).getType());
+        assertEquals(100L, entries.get(0).getBalanceAfterMinor());
+        assertEquals(1_500L, entries.get(4).getBalanceAfterMinor());
+        assertEquals(TransactionType.WITHDRAWAL, entries.get(5).getType());
+        assertEquals(1_250L, entries.get(5).getBalanceAfterMinor());
+        assertEquals(TransactionType.CLOSE, entries.get(6).getType());
+        for (int i = 1; i < entries.size(); i++) {
+            assertFalse(entries.get(i).getCreatedAt().isBefore(entries.get(i - 1).getCreatedAt()));
+        }
+    }
+
+    @Test
+    void testGetStatement_RespectsTimeRange() {
+        accountService.depositCash(accountNumber, 100L);
+        Instant afterFirst = Instant.now().plusMillis(1);
+        sleepPast(afterFirst);
+        accountService.depositCash(accountNumber, 200L);
+
+        TransactionPage before = accountService.getStatement(accountNumber, null, afterFirst, null, 10);
+        TransactionPage after = accountService.getStatement(accountNumber, afterFirst, null, null, 10);
+
+        assertEquals(1, before.getTransactions().size());
+        assertEquals(100L, before.getTransactions().get(0).getAmountMinor());
+        assertEquals(1, after.getTransactions().size());
+        assertEquals(200L, after.getTransactions().get(0).getAmountMinor());
+    }
+
+    @Test
+    void testGetStatement_KeepsTheCursorBehindAnEntryStillBeingWritten() {
+        accountService.depositCash(accountNumber, 100L);
+        Long accountId = accountService.getAccountByNumber(accountNumber).getId();
+        sleepPast(Instant.now());
+        Runnable inFlight = ledgerWatermark.open(); // A writer that stamps its entry now and commits it last
+        Instant stamped = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        sleepPast(stamped);
+        accountService.depositCash(accountNumber, 200L);
+        accountService.depositCash(accountNumber, 300L);
+
+        TransactionPage first = accountService.getStatement(accountNumber, null, null, null, 1);
+        assertEquals(List.of(100L), amounts(first.getTransactions()));
+        TransactionPage held = accountService.getStatement(accountNumber, null, null, first.getNextCursor(), 1);
+        assertTrue(held.getTransactions().isEmpty());
+        assertNotNull(held.getNextCursor());
+
+        jdbcTemplate.update("INSERT INTO account_transaction (id, account_id, type, amount_minor, balance_after_minor, created_at) " +
+                "VALUES (NEXT VALUE FOR account_transaction_seq, ?, 'DEPOSIT', 50, 150, ?)", accountId, stamped.atOffset(ZoneOffset.UTC));
+        inFlight.run();
+
+        List<Transaction> rest = new ArrayList<>();
+        String cursor = held.getNextCursor();
+        while (cursor != null) {
+            TransactionPage page = accountService.getStatement(accountNumber, null, null, cursor, 1);
+            rest.addAll(page.getTransactions());
+            cursor = page.getNextCursor();
+        }
+        assertEquals(List.of(50L, 200L, 300L), amounts(rest));
+    }
+
+    @Test
+    void testGetStatement_UnderConcurrentWrites_MissesNoEntryBehindACursor() throws Exception {
+        Customer customer = createCustomer(customerService, "Statement Counterparty");
+        String counterparty = createAccount(accountService, customer, "Saving").getAccountNumber();
+        accountService.depositCash(counterparty, 1_000_000L);
+
+        // What one pass had read when it was handed a cursor past the given entry
+        record Mark(Set<Long> read, Transaction last) {}
+        List<Mark> marks = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                boolean deposits = t % 2 == 0;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        if (deposits) {
+                            accountService.depositCash(accountNumber, 1L);
+                        } else {
+                            transfer(counterparty, accountNumber, "1.00");
+                        }
+                    }
+                    return null;
+                }));
+            }
+            while (writers.stream().anyMatch(writer -> !writer.isDone())) {
+                Set<Long> read = new HashSet<>();
+                String cursor = null;
+                do {
+                    TransactionPage page = accountService.getStatement(accountNumber, null, null, cursor, 3);
+                    page.getTransactions().forEach(entry -> read.add(entry.getId()));
+                    cursor = page.getNextCursor();
+                    if (cursor != null && !page.getTransactions().isEmpty()) {
+                        marks.add(new Mark(Set.copyOf(read), page.getTransactions().get(page.getTransactions().size() - 1)));
+                    }
+                } while (cursor != null);
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Transaction> ledger = accountService.getStatement(
+                accountNumber, null, null, null, AccountService.MAX_STATEMENT_PAGE_SIZE).getTransactions();
+        assertEquals(200, ledger.size());
+        assertFalse(marks.isEmpty());
+        for (Mark mark : marks) {
+            for (Transaction entry : ledger) {
+                if (STATEMENT_ORDER.compare(entry, mark.last()) <= 0) {
+                    assertTrue(mark.read().contains(entry.getId()), "Entry " + entry.getId() + " committed behind a cursor");
+                }
+            }
+        }
+    }
+
+    private void transfer(String from, String to, String amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountNumber(from);
+        request.setToAccountNumber(to);
+        request.setAmount(new BigDecimal(amount));
+        request.setReference(UUID.randomUUID().toString());
+        transferService.transfer(request);
+    }
+
+    private static List<Long> amounts(List<Transaction> entries) {
+        return entries.stream().map(Transaction::getAmountMinor).toList();
+    }
+
+    private static void sleepPast(Instant instant) {
+        while (!Instant.now().isAfter(instant)) {
+            Thread.onSpinWait();
+        }
+    }
+}
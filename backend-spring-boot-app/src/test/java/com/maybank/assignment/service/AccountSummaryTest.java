@@ -0,0 +1,119 @@
+package com.maybank.assignment.service;
+
+import com.maybank.assignment.dto.AccountSummaryPage;
+import com.maybank.assignment.dto.AccountTypeSummary;
+import com.maybank.assignment.dto.CustomerAccountSummary;
+import com.maybank.assignment.exception.DomainException;
+import com.maybank.assignment.exception.ResourceNotFoundException;
+import com.maybank.assignment.model.Account;
+import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.util.CursorCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.maybank.assignment.TestFixtures.createAccount;
+import static com.maybank.assignment.TestFixtures.createCustomer;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class AccountSummaryTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = createCustomer(customerService, "Summary Customer");
+    }
+
+    @Test
+    void testGetAccountSummary_TotalsPerAccountType() {
+        Account saving = createAccount(accountService, customer, "Saving");
+        Account current = createAccount(accountService, customer, "Current");
+        Account closed = createAccount(accountService, customer, "Saving");
+        accountService.depositCash(saving.getAccountNumber(), 1_050L);
+        accountService.depositCash(current.getAccountNumber(), 200L);
+        accountService.closeAccount(closed.getAccountNumber());
+
+        CustomerAccountSummary summary = accountService.getAccountSummary(customer.getId(), false);
+
+        assertEquals(new BigDecimal("12.50"), summary.getTotalBalance());
+        assertEquals(2, summary.getActiveAccounts());
+        assertEquals(1, summary.getClosedAccounts());
+        assertNull(summary.getAccounts());
+        assertEquals(List.of("Current", "Saving"),
+                summary.getAccountTypes().stream().map(AccountTypeSummary::getAccountType).toList());
+        AccountTypeSummary savings = summary.getAccountTypes().get(1);
+        assertEquals(1, savings.getActiveAccounts());
+        assertEquals(1, savings.getClosedAccounts());
+        assertEquals(new BigDecimal("10.50"), savings.getBalance());
+    }
+
+    @Test
+    void testGetAccountSummary_IncludesAccountsWithSameTotals() {
+        Account saving = createAccount(accountService, customer, "Saving");
+        createAccount(accountService, customer, "Current");
+        accountService.depositCash(saving.getAccountNumber(), 300L);
+
+        CustomerAccountSummary totals = accountService.getAccountSummary(customer.getId(), false);
+        CustomerAccountSummary detailed = accountService.getAccountSummary(customer.getId(), true);
+
+        assertEquals(2, detailed.getAccounts().size());
+        assertEquals(totals.getTotalBalance(), detailed.getTotalBalance());
+        assertEquals(totals.getActiveAccounts(), detailed.getActiveAccounts());
+        assertEquals(totals.getAccountTypes().size(), detailed.getAccountTypes().size());
+    }
+
+    @Test
+    void testGetAccountSummary_CustomerWithoutAccountsOrMissing() {
+        CustomerAccountSummary empty = accountService.getAccountSummary(customer.getId(), false);
+        assertEquals(BigDecimal.ZERO.setScale(2), empty.getTotalBalance());
+        assertTrue(empty.getAccountTypes().isEmpty());
+
+        assertThrows(ResourceNotFoundException.class, () -> accountService.getAccountSummary(Long.MAX_VALUE, false));
+    }
+
+    @Test
+    void testGetAccountSummary_InvalidatedByMutations() {
+        Account account = createAccount(accountService, customer, "Saving");
+        assertEquals(1, accountService.getAccountSummary(customer.getId(), false).getActiveAccounts());
+
+        accountService.depositCash(account.getAccountNumber(), 500L);
+        assertEquals(new BigDecimal("5.00"), accountService.getAccountSummary(customer.getId(), false).getTotalBalance());
+
+        createAccount(accountService, customer, "Current");
+        assertEquals(2, accountService.getAccountSummary(customer.getId(), false).getActiveAccounts());
+
+        accountService.closeAccount(account.getAccountNumber());
+        CustomerAccountSummary summary = accountService.getAccountSummary(customer.getId(), false);
+        assertEquals(1, summary.getActiveAccounts());
+        assertEquals(1, summary.getClosedAccounts());
+    }
+
+    @Test
+    void testGetAccountSummaryPage_PagesThroughCustomers() {
+        Customer second = createCustomer(customerService, "Summary Customer");
+        createAccount(accountService, second, "Current");
+        String cursor = CursorCodec.encode(customer.getId() - 1);
+
+        AccountSummaryPage first = accountService.getAccountSummaryPage(cursor, 1);
+        AccountSummaryPage next = accountService.getAccountSummaryPage(first.getNextCursor(), 1);
+
+        assertTrue(first.isHasMore());
+        assertEquals(customer.getId(), first.getSummaries().get(0).getCustomerId());
+        assertTrue(first.getSummaries().get(0).getAccountTypes().isEmpty());
+        assertEquals(second.getId(), next.getSummaries().get(0).getCustomerId());
+        assertEquals(1, next.getSummaries().get(0).getActiveAccounts());
+        assertThrows(DomainException.class, () -> accountService.getAccountSummaryPage(null, 0));
+    }
+}
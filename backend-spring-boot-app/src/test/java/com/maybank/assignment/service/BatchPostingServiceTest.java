@@ -0,0 +1,67 @@
+package com.maybank.assignment.service;
+
+import com.maybank.assignment.dto.PostingInstruction;
+import com.maybank.assignment.dto.PostingResult;
+import com.maybank.assignment.model.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.maybank.assignment.TestFixtures.createAccount;
+import static com.maybank.assignment.TestFixtures.createCustomer;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "bank.batch.chunk-size=2")
+class BatchPostingServiceTest {
+
+    @Autowired
+    private BatchPostingService batchPostingService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    private String activeAccount;
+    private String closedAccount;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = createCustomer(customerService, "Batch Customer");
+        activeAccount = createAccount(accountService, customer, "Saving").getAccountNumber();
+        closedAccount = createAccount(accountService, customer, "Saving").getAccountNumber();
+        accountService.closeAccount(closedAccount);
+    }
+
+    @Test
+    void testPost_ReportsPerItemOutcomesAcrossChunks() {
+        List<PostingResult> results = batchPostingService.post(List.of(
+                new PostingInstruction(PostingInstruction.DEPOSIT, activeAccount, new BigDecimal("100.00")),
+                new PostingInstruction(PostingInstruction.WITHDRAW, activeAccount, new BigDecimal("30.50")),
+                new PostingInstruction(PostingInstruction.WITHDRAW, activeAccount, new BigDecimal("500")),
+                new PostingInstruction(PostingInstruction.DEPOSIT, closedAccount, new BigDecimal("10")),
+                new PostingInstruction(PostingInstruction.DEPOSIT, "AC00000000000", new BigDecimal("10")),
+                new PostingInstruction("TRANSFER", activeAccount, new BigDecimal("10")),
+                new PostingInstruction(PostingInstruction.DEPOSIT, activeAccount, new BigDecimal("0.005")),
+                new PostingInstruction(PostingInstruction.DEPOSIT, activeAccount, new BigDecimal("0.50"))));
+
+        assertEquals(8, results.size());
+        assertEquals(PostingResult.APPLIED, results.get(0).getStatus());
+        assertEquals(new BigDecimal("69.50"), results.get(1).getBalance());
+        assertEquals("Insufficient balance.", results.get(2).getError());
+        assertEquals("Account with number '" + closedAccount + "' is closed", results.get(3).getError());
+        assertEquals("Account with number 'AC00000000000' not found", results.get(4).getError());
+        assertEquals(PostingResult.REJECTED, results.get(5).getStatus());
+        assertEquals("Amount must have at most 2 decimal places.", results.get(6).getError());
+        assertEquals(7, results.get(7).getIndex());
+        assertEquals(new BigDecimal("70.00"), results.get(7).getBalance());
+
+        // Balances written by the batch are visible to the regular account path
+        assertEquals(7_000L, accountService.getAccountByNumber(activeAccount).getBalanceMinor());
+    }
+}
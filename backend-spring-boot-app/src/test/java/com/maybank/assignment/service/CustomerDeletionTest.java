@@ -0,0 +1,86 @@
+package com.maybank.assignment.service;
+
+import com.maybank.assignment.dto.BulkDeleteResponse;
+import com.maybank.assignment.model.Account;
+import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.model.Transaction;
+import com.maybank.assignment.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.maybank.assignment.TestFixtures.createAccount;
+import static com.maybank.assignment.TestFixtures.createCustomer;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CustomerDeletionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Test
+    void testDeleteCustomer_ArchivesLinkedAccounts() throws Exception {
+        Customer customer = createCustomer(customerService, "Deletion Customer");
+        String funded = createAccount(accountService, customer, "Saving").getAccountNumber();
+        String closed = createAccount(accountService, customer, "Saving").getAccountNumber();
+        accountService.depositCash(funded, 2_500L);
+        accountService.closeAccount(closed);
+
+        mockMvc.perform(delete("/api/bank/deleteCustomer/{id}", customer.getId()))
+                .andExpect(status().isNoContent());
+
+        assertTrue(customerService.getCustomerById(customer.getId()).isEmpty());
+        Account archived = accountService.getAccountByNumber(funded);
+        assertEquals("Closed", archived.getStatus());
+        assertEquals(customer.getId(), archived.getFormerCustomerId());
+        assertNull(archived.getCustomer());
+        assertEquals(2_500L, archived.getBalanceMinor());
+        // Only the account that was still active gets a CLOSE entry
+        assertEquals(TransactionType.CLOSE, lastEntryType(funded));
+        assertEquals(1, accountService.getStatement(closed, null, null, null, 10).getTransactions().stream()
+                .filter(entry -> entry.getType() == TransactionType.CLOSE).count());
+
+        mockMvc.perform(delete("/api/bank/deleteCustomer/{id}", customer.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testDeleteCustomers_DeletesExistingIdsInOneRequest() throws Exception {
+        Customer first = createCustomer(customerService, "Deletion Customer");
+        Customer second = createCustomer(customerService, "Deletion Customer");
+        createAccount(accountService, second, "Saving");
+
+        mockMvc.perform(post("/api/bank/deleteCustomers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + first.getId() + ", " + second.getId() + ", " + second.getId() + ", -1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.deleted").value(2))
+                .andExpect(jsonPath("$.accountsArchived").value(1));
+
+        BulkDeleteResponse again = customerService.deleteCustomers(List.of(first.getId(), second.getId()));
+        assertEquals(0, again.getDeleted());
+    }
+
+    private TransactionType lastEntryType(String accountNumber) {
+        List<Transaction> entries = accountService.getStatement(accountNumber, null, null, null, 10).getTransactions();
+        return entries.get(entries.size() - 1).getType();
+    }
+}
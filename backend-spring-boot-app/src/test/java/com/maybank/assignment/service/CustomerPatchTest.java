@@ -0,0 +1,119 @@
+package com.maybank.assignment.service;
+
+import com.maybank.assignment.dto.CustomerPatch;
+import com.maybank.assignment.model.Customer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.maybank.assignment.TestFixtures.createCustomer;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CustomerPatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    void testPatchCustomer_UpdatesOnlySuppliedFields() throws Exception {
+        Customer customer = createCustomer(customerService, "Patch Customer");
+
+        mockMvc.perform(get("/api/bank/getCustomer/{id}", customer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        mockMvc.perform(patch("/api/bank/updateCustomer/{id}", customer.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"phone\":\"0987654321\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        Customer updated = customerService.getCustomerById(customer.getId()).orElseThrow();
+        assertEquals("0987654321", updated.getPhone());
+        assertEquals(customer.getName(), updated.getName());
+        assertEquals(customer.getEmail(), updated.getEmail());
+        assertEquals(1L, updated.getVersion());
+    }
+
+    @Test
+    void testPatchCustomer_RejectsStaleVersion() throws Exception {
+        Customer customer = createCustomer(customerService, "Patch Customer");
+        customerService.patchCustomer(customer.getId(), namePatch("First Editor"), 0L);
+
+        mockMvc.perform(patch("/api/bank/updateCustomer/{id}", customer.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Second Editor\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals("First Editor", customerService.getCustomerById(customer.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void testPatchCustomer_WithoutIfMatchAlwaysApplies() throws Exception {
+        Customer customer = createCustomer(customerService, "Patch Customer");
+        customerService.patchCustomer(customer.getId(), namePatch("First Editor"), null);
+
+        mockMvc.perform(patch("/api/bank/updateCustomer/{id}", customer.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Second Editor\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+
+        Customer updated = customerService.getCustomerById(customer.getId()).orElseThrow();
+        assertEquals("Second Editor", updated.getName());
+        assertEquals(2L, updated.getVersion());
+    }
+
+    @Test
+    void testPatchCustomer_RejectsInvalidRequests() throws Exception {
+        Customer customer = createCustomer(customerService, "Patch Customer");
+        Customer other = createCustomer(customerService, "Patch Customer");
+
+        mockMvc.perform(patch("/api/bank/updateCustomer/{id}", Long.MAX_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Nobody\"}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(patch("/api/bank/updateCustomer/{id}", customer.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/bank/updateCustomer/{id}", customer.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"not-an-email\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/bank/updateCustomer/{id}", customer.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"abc\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/bank/updateCustomer/{id}", customer.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + other.getEmail() + "\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Customer with email '" + other.getEmail() + "' already exists."));
+
+        assertEquals(0L, customerService.getCustomerById(customer.getId()).orElseThrow().getVersion());
+    }
+
+    private static CustomerPatch namePatch(String name) {
+        CustomerPatch patch = new CustomerPatch();
+        patch.setName(name);
+        return patch;
+    }
+}
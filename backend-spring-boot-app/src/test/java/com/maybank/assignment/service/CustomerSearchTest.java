@@ -0,0 +1,69 @@
+package com.maybank.assignment.service;
+
+import com.maybank.assignment.dto.CustomerPage;
+import com.maybank.assignment.exception.DomainException;
+import com.maybank.assignment.model.Customer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CustomerSearchTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    void testSearchByNamePrefix_PagesThroughMatchesInNameOrder() {
+        String tag = "Zq" + System.nanoTime();
+        create(tag + " Charlie");
+        create(tag.toUpperCase() + " Alice");
+        create(tag + " bob");
+        create("Other " + tag);
+
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            CustomerPage page = customerService.searchCustomers(null, null, tag.toLowerCase(), cursor, 2);
+            page.getCustomers().forEach(customer -> names.add(customer.getName()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(tag.toUpperCase() + " Alice", tag + " bob", tag + " Charlie"), names);
+    }
+
+    @Test
+    void testSearchByEmailAndPhone() {
+        Customer customer = create("Search Customer");
+        String phone = customer.getPhone();
+
+        CustomerPage byEmail = customerService.searchCustomers(customer.getEmail(), null, null, null, 10);
+        CustomerPage byPhone = customerService.searchCustomers(null, phone, null, null, 10);
+
+        assertEquals(List.of(customer.getId()), byEmail.getCustomers().stream().map(Customer::getId).toList());
+        assertEquals(List.of(customer.getId()), byPhone.getCustomers().stream().map(Customer::getId).toList());
+        assertTrue(customerService.searchCustomers("missing@example.com", null, null, null, 10).getCustomers().isEmpty());
+    }
+
+    @Test
+    void testCreateCustomer_RejectsDuplicateEmail() {
+        Customer customer = create("First Owner");
+
+        DomainException exception = assertThrows(DomainException.class, () -> {
+            customerService.createCustomer("Second Owner", customer.getEmail(), "1234567890", new Date());
+        });
+        assertEquals("Customer with email '" + customer.getEmail() + "' already exists.", exception.getMessage());
+    }
+
+    private Customer create(String name) {
+        long unique = System.nanoTime();
+        return customerService.createCustomer(name, "search." + unique + "@example.com",
+                String.valueOf(unique).substring(0, 12), new Date());
+    }
+}
@@ -1,15 +1,28 @@
 package com.maybank.assignment.service;
 
+import com.maybank.assignment.dto.CustomerPage;
+import com.maybank.assignment.exception.DomainException;
 import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.exception.ResourceNotFoundException;
+import com.maybank.assignment.repository.AccountRepository;
 import com.maybank.assignment.repository.CustomerRepository;
+import com.maybank.assignment.repository.TransactionRepository;
+import com.maybank.assignment.util.CursorCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -19,6 +32,18 @@ class CustomerServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private LedgerWatermark ledgerWatermark;
+
+    @Spy
+    private AccountSummaryCache accountSummaryCache = new AccountSummaryCache(100, Duration.ofSeconds(5));
+
     @InjectMocks
     private CustomerService customerService;
 
@@ -71,4 +96,123 @@ class CustomerServiceTest {
 
         verify(customerRepository, times(1)).findById(1L);
     }
+
+    @Test
+    void testGetCustomerPage_HasNextPage() {
+        Customer first = customerWithId(1L);
+        Customer second = customerWithId(2L);
+        Customer third = customerWithId(3L);
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .thenReturn(List.of(first, second, third));
+
+        CustomerPage page = customerService.getCustomerPage(null, 2);
+
+        assertEquals(2, page.getCustomers().size());
+        assertTrue(page.isHasMore());
+        assertEquals(2L, CursorCodec.decode(page.getNextCursor(), 1)[0]);
+    }
+
+    @Test
+    void testGetCustomerPage_LastPage() {
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3)))
+                .thenReturn(List.of(customerWithId(3L)));
+
+        CustomerPage page = customerService.getCustomerPage(CursorCodec.encode(2L), 2);
+
+        assertEquals(1, page.getCustomers().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetCustomerPage_InvalidArguments() {
+        DomainException exception = assertThrows(DomainException.class, () -> {
+            customerService.getCustomerPage(null, 0);
+        });
+        assertEquals("Page size must be between 1 and 500", exception.getMessage());
+
+        exception = assertThrows(DomainException.class, () -> {
+            customerService.getCustomerPage("not-a-cursor", 10);
+        });
+        assertEquals("Invalid cursor", exception.getMessage());
+
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void testCreateCustomer_DuplicateEmail() {
+        when(customerRepository.save(any(Customer.class))).thenThrow(new DataIntegrityViolationException("uk_customer_email"));
+
+        DomainException exception = assertThrows(DomainException.class, () -> {
+            customerService.createCustomer("John Doe", "john.doe@example.com", "1234567890", dateOfBirth);
+        });
+        assertEquals("Customer with email 'john.doe@example.com' already exists.", exception.getMessage());
+    }
+
+    @Test
+    void testSearchCustomers_NamePrefixIsCaseInsensitiveRange() {
+        Customer first = customerWithId(1L);
+        Customer second = customerWithId(2L);
+        when(customerRepository.findByNamePrefix("jo", "jp", "jo", 0L, Limit.of(2)))
+                .thenReturn(List.of(first, second));
+
+        CustomerPage page = customerService.searchCustomers(null, null, " Jo ", null, 1);
+
+        assertEquals(1, page.getCustomers().size());
+        assertTrue(page.isHasMore());
+        assertEquals(1L, CursorCodec.decodeKeyed(page.getNextCursor()).id());
+    }
+
+    @Test
+    void testSearchCustomers_InvalidArguments() {
+        DomainException exception = assertThrows(DomainException.class, () -> {
+            customerService.searchCustomers("john.doe@example.com", "1234567890", null, null, 10);
+        });
+        assertEquals("Specify exactly one of email, phone or name.", exception.getMessage());
+
+        exception = assertThrows(DomainException.class, () -> {
+            customerService.searchCustomers(null, null, " ", null, 10);
+        });
+        assertEquals("Specify exactly one of email, phone or name.", exception.getMessage());
+
+        exception = assertThrows(DomainException.class, () -> {
+            customerService.searchCustomers(null, null, "jo", CursorCodec.encode("al", 5L), 10);
+        });
+        assertEquals("Invalid cursor", exception.getMessage());
+
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void testDeleteCustomerById_NotFoundIsDetectedByTheDelete() {
+        when(customerRepository.deleteByIdIn(Set.of(1L))).thenReturn(0);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
+            customerService.deleteCustomerById(1L);
+        });
+        assertEquals("Customer with ID '1' not found", exception.getMessage());
+
+        verify(customerRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testDeleteCustomers_InvalidArguments() {
+        DomainException exception = assertThrows(DomainException.class, () -> {
+            customerService.deleteCustomers(List.of());
+        });
+        assertEquals("Between 1 and 1000 customer ids must be given", exception.getMessage());
+
+        exception = assertThrows(DomainException.class, () -> {
+            customerService.deleteCustomers(Arrays.asList(1L, null));
+        });
+        assertEquals("Customer ids cannot be null", exception.getMessage());
+
+        verifyNoInteractions(customerRepository, accountRepository, transactionRepository);
+    }
+
+    private Customer customerWithId(Long id) {
+        Customer c = new Customer("John Doe", "john.doe@example.com", "1234567890", dateOfBirth);
+        c.setId(id);
+        return c;
+    }
 }
@@ -0,0 +1,72 @@
+package com.maybank.assignment.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequenceBlockAccountNumberGeneratorTest {
+
+    @Test
+    void testLuhnCheckDigit() {
+        assertEquals(3, SequenceBlockAccountNumberGenerator.luhnCheckDigit(7992739871L));
+        assertEquals("AC00000000018", SequenceBlockAccountNumberGenerator.format(1L));
+        assertTrue(SequenceBlockAccountNumberGenerator.isValid("AC00000000018"));
+        assertFalse(SequenceBlockAccountNumberGenerator.isValid("AC00000000017"));
+        assertFalse(SequenceBlockAccountNumberGenerator.isValid("AC1234ABCD"));
+    }
+
+    @Test
+    void testNextAccountNumber_AllocatesBlocksOnDemand() {
+        AtomicLong sequence = new AtomicLong(1);
+        AtomicInteger allocations = new AtomicInteger();
+        SequenceBlockAccountNumberGenerator generator = new SequenceBlockAccountNumberGenerator(() -> {
+            allocations.incrementAndGet();
+            return sequence.getAndAdd(10);
+        }, 10);
+
+        for (int i = 0; i < 25; i++) {
+            String accountNumber = generator.nextAccountNumber();
+            assertTrue(SequenceBlockAccountNumberGenerator.isValid(accountNumber), accountNumber);
+        }
+
+        assertEquals(3, allocations.get());
+    }
+
+    @Test
+    void testNextAccountNumber_UniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 10_000;
+        AtomicLong sequence = new AtomicLong(1);
+        SequenceBlockAccountNumberGenerator generator =
+                new SequenceBlockAccountNumberGenerator(() -> sequence.getAndAdd(100), 100);
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    numbers.add(generator.nextAccountNumber());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(threads * perThread, numbers.size());
+        assertEquals(1 + (long) threads * perThread, sequence.get()); // Every reserved block was fully used
+    }
+}
@@ -0,0 +1,113 @@
+package com.maybank.assignment.service;
+
+import com.maybank.assignment.dto.TransferRequest;
+import com.maybank.assignment.exception.DomainException;
+import com.maybank.assignment.model.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.maybank.assignment.TestFixtures.createAccount;
+import static com.maybank.assignment.TestFixtures.createCustomer;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Random transfers between a small set of accounts from many threads. Opposite-direction transfers between the
+ * same pair are frequent, so a lock-ordering bug shows up as a deadlock timeout; money must be conserved exactly.
+ */
+@Tag("load")
+@SpringBootTest
+class TransferConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferConcurrencyTest.class);
+
+    private static final int ACCOUNTS = 20;
+    private static final long OPENING_BALANCE = 10_000L;
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 200;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = createCustomer(customerService, "Transfer Load");
+        for (int i = 0; i < ACCOUNTS; i++) {
+            String accountNumber = createAccount(accountService, customer, "Current").getAccountNumber();
+            accountService.depositCash(accountNumber, OPENING_BALANCE);
+            accountNumbers.add(accountNumber);
+        }
+    }
+
+    @Test
+    void testRandomTransfers_ConserveTotalBalance() throws Exception {
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger insufficient = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    int from = random.nextInt(ACCOUNTS);
+                    int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                    BigDecimal amount = BigDecimal.valueOf(random.nextLong(1, 5_000), 2);
+                    try {
+                        transferService.transfer(new TransferRequest(UUID.randomUUID().toString(),
+                                accountNumbers.get(from), accountNumbers.get(to), amount));
+                        applied.incrementAndGet();
+                    } catch (DomainException insufficientBalance) {
+                        insufficient.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(120, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        executor.shutdown();
+
+        long total = 0;
+        for (String accountNumber : accountNumbers) {
+            long balance = accountService.getAccountByNumber(accountNumber).getBalanceMinor();
+            assertTrue(balance >= 0);
+            total += balance;
+        }
+        assertEquals(ACCOUNTS * OPENING_BALANCE, total);
+        assertEquals(THREADS * TRANSFERS_PER_THREAD, applied.get() + insufficient.get());
+
+        long perSecond = Math.round(applied.get() / (elapsedNanos / 1_000_000_000.0));
+        log.info("{} transfers between {} accounts across {} threads ({} rejected): {} transfers/s",
+                applied.get(), ACCOUNTS, THREADS, insufficient.get(), perSecond);
+    }
+}
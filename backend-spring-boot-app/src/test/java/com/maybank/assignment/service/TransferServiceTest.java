@@ -0,0 +1,149 @@
+package com.maybank.assignment.service;
+
+import com.maybank.assignment.dto.TransferRequest;
+import com.maybank.assignment.dto.TransferResponse;
+import com.maybank.assignment.exception.DomainException;
+import com.maybank.assignment.exception.ErrorCode;
+import com.maybank.assignment.exception.ResourceNotFoundException;
+import com.maybank.assignment.model.Customer;
+import com.maybank.assignment.model.Transaction;
+import com.maybank.assignment.model.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.maybank.assignment.TestFixtures.createAccount;
+import static com.maybank.assignment.TestFixtures.createCustomer;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TransferServiceTest {
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    private String source;
+    private String destination;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = createCustomer(customerService, "Transfer Customer");
+        source = createAccount(accountService, customer, "Saving").getAccountNumber();
+        destination = createAccount(accountService, customer, "Saving").getAccountNumber();
+        accountService.depositCash(source, 10_000L);
+    }
+
+    @Test
+    void testTransfer_MovesMoneyAndWritesBothLedgerEntries() {
+        TransferResponse response = transferService.transfer(request(UUID.randomUUID().toString(), "25.50"));
+
+        assertFalse(response.isReplayed());
+        assertEquals(new BigDecimal("74.50"), response.getFromBalance());
+        assertEquals(new BigDecimal("25.50"), response.getToBalance());
+        assertEquals(7_450L, accountService.getAccountByNumber(source).getBalanceMinor());
+        assertEquals(2_550L, accountService.getAccountByNumber(destination).getBalanceMinor());
+
+        List<Transaction> outgoing = accountService.getStatement(source, null, null, null, 10).getTransactions();
+        List<Transaction> incoming = accountService.getStatement(destination, null, null, null, 10).getTransactions();
+        assertEquals(TransactionType.TRANSFER_OUT, outgoing.get(outgoing.size() - 1).getType());
+        assertEquals(TransactionType.TRANSFER_IN, incoming.get(incoming.size() - 1).getType());
+    }
+
+    @Test
+    void testTransfer_RetryWithSameReferenceAppliesOnce() {
+        String reference = UUID.randomUUID().toString();
+        TransferResponse first = transferService.transfer(request(reference, "10.00"));
+        TransferResponse retry = transferService.transfer(request(reference, "10.00"));
+
+        assertFalse(first.isReplayed());
+        assertTrue(retry.isReplayed());
+        assertEquals(first.getFromBalance(), retry.getFromBalance());
+        assertEquals(first.getCreatedAt(), retry.getCreatedAt());
+        assertEquals(9_000L, accountService.getAccountByNumber(source).getBalanceMinor());
+    }
+
+    @Test
+    void testTransfer_ConcurrentRetriesApplyOnce() throws Exception {
+        String reference = UUID.randomUUID().toString();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<TransferResponse>> futures = new ArrayList<>();
+        Callable<TransferResponse> attempt = () -> transferService.transfer(request(reference, "10.00"));
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(attempt));
+        }
+        int applied = 0;
+        for (Future<TransferResponse> future : futures) {
+            if (!future.get(30, TimeUnit.SECONDS).isReplayed()) {
+                applied++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, applied);
+        assertEquals(9_000L, accountService.getAccountByNumber(source).getBalanceMinor());
+        assertEquals(1_000L, accountService.getAccountByNumber(destination).getBalanceMinor());
+    }
+
+    @Test
+    void testTransfer_ReusedReferenceWithDifferentAmount() {
+        String reference = UUID.randomUUID().toString();
+        transferService.transfer(request(reference, "10.00"));
+
+        DomainException exception = assertThrows(DomainException.class,
+                () -> transferService.transfer(request(reference, "20.00")));
+        assertEquals("Transfer reference '" + reference + "' was already used for a different transfer.", exception.getMessage());
+    }
+
+    @Test
+    void testTransfer_InsufficientBalanceLeavesBothAccountsUntouched() {
+        DomainException exception = assertThrows(DomainException.class,
+                () -> transferService.transfer(request(UUID.randomUUID().toString(), "100.01")));
+
+        assertEquals("Insufficient balance for transfer from account '" + source + "'.", exception.getMessage());
+        assertEquals(ErrorCode.INSUFFICIENT_BALANCE, exception.getCode());
+        assertEquals(10_000L, accountService.getAccountByNumber(source).getBalanceMinor());
+        assertEquals(0L, accountService.getAccountByNumber(destination).getBalanceMinor());
+    }
+
+    @Test
+    void testTransfer_ClosedDestinationRejected() {
+        accountService.closeAccount(destination);
+
+        DomainException exception = assertThrows(DomainException.class,
+                () -> transferService.transfer(request(UUID.randomUUID().toString(), "1.00")));
+
+        assertEquals("Account with number '" + destination + "' is closed", exception.getMessage());
+        assertEquals(10_000L, accountService.getAccountByNumber(source).getBalanceMinor());
+    }
+
+    @Test
+    void testTransfer_InvalidRequests() {
+        assertThrows(ResourceNotFoundException.class, () -> transferService.transfer(
+                new TransferRequest(UUID.randomUUID().toString(), source, "AC00000000000", new BigDecimal("1.00"))));
+        assertEquals("Cannot transfer to the same account.", assertThrows(DomainException.class, () ->
+                transferService.transfer(new TransferRequest("same", source, source, BigDecimal.ONE))).getMessage());
+        assertEquals("Amount must be greater than zero.", assertThrows(DomainException.class, () ->
+                transferService.transfer(request("zero", "0"))).getMessage());
+    }
+
+    private TransferRequest request(String reference, String amount) {
+        return new TransferRequest(reference, source, destination, new BigDecimal(amount));
+    }
+}
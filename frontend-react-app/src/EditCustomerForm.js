@@ -6,6 +6,8 @@ const EditCustomerForm = () => {
     const {id} = useParams();
     const navigate = useNavigate();
     const [customer, setCustomer] = useState({name: '', email: '', phone: '', dateOfBirth: ''});
+    const [original, setOriginal] = useState(null);  // As loaded, to send only the changed fields
+    const [etag, setEtag] = useState(null);  // Version the edit is based on
     const [alertMessage, setAlertMessage] = useState('');  // Merged error and formError into one
     const [successMessage, setSuccessMessage] = useState('');
     const [loading, setLoading] = useState(false);
@@ -17,6 +19,8 @@ const EditCustomerForm = () => {
                 if (!response.ok) throw new Error('Failed to fetch customer');
                 const data = await response.json();
                 setCustomer(data);
+                setOriginal(data);
+                setEtag(response.headers.get('ETag'));
             } catch (err) {
                 setAlertMessage('Customer not found');
             }
@@ -66,21 +70,41 @@ const EditCustomerForm = () => {
             return;
         }
 
+        const changes = {};
+        ['name', 'email', 'phone', 'dateOfBirth'].forEach((field) => {
+            if (!original || customer[field] !== original[field]) {
+                changes[field] = customer[field];
+            }
+        });
+        if (Object.keys(changes).length === 0) {
+            setLoading(false);
+            navigate('/');
+            return;
+        }
+
         try {
+            const headers = {
+                'Content-Type': 'application/json',
+            };
+            if (etag) {
+                headers['If-Match'] = etag;
+            }
             const response = await fetch(`http://localhost:8089/api/bank/updateCustomer/${id}`, {
-                method: 'PUT',
-                headers: {
-                    'Content-Type': 'application/json',
-                },
-                body: JSON.stringify(customer),
+                method: 'PATCH',
+                headers,
+                body: JSON.stringify(changes),
             });
 
+            if (response.status === 412) {
+                setLoading(false);
+                setAlertMessage('This customer was changed by someone else. Reload the page and try again.');
+                return;
+            }
             if (!response.ok) {
                 throw new Error('Failed to update customer');
             }
 
-            const data = await response.json();
-            console.log('Customer updated:', data);
+            console.log('Customer updated:', changes);
             setLoading(false);
             localStorage.setItem('customerSuccessMessage', 'Customer updated successfully!');
             navigate('/');
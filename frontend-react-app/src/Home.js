@@ -3,6 +3,8 @@ import {useNavigate} from 'react-router-dom';
 import 'bootstrap/dist/css/bootstrap.min.css';
 import './App.css';
 
+const PAGE_SIZE = 50;
+
 const CustomerList = ({customers, onEdit, onDelete}) => {
     if (customers.length === 0) {
         return (
@@ -63,20 +65,37 @@ const Home = () => {
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState(null);
     const [successMessage, setSuccessMessage] = useState('');
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
+
+    const [searchField, setSearchField] = useState('name');
+    const [searchTerm, setSearchTerm] = useState('');
+    const [activeSearch, setActiveSearch] = useState(null);
+
+    // Fetch one page of customers, or of search results; the API returns an opaque cursor for the next page
+    const fetchCustomerPage = async (cursor, search) => {
+        const params = new URLSearchParams({size: PAGE_SIZE});
+        if (search) {
+            params.set(search.field, search.term);
+        }
+        if (cursor) {
+            params.set('cursor', cursor);
+        }
+        const path = search ? 'customers/search' : 'customers';
+        const response = await fetch(`http://localhost:8089/api/bank/${path}?${params}`);
+        if (!response.ok) {
+            throw new Error('Data fetch failed. Please check if the APIs are accessible and ensure there are no network issues or server outages.');
+        }
+        return response.json();
+    };
 
     useEffect(() => {
-        // Fetch customers data from API
+        // Fetch the first page of customers from API
         const fetchCustomers = async () => {
             try {
-                const response = await fetch('http://localhost:8089/api/bank/getCustomers');
-                if (response.status === 404) {
-                    setCustomers([]);
-                } else if (!response.ok) {
-                    throw new Error('Data fetch failed. Please check if the APIs are accessible and ensure there are no network issues or server outages.');
-                } else {
-                    const data = await response.json();
-                    setCustomers(data);
-                }
+                const page = await fetchCustomerPage(null, null);
+                setCustomers(page.customers);
+                setNextCursor(page.nextCursor);
             } catch (error) {
                 setError(error.message);
             } finally {
@@ -94,6 +113,34 @@ const Home = () => {
         }
     }, []);
 
+    const handleLoadMore = async () => {
+        setLoadingMore(true);
+        try {
+            const page = await fetchCustomerPage(nextCursor, activeSearch);
+            setCustomers((prev) => [...prev, ...page.customers]);
+            setNextCursor(page.nextCursor);
+        } catch (error) {
+            alert(`Error: ${error.message}`);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
+    // Search on the server: exact email or phone, or case-insensitive name prefix. An empty term lists everyone again.
+    const handleSearch = async (event) => {
+        event.preventDefault();
+        const term = searchTerm.trim();
+        const search = term ? {field: searchField, term} : null;
+        try {
+            const page = await fetchCustomerPage(null, search);
+            setCustomers(page.customers);
+            setNextCursor(page.nextCursor);
+            setActiveSearch(search);
+        } catch (error) {
+            alert(`Error: ${error.message}`);
+        }
+    };
+
     const handleEdit = (customerId) => {
         navigate(`/edit-customer/${customerId}`);
     };
@@ -161,12 +208,48 @@ const Home = () => {
                 Create Customer
             </button>
 
+            <form className="row g-2 mb-4" onSubmit={handleSearch}>
+                <div className="col-auto">
+                    <select
+                        className="form-select"
+                        value={searchField}
+                        onChange={(e) => setSearchField(e.target.value)}
+                    >
+                        <option value="name">Name starts with</option>
+                        <option value="email">Email</option>
+                        <option value="phone">Phone</option>
+                    </select>
+                </div>
+                <div className="col">
+                    <input
+                        type="text"
+                        className="form-control"
+                        placeholder="Search customers"
+                        value={searchTerm}
+                        onChange={(e) => setSearchTerm(e.target.value)}
+                    />
+                </div>
+                <div className="col-auto">
+                    <button type="submit" className="btn btn-outline-secondary">Search</button>
+                </div>
+            </form>
+
             <CustomerList
                 customers={customers}
                 onEdit={handleEdit}
                 onDelete={handleDelete}
             />
 
+            {nextCursor && (
+                <button
+                    className="btn btn-outline-primary mb-4"
+                    onClick={handleLoadMore}
+                    disabled={loadingMore}
+                >
+                    {loadingMore ? 'Loading...' : 'Load more'}
+                </button>
+            )}
+
             {/* Footer */}
             <footer className="mt-4 text-center text-muted">
                 <hr/>